@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Call overhead: the apply family, S3 and S4 dispatch, variable lookup through a chain of
+ * environments and {@code .Call} down-calls into a native package library.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CallBenchmark extends RBenchmarkState {
+
+    private Value lapply;
+    private Value vapply;
+    private Value s3Dispatch;
+    private Value s4Dispatch;
+    private Value envLookup;
+    private Value dotCall;
+
+    @Override
+    protected String setupCode() {
+        return "l <- as.list(1:10000)\n" +
+                        "benchLapply <- function() lapply(l, function(v) v + 1L)\n" +
+                        "benchVapply <- function() vapply(l, function(v) v + 1L, 1L)\n" +
+                        "area <- function(shape) UseMethod('area')\n" +
+                        "area.square <- function(shape) shape$side^2\n" +
+                        "area.default <- function(shape) 0\n" +
+                        "sq <- structure(list(side = 2), class = 'square')\n" +
+                        "benchS3 <- function() { s <- 0; for (i in 1:1000) s <- s + area(sq); s }\n" +
+                        "setClass('Circle', representation(r = 'numeric'))\n" +
+                        "setGeneric('perimeter', function(shape) standardGeneric('perimeter'))\n" +
+                        "setMethod('perimeter', 'Circle', function(shape) 2 * pi * shape@r)\n" +
+                        "circle <- new('Circle', r = 1)\n" +
+                        "benchS4 <- function() { s <- 0; for (i in 1:1000) s <- s + perimeter(circle); s }\n" +
+                        "deepValue <- 1\n" +
+                        "benchEnvLookup <- local(local(local(local(function() { s <- 0; for (i in 1:1000) s <- s + deepValue; s }))))\n" +
+                        "mu <- runif(10)\n" +
+                        "logitLink <- stats:::C_logit_link\n" +
+                        "benchDotCall <- function() { for (i in 1:1000) .Call(logitLink, mu); NULL }\n";
+    }
+
+    @Setup(Level.Trial)
+    public void lookupFunctions() {
+        lapply = function("benchLapply");
+        vapply = function("benchVapply");
+        s3Dispatch = function("benchS3");
+        s4Dispatch = function("benchS4");
+        envLookup = function("benchEnvLookup");
+        dotCall = function("benchDotCall");
+    }
+
+    @Benchmark
+    public Value lapply() {
+        return lapply.execute();
+    }
+
+    @Benchmark
+    public Value vapply() {
+        return vapply.execute();
+    }
+
+    @Benchmark
+    public Value s3Dispatch() {
+        return s3Dispatch.execute();
+    }
+
+    @Benchmark
+    public Value s4Dispatch() {
+        return s4Dispatch.execute();
+    }
+
+    @Benchmark
+    public Value envLookup() {
+        return envLookup.execute();
+    }
+
+    @Benchmark
+    public Value dotCall() {
+        return dotCall.execute();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading text files and (un)serialization. The input file is written once per trial into the R
+ * session temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IOBenchmark extends RBenchmarkState {
+
+    private Value readLines;
+    private Value scan;
+    private Value readCsv;
+    private Value serialize;
+    private Value unserialize;
+
+    @Override
+    protected String setupCode() {
+        return "set.seed(42)\n" +
+                        "df <- data.frame(id = 1:20000, value = runif(20000), name = paste0('n', 1:20000), stringsAsFactors = FALSE)\n" +
+                        "csvFile <- tempfile(fileext = '.csv')\n" +
+                        "write.csv(df, csvFile, row.names = FALSE)\n" +
+                        "bytes <- serialize(df, NULL)\n" +
+                        "benchReadLines <- function() readLines(csvFile)\n" +
+                        "benchScan <- function() scan(csvFile, what = list(0L, 0, ''), sep = ',', skip = 1L, quiet = TRUE)\n" +
+                        "benchReadCsv <- function() read.csv(csvFile)\n" +
+                        "benchSerialize <- function() serialize(df, NULL)\n" +
+                        "benchUnserialize <- function() unserialize(bytes)\n" +
+                        "cleanup <- function() unlink(csvFile)\n";
+    }
+
+    @Setup(Level.Trial)
+    public void lookupFunctions() {
+        readLines = function("benchReadLines");
+        scan = function("benchScan");
+        readCsv = function("benchReadCsv");
+        serialize = function("benchSerialize");
+        unserialize = function("benchUnserialize");
+    }
+
+    @TearDown(Level.Trial)
+    public void removeFile() {
+        function("cleanup").execute();
+    }
+
+    @Benchmark
+    public Value readLines() {
+        return readLines.execute();
+    }
+
+    @Benchmark
+    public Value scan() {
+        return scan.execute();
+    }
+
+    @Benchmark
+    public Value readCsv() {
+        return readCsv.execute();
+    }
+
+    @Benchmark
+    public Value serialize() {
+        return serialize.execute();
+    }
+
+    @Benchmark
+    public Value unserialize() {
+        return unserialize.execute();
+    }
+}
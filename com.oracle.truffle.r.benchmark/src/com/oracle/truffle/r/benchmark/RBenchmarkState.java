@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmark;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Common state of the benchmarks: one FastR context per trial in which {@link #setupCode()} is
+ * evaluated once. The benchmark methods then repeatedly call R functions created by the setup code,
+ * so that only the measured operation (and not parsing or the polyglot eval path) is timed.
+ */
+@State(Scope.Benchmark)
+public abstract class RBenchmarkState {
+
+    protected Context context;
+
+    /**
+     * R code that prepares the data and defines the functions used by the benchmark methods.
+     */
+    protected abstract String setupCode();
+
+    @Setup(Level.Trial)
+    public void setupContext() {
+        context = Context.newBuilder("R").allowAllAccess(true).build();
+        context.eval(Source.create("R", setupCode()));
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * Returns the R function bound to {@code name} in the global environment.
+     */
+    protected Value function(String name) {
+        Value f = context.getBindings("R").getMember(name);
+        if (f == null || !f.canExecute()) {
+            throw new IllegalStateException("benchmark function " + name + " is not defined by the setup code");
+        }
+        return f;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vector builtins: sorting, matching and matrix multiplication.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VectorBenchmark extends RBenchmarkState {
+
+    private Value order;
+    private Value sort;
+    private Value match;
+    private Value unique;
+    private Value matmult;
+
+    @Override
+    protected String setupCode() {
+        return "set.seed(42)\n" +
+                        "x <- runif(100000)\n" +
+                        "s <- sample(paste0('key', 1:10000), 100000, replace = TRUE)\n" +
+                        "table <- paste0('key', 1:10000)\n" +
+                        "m <- matrix(runif(200 * 200), 200, 200)\n" +
+                        "benchOrder <- function() order(x)\n" +
+                        "benchSort <- function() sort(x)\n" +
+                        "benchMatch <- function() match(s, table)\n" +
+                        "benchUnique <- function() unique(s)\n" +
+                        "benchMatmult <- function() m %*% m\n";
+    }
+
+    @Setup(Level.Trial)
+    public void lookupFunctions() {
+        order = function("benchOrder");
+        sort = function("benchSort");
+        match = function("benchMatch");
+        unique = function("benchUnique");
+        matmult = function("benchMatmult");
+    }
+
+    @Benchmark
+    public Value order() {
+        return order.execute();
+    }
+
+    @Benchmark
+    public Value sort() {
+        return sort.execute();
+    }
+
+    @Benchmark
+    public Value match() {
+        return match.execute();
+    }
+
+    @Benchmark
+    public Value unique() {
+        return unique.execute();
+    }
+
+    @Benchmark
+    public Value matmult() {
+        return matmult.execute();
+    }
+}
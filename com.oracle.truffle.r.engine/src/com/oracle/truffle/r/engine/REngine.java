@@ -103,6 +103,7 @@ import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.interop.R2Foreign;
 import com.oracle.truffle.r.runtime.nodes.RNode;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxRecording;
 
 /**
  * The engine for the FastR implementation. Handles parsing and evaluation. There is one instance of
@@ -257,7 +258,21 @@ final class REngine implements Engine, Engine.Timings {
 
     @Override
     public Object parseAndEval(Source source, MaterializedFrame frame, boolean printResult) throws ParseException {
-        List<RSyntaxNode> list = parseSource(source);
+        return evalStatements(parseSource(source), frame, printResult);
+    }
+
+    @Override
+    public Object parseAndEvalSystemSource(Source source, MaterializedFrame frame) throws ParseException {
+        List<RSyntaxNode> list;
+        if (FastROptions.CacheSystemSources.getBooleanValue()) {
+            list = RSyntaxRecording.script(source, new RASTBuilder(), context.getLanguage());
+        } else {
+            list = parseSource(source);
+        }
+        return evalStatements(list, frame, false);
+    }
+
+    private Object evalStatements(List<RSyntaxNode> list, MaterializedFrame frame, boolean printResult) {
         try {
             Object lastValue = RNull.instance;
             for (RSyntaxNode node : list) {
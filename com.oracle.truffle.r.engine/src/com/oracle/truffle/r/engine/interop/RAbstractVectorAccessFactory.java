@@ -59,6 +59,8 @@ import com.oracle.truffle.r.runtime.data.RRaw;
 import com.oracle.truffle.r.runtime.data.RScalar;
 import com.oracle.truffle.r.runtime.data.RString;
 import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractDoubleVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractIntVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractLogicalVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractRawVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
@@ -98,6 +100,35 @@ public final class RAbstractVectorAccessFactory implements StandardFactory {
 
         protected abstract Object execute(VirtualFrame frame, Object reciever, Object indentifier);
 
+        /*
+         * Reading a single element of a double or integer vector yields the element unchanged, so
+         * the in-bounds case can read the vector data directly instead of going through the generic
+         * subscript and conversion nodes. This keeps element-wise access from other languages cheap.
+         */
+        @Specialization(guards = "isInBounds(receiver, idx)")
+        protected double readDouble(RAbstractDoubleVector receiver, int idx) {
+            return receiver.getDataAt(idx);
+        }
+
+        @Specialization(guards = "isInBounds(receiver, idx)")
+        protected int readInt(RAbstractIntVector receiver, int idx) {
+            return receiver.getDataAt(idx);
+        }
+
+        @Specialization(guards = "isInBounds(receiver, idx)")
+        protected double readDouble(RAbstractDoubleVector receiver, long idx) {
+            return receiver.getDataAt((int) idx);
+        }
+
+        @Specialization(guards = "isInBounds(receiver, idx)")
+        protected int readInt(RAbstractIntVector receiver, long idx) {
+            return receiver.getDataAt((int) idx);
+        }
+
+        protected static boolean isInBounds(RAbstractVector receiver, long idx) {
+            return idx >= 0 && idx < receiver.getLength();
+        }
+
         @Specialization
         protected Object readIndexed(VirtualFrame frame, Object receiver, int idx,
                         @Cached("createKeyInfoNode()") VectorKeyInfoImplNode keyInfo) {
@@ -944,12 +944,15 @@ public abstract class JavaUpCallsRFFIImpl implements UpCallsRFFI {
     @Override
     @TruffleBoundary
     public Object R_ToplevelExec() {
-        return RErrorHandling.resetAndGetHandlerStacks().handlerStack;
+        // the handler stack is not an R value, so it is handed to the native code in an external
+        // pointer
+        Object handlerStack = RErrorHandling.resetAndGetHandlerStacks().handlerStack;
+        return RDataFactory.createExternalPtr(null, handlerStack, RNull.instance, RNull.instance);
     }
 
     @Override
     public void restoreHandlerStacks(Object savedHandlerStack) {
-        RErrorHandling.restoreHandlerStack(savedHandlerStack);
+        RErrorHandling.restoreHandlerStack(((RExternalPtr) savedHandlerStack).getExternalObject());
     }
 
     @Override
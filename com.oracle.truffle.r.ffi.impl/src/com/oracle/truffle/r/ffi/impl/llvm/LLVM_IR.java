@@ -22,7 +22,12 @@
  */
 package com.oracle.truffle.r.ffi.impl.llvm;
 
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.Utils;
 
 public abstract class LLVM_IR {
     public static final int TEXT_CODE = 1;
@@ -55,16 +60,42 @@ public abstract class LLVM_IR {
     }
 
     /**
-     * Denotes binary LLVM IR.
+     * Denotes binary LLVM IR. The bitcode is kept as is, it is only converted to the form expected by
+     * the LLVM language when the module is parsed for the first time.
      */
     public static final class Binary extends LLVM_IR {
         public final byte[] binary;
-        public final String base64;
+
+        /**
+         * SHA-256 hash of the name and the bitcode, computed on first use by
+         * {@link #getContentKey()}.
+         */
+        private volatile String contentKey;
 
         public Binary(String name, byte[] binary) {
             super(name);
             this.binary = binary;
-            base64 = Base64.getEncoder().encodeToString(binary);
+        }
+
+        /**
+         * Returns a key that identifies the module by its content, so that the same module read
+         * from different archives can be recognized. The hash is computed only once per instance.
+         */
+        public String getContentKey() {
+            String result = contentKey;
+            if (result == null) {
+                try {
+                    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                    digest.update(name.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(binary);
+                    result = Utils.toHexString(digest.digest());
+                } catch (NoSuchAlgorithmException e) {
+                    throw RInternalError.shouldNotReachHere(e);
+                }
+                contentKey = result;
+            }
+            return result;
         }
     }
 }
@@ -219,6 +219,7 @@ final class TruffleLLVM_Call implements CallRFFI {
         @Override
         public Object dispatch(NativeCallInfo nativeCallInfo, Object[] args) {
             TruffleLLVM_Context rffiCtx = TruffleLLVM_Context.getContextState();
+            rffiCtx.dllState.ensureParsed(nativeCallInfo.dllInfo.handle);
             pushCallbacks.execute(rffiCtx.callState.callbacksAddress, rffiCtx.callState.callbacks);
             try {
                 return InvokeCallNode.super.dispatch(nativeCallInfo, args);
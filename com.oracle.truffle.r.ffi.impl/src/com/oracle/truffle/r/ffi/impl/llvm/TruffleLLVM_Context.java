@@ -28,6 +28,7 @@ import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ContextState;
 import com.oracle.truffle.r.runtime.ffi.BaseRFFI;
 import com.oracle.truffle.r.runtime.ffi.DLL;
+import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
 import com.oracle.truffle.r.runtime.ffi.LapackRFFI;
 import com.oracle.truffle.r.runtime.ffi.MiscRFFI;
 import com.oracle.truffle.r.runtime.ffi.NativeFunction;
@@ -44,7 +45,7 @@ import com.oracle.truffle.r.runtime.ffi.ZipRFFI;
  */
 final class TruffleLLVM_Context extends RFFIContext {
 
-    private final TruffleLLVM_DLL.ContextStateImpl dllState = new TruffleLLVM_DLL.ContextStateImpl();
+    final TruffleLLVM_DLL.ContextStateImpl dllState = new TruffleLLVM_DLL.ContextStateImpl();
     final TruffleLLVM_Call.ContextStateImpl callState = new TruffleLLVM_Call.ContextStateImpl();
 
     TruffleLLVM_Context() {
@@ -94,6 +95,15 @@ final class TruffleLLVM_Context extends RFFIContext {
         callState.beforeDispose(context);
     }
 
+    @Override
+    public long beforeDowncall(DLLInfo dllInfo) {
+        if (dllInfo != null) {
+            // .C and .Fortran call symbols that need not have been looked up in this context
+            dllState.ensureParsed(dllInfo.handle);
+        }
+        return super.beforeDowncall(dllInfo);
+    }
+
     @Override
     public TruffleObject lookupNativeFunction(NativeFunction function) {
         Object symValue = RContext.getInstance().getEnv().importSymbol("@" + function.getCallName());
@@ -34,16 +34,19 @@ import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.r.runtime.RInternalError;
@@ -71,6 +74,10 @@ import com.oracle.truffle.r.runtime.ffi.DLLRFFI;
  * present time this can only be done by re-parsing the library contents.</li>
  * </ol>
  *
+ * To make the re-parsing cheaper, every module is turned into a {@link Source} only once per
+ * process, see {@link #getSource(LLVM_IR.Binary)}, so that all contexts parse the very same source.
+ * The libraries inherited by a {@link RContext.ContextKind#SHARE_PARENT_RW} context are parsed only
+ * once the context looks up a symbol in them or calls into them.
  */
 public class TruffleLLVM_DLL implements DLLRFFI {
     /*
@@ -86,11 +93,17 @@ public class TruffleLLVM_DLL implements DLLRFFI {
     }
 
     static class ContextStateImpl implements RContext.ContextState {
+        /**
+         * The libraries inherited from the parent context that were not parsed in this context yet.
+         */
+        private final ArrayList<LLVM_Handle> unparsedLibraries = new ArrayList<>();
+
         /**
          * When a new {@link RContext} is created we have to re-parse the libR modules,
          * unfortunately, as there is no way to propagate the LLVM state created in the initial
-         * context. TODO when do we really need to do this? This is certainly too early for contexts
-         * that will not invoke LLVM code (e.g. most unit tests)
+         * context. They are needed right away to set up the call-backs. So are the libraries with
+         * registered routines, the other libraries are parsed on demand by
+         * {@link #ensureParsed(Object)}.
          */
         @Override
         public ContextState initialize(RContext context) {
@@ -105,14 +118,46 @@ public class TruffleLLVM_DLL implements DLLRFFI {
                 for (DLLInfo dllInfo : loadedDLLs) {
                     if (dllInfo.handle instanceof LLVM_Handle) {
                         LLVM_Handle llvmHandle = (LLVM_Handle) dllInfo.handle;
-                        for (LLVM_IR ir : llvmHandle.irs) {
-                            parseLLVM(llvmHandle.libName, ir);
+                        if (dllInfo.hasRegisteredSymbols()) {
+                            /*
+                             * Registered routines and C callables are resolved from the tables of
+                             * the DLLInfo, without a lookup that would trigger the parsing.
+                             */
+                            for (LLVM_IR ir : llvmHandle.irs) {
+                                parseLLVM(llvmHandle.libName, ir);
+                            }
+                        } else {
+                            unparsedLibraries.add(llvmHandle);
                         }
                     }
                 }
             }
             return this;
         }
+
+        /**
+         * Parses the library denoted by {@code handle} in this context if it was inherited from the
+         * parent context and has not been parsed yet.
+         */
+        void ensureParsed(Object handle) {
+            if (!unparsedLibraries.isEmpty()) {
+                parseInherited(handle);
+            }
+        }
+
+        @TruffleBoundary
+        private void parseInherited(Object handle) {
+            for (int i = 0; i < unparsedLibraries.size(); i++) {
+                LLVM_Handle llvmHandle = unparsedLibraries.get(i);
+                if (llvmHandle == handle) {
+                    unparsedLibraries.remove(i);
+                    for (LLVM_IR ir : llvmHandle.irs) {
+                        parseLLVM(llvmHandle.libName, ir);
+                    }
+                    return;
+                }
+            }
+        }
     }
 
     private static TruffleLLVM_DLL truffleDLL;
@@ -188,7 +233,7 @@ public class TruffleLLVM_DLL implements DLLRFFI {
                         bs.write(bytes);
                     }
                     try (PrintStream bs = new PrintStream(new FileOutputStream(Paths.get("tmpb64", name).toString()))) {
-                        bs.print(ir.base64);
+                        bs.print(Base64.getEncoder().encodeToString(bytes));
                     }
                 }
             }
@@ -279,6 +324,7 @@ public class TruffleLLVM_DLL implements DLLRFFI {
         @Override
         public SymbolHandle execute(Object handle, String symbol) throws UnsatisfiedLinkError {
             assert handle instanceof LLVM_Handle;
+            TruffleLLVM_Context.getContextState().dllState.ensureParsed(handle);
             Object symValue = RContext.getInstance().getEnv().importSymbol("@" + symbol);
             if (symValue == null) {
                 throw new UnsatisfiedLinkError();
@@ -345,11 +391,23 @@ public class TruffleLLVM_DLL implements DLLRFFI {
         }
     }
 
+    /**
+     * The sources of all modules parsed so far, keyed by {@link LLVM_IR.Binary#getContentKey()}.
+     * Libraries loaded in several contexts, including {@code libR}, are thus encoded only once and
+     * each context parses the same {@link Source}, which allows the engine to share what it derives
+     * from the source.
+     */
+    private static final ConcurrentHashMap<String, Source> sources = new ConcurrentHashMap<>();
+
+    private static Source getSource(LLVM_IR.Binary ir) {
+        return sources.computeIfAbsent(ir.getContentKey(), key -> Source.newBuilder(Base64.getEncoder().encodeToString(ir.binary)).name(ir.name).mimeType("application/x-llvm-ir-bitcode-base64").build());
+    }
+
     private static CallTarget parseBinary(String libName, LLVM_IR.Binary ir) {
         long start = System.nanoTime();
         RContext context = RContext.getInstance();
         long nanos = 1000 * 1000 * 1000;
-        Source source = Source.newBuilder(ir.base64).name(ir.name).mimeType("application/x-llvm-ir-bitcode-base64").build();
+        Source source = getSource(ir);
         CallTarget result = context.getEnv().parse(source);
         if (System.getenv("LLVM_PARSE_TIME") != null) {
             long end = System.nanoTime();
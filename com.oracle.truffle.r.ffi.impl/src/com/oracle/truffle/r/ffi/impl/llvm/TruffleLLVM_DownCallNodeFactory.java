@@ -60,6 +60,10 @@ final class TruffleLLVM_DownCallNodeFactory extends DownCallNodeFactory {
                 DLLInfo dllInfo = null;
                 if (library != anyLibrary()) {
                     dllInfo = DLL.findLibrary(library);
+                    if (dllInfo != null) {
+                        // the symbol may be a registered one, which is not looked up by dlsym
+                        TruffleLLVM_Context.getContextState().dllState.ensureParsed(dllInfo.handle);
+                    }
                 }
                 SymbolHandle result = DLL.findSymbol(fn.getCallName(), dllInfo);
                 if (result == DLL.SYMBOL_NOT_FOUND) {
@@ -128,6 +128,7 @@ public class TruffleLLVM_UpCallsRFFIImpl extends JavaUpCallsRFFIImpl {
         if (result == null) {
             throw RError.error(RError.NO_CALLER, RError.Message.UNKNOWN_OBJECT, functionName);
         }
+        TruffleLLVM_Context.getContextState().dllState.ensureParsed(lib.handle);
         return result.address.asTruffleObject();
     }
 
@@ -29,7 +29,6 @@ import static com.oracle.truffle.r.ffi.impl.common.RFFIUtils.traceEnabled;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -55,6 +54,7 @@ import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
 import com.oracle.truffle.r.runtime.ffi.DLL.SymbolHandle;
 import com.oracle.truffle.r.runtime.ffi.DLLRFFI;
 import com.oracle.truffle.r.runtime.ffi.LapackRFFI;
+import com.oracle.truffle.r.runtime.ffi.NativeCallLock;
 import com.oracle.truffle.r.runtime.ffi.MiscRFFI;
 import com.oracle.truffle.r.runtime.ffi.NativeFunction;
 import com.oracle.truffle.r.runtime.ffi.PCRERFFI;
@@ -90,7 +90,6 @@ class UnsafeAdapter {
 final class TruffleNFI_Context extends RFFIContext {
 
     @CompilationFinal private static boolean hasAccessLock;
-    private static ReentrantLock accessLock;
 
     TruffleNFI_Context() {
         super(new TruffleNFI_C(), new BaseRFFI(TruffleNFI_DownCallNodeFactory.INSTANCE), new TruffleNFI_Call(), new TruffleNFI_DLL(), new TruffleNFI_UserRng(),
@@ -293,7 +292,7 @@ final class TruffleNFI_Context extends RFFIContext {
             traceDownCall("initialize");
         }
         if (hasAccessLock) {
-            acquireLock();
+            NativeCallLock.get(null).acquire();
         }
         try {
             String librffiPath = LibPaths.getBuiltinLibPath("R");
@@ -324,16 +323,13 @@ final class TruffleNFI_Context extends RFFIContext {
                 traceDownCallReturn("initialize", null);
             }
             if (hasAccessLock) {
-                releaseLock();
+                NativeCallLock.get(null).release();
             }
         }
     }
 
     private static synchronized void initializeLock() {
         hasAccessLock = FastROptions.SynchronizeNativeCode.getBooleanValue();
-        if (hasAccessLock && accessLock == null) {
-            accessLock = new ReentrantLock();
-        }
     }
 
     @Override
@@ -352,18 +348,18 @@ final class TruffleNFI_Context extends RFFIContext {
     }
 
     @Override
-    public long beforeDowncall() {
-        super.beforeDowncall();
+    public long beforeDowncall(DLLInfo dllInfo) {
+        super.beforeDowncall(dllInfo);
         transientAllocations.push(new ArrayList<>());
         if (hasAccessLock) {
-            acquireLock();
+            NativeCallLock.get(dllInfo).acquire();
         }
         return pushCallbacks();
     }
 
     @Override
-    public void afterDowncall(long beforeValue) {
-        super.afterDowncall(beforeValue);
+    public void afterDowncall(long beforeValue, DLLInfo dllInfo) {
+        super.afterDowncall(beforeValue, dllInfo);
         popCallbacks(beforeValue);
         for (Long ptr : transientAllocations.pop()) {
             UnsafeAdapter.UNSAFE.freeMemory(ptr);
@@ -371,7 +367,7 @@ final class TruffleNFI_Context extends RFFIContext {
         RuntimeException lastUpCallEx = getLastUpCallException();
         setLastUpCallException(null);
         if (hasAccessLock) {
-            releaseLock();
+            NativeCallLock.get(dllInfo).release();
         }
         if (lastUpCallEx != null) {
             CompilerDirectives.transferToInterpreter();
@@ -386,14 +382,4 @@ final class TruffleNFI_Context extends RFFIContext {
     public DLLInfo getRLibDLLInfo() {
         return rlibDLLInfo;
     }
-
-    @TruffleBoundary
-    private static void acquireLock() {
-        accessLock.lock();
-    }
-
-    @TruffleBoundary
-    private static void releaseLock() {
-        accessLock.unlock();
-    }
 }
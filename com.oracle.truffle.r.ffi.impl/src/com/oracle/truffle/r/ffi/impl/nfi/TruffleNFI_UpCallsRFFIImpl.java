@@ -34,6 +34,7 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.CharSXPWrapper;
+import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.ffi.DLL;
 import com.oracle.truffle.r.runtime.ffi.FFIUnwrapNode;
 import com.oracle.truffle.r.runtime.ffi.DLL.CEntry;
@@ -60,6 +61,35 @@ public class TruffleNFI_UpCallsRFFIImpl extends JavaUpCallsRFFIImpl {
         return CharSXPWrapper.create(TruffleNFI_Utils.getString(address, len));
     }
 
+    @Override
+    @TruffleBoundary
+    public Object STRING_ELT(Object x, long i) {
+        Object result = super.STRING_ELT(x, i);
+        publishStrings(x);
+        return result;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void SET_STRING_ELT(Object x, long i, Object v) {
+        super.SET_STRING_ELT(x, i, v);
+        publishStrings(x);
+        if (x instanceof RStringVector) {
+            ((RStringVector) x).markNativeWrites();
+        }
+    }
+
+    /**
+     * Publishes the elements of a character vector in its native header, further
+     * {@code STRING_ELT} calls on it do not up-call, and neither do {@code SET_STRING_ELT} calls
+     * until the next up-call.
+     */
+    private static void publishStrings(Object x) {
+        if (x instanceof RStringVector) {
+            ((RStringVector) x).allocateNativeContents();
+        }
+    }
+
     @Override
     public Object R_alloc(int n, int size) {
         long result = UnsafeAdapter.UNSAFE.allocateMemory(n * size);
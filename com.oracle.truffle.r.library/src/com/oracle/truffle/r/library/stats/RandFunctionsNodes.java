@@ -35,6 +35,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.library.stats.RandFunctionsNodesFactory.ConvertToLengthNodeGen;
 import com.oracle.truffle.r.library.stats.RandFunctionsNodesFactory.RandFunction1NodeGen;
@@ -238,6 +239,8 @@ public final class RandFunctionsNodes {
 
     protected abstract static class RandFunctionDoubleExecutorNode extends RandFunctionIterator {
 
+        private final ConditionProfile constantParams = ConditionProfile.createBinaryProfile();
+
         protected RandFunctionDoubleExecutorNode(Supplier<? extends RandFunction3_Double> functionFactory) {
             super(functionFactory);
         }
@@ -257,8 +260,22 @@ public final class RandFunctionsNodes {
                     return RDataFactory.createDoubleVector(nansResult, false);
                 }
 
-                boolean nans = false;
                 double[] result = new double[length];
+                if (constantParams.profile(aAccess.getLength(aIter) == 1 && bAccess.getLength(bIter) == 1 && cAccess.getLength(cIter) == 1)) {
+                    // parameters are not recycled: let the function generate all values at once
+                    aAccess.next(aIter);
+                    bAccess.next(bIter);
+                    cAccess.next(cIter);
+                    if (function.executeBulk(result, aAccess.getDouble(aIter), bAccess.getDouble(bIter), cAccess.getDouble(cIter), randProvider)) {
+                        putRNGState();
+                        return RDataFactory.createDoubleVector(result, RDataFactory.COMPLETE_VECTOR);
+                    }
+                    aAccess.reset(aIter);
+                    bAccess.reset(bIter);
+                    cAccess.reset(cIter);
+                }
+
+                boolean nans = false;
                 loopConditionProfile.profileCounted(length);
                 for (int i = 0; loopConditionProfile.inject(i < length); i++) {
                     aAccess.nextWithWrap(aIter);
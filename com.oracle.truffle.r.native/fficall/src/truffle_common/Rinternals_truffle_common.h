@@ -139,6 +139,11 @@ SEXP CDR(SEXP e) {
 
 int LENGTH(SEXP x) {
     TRACE1(x);
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL) {
+        return (int) FASTR_SEXP_HEADER(x)->length;
+    }
+#endif
     int result = ((call_LENGTH) callbacks[LENGTH_x])(x);
     checkExitCall();
     return result;
@@ -999,6 +1004,11 @@ void SET_PRCODE(SEXP x, SEXP v) {
 
 int TRUELENGTH(SEXP x) {
     TRACE(TARGp, x);
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL) {
+        return (int) FASTR_SEXP_HEADER(x)->truelength;
+    }
+#endif
     return ((call_TRUELENGTH) callbacks[TRUELENGTH_x])(x);
 }
 
@@ -1043,6 +1053,11 @@ int SETLEVELS(SEXP x, int v) {
 
 int *FASTR_DATAPTR(SEXP x) {
     TRACE(TARGp, x);
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL) {
+        return (int *) FASTR_SEXP_HEADER(x)->data;
+    }
+#endif
     int *result = ((call_FASTR_DATAPTR) callbacks[FASTR_DATAPTR_x])(x);
     checkExitCall();
     return result;
@@ -1064,6 +1079,11 @@ double *FASTR_REAL(SEXP x){
 
 Rcomplex *COMPLEX(SEXP x) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL && FASTR_SEXP_HEADER(x)->type == CPLXSXP) {
+        return (Rcomplex *) FASTR_SEXP_HEADER(x)->data;
+    }
+#endif
     Rcomplex *result = ((call_COMPLEX) callbacks[COMPLEX_x])(x);
     checkExitCall();
     return result;
@@ -1071,6 +1091,11 @@ Rcomplex *COMPLEX(SEXP x) {
 
 int *LOGICAL(SEXP x){
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL && FASTR_SEXP_HEADER(x)->type == LGLSXP) {
+        return (int *) FASTR_SEXP_HEADER(x)->data;
+    }
+#endif
     int *result = ((call_LOGICAL) callbacks[LOGICAL_x])(x);
     checkExitCall();
     return result;
@@ -1078,6 +1103,11 @@ int *LOGICAL(SEXP x){
 
 Rbyte *RAW(SEXP x) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL && FASTR_SEXP_HEADER(x)->type == RAWSXP) {
+        return (Rbyte *) FASTR_SEXP_HEADER(x)->data;
+    }
+#endif
     Rbyte *result = ((call_RAW) callbacks[RAW_x])(x);
     checkExitCall();
     return result;
@@ -1085,6 +1115,11 @@ Rbyte *RAW(SEXP x) {
 
 const char * R_CHAR(SEXP x) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL && FASTR_SEXP_HEADER(x)->type == CHARSXP) {
+        return (const char *) FASTR_SEXP_HEADER(x)->data;
+    }
+#endif
     SEXP result = ((call_R_CHAR) callbacks[R_CHAR_x])(x);
     checkExitCall();
     return result;
@@ -1092,6 +1127,11 @@ const char * R_CHAR(SEXP x) {
 
 SEXP STRING_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->data != NULL && FASTR_SEXP_HEADER(x)->type == STRSXP) {
+        return ((SEXP *) FASTR_SEXP_HEADER(x)->data)[i];
+    }
+#endif
     SEXP result = ((call_STRING_ELT) callbacks[STRING_ELT_x])(x, i);
     checkExitCall();
     return result;
@@ -1106,6 +1146,16 @@ SEXP VECTOR_ELT(SEXP x, R_xlen_t i) {
 
 void SET_STRING_ELT(SEXP x, R_xlen_t i, SEXP v) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    // NA goes through the up-call, which also clears the complete flag of the vector. The up-call
+    // also sets FASTR_STRSXP_NATIVE_WRITES, so that the Java side only has to look at the vectors
+    // stored into since the last up-call.
+    FastRSEXPHeader *header = FASTR_SEXP_HEADER(x);
+    if (header->data != NULL && header->type == STRSXP && (header->flags & FASTR_STRSXP_NATIVE_WRITES) && v != R_NaString && FASTR_SEXP_HEADER(v)->type == CHARSXP) {
+        ((SEXP *) header->data)[i] = v;
+        return;
+    }
+#endif
     ((call_SET_STRING_ELT) callbacks[SET_STRING_ELT_x])(x, i, v);
     checkExitCall();
 }
@@ -1183,6 +1233,11 @@ Rcomplex Rf_asComplex(SEXP x) {
 
 int TYPEOF(SEXP x) {
     TRACE0();
+#ifdef FASTR_SEXP_HEADER
+    if (FASTR_SEXP_HEADER(x)->type >= 0) {
+        return FASTR_SEXP_HEADER(x)->type;
+    }
+#endif
     int result = (int) ((call_TYPEOF) callbacks[TYPEOF_x])(x);
     checkExitCall();
     return result;
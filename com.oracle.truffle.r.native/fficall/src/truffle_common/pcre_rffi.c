@@ -21,12 +21,17 @@
  * questions.
  */
 #include <rffiutils.h>
+#include <pthread.h>
 
 #define PCRE_INFO_CAPTURECOUNT       2
 #define PCRE_INFO_NAMEENTRYSIZE      7
 #define PCRE_INFO_NAMECOUNT          8
 #define PCRE_INFO_NAMETABLE          9
 
+// the minimal number of subjects matched by one thread of call_pcre_execbatch
+#define EXEC_BATCH_MIN_PER_THREAD    4096
+#define EXEC_BATCH_MAX_THREADS       64
+
 extern char *pcre_maketables();
 extern void *pcre_compile(char *pattern, int options, char **errorMessage, int *errOffset, char *tables);
 extern int  pcre_exec(void *code, void *extra, char* subject, int subjectLength, int startOffset, int options, int *ovector, int ovecSize);
@@ -51,6 +56,79 @@ int call_pcre_exec(long code, long extra, char *subject, int subjectLength, int
     return pcre_exec((void *) code, (void *) extra, (char *) subject, subjectLength, startOffset, options, ovectorElems, ovectorLen);
 }
 
+typedef struct {
+    void *code;
+    void *extra;
+    char *subjects;
+    int *offsets;
+    int from;
+    int to;
+    int options;
+    int *results;
+    int *ovectors;
+    int ovectorLen;
+} exec_batch_range;
+
+static void *exec_batch(void *arg) {
+    exec_batch_range *r = (exec_batch_range *) arg;
+    for (int i = r->from; i < r->to; i++) {
+        int start = r->offsets[i];
+        int *ovector = r->ovectorLen == 0 ? NULL : r->ovectors + (size_t) i * r->ovectorLen;
+        r->results[i] = pcre_exec(r->code, r->extra, r->subjects + start, r->offsets[i + 1] - start, 0, r->options, ovector, r->ovectorLen);
+    }
+    return NULL;
+}
+
+/*
+ * Matches the subjects packed in "subjects", where subject i occupies the bytes from offsets[i]
+ * to offsets[i + 1], against the compiled pattern. The result of pcre_exec for subject i is stored
+ * in results[i] and its ovector at ovectors[i * ovectorLen]. The subjects are split into up to
+ * "threads" ranges matched in parallel, the compiled pattern is read-only and can be shared.
+ */
+void call_pcre_execbatch(long code, long extra, char *subjects, int *offsets, int count, int options, int *results, int *ovectors, int ovectorLen, int threads) {
+    exec_batch_range ranges[EXEC_BATCH_MAX_THREADS];
+    pthread_t ids[EXEC_BATCH_MAX_THREADS];
+    int n = threads;
+    if (n > EXEC_BATCH_MAX_THREADS) {
+        n = EXEC_BATCH_MAX_THREADS;
+    }
+    if (n > count / EXEC_BATCH_MIN_PER_THREAD) {
+        n = count / EXEC_BATCH_MIN_PER_THREAD;
+    }
+    if (n < 1) {
+        n = 1;
+    }
+    int chunk = (count + n - 1) / n;
+    for (int t = 0; t < n; t++) {
+        exec_batch_range *r = &ranges[t];
+        r->code = (void *) code;
+        r->extra = (void *) extra;
+        r->subjects = subjects;
+        r->offsets = offsets;
+        r->from = t * chunk;
+        r->to = r->from + chunk < count ? r->from + chunk : count;
+        r->options = options;
+        r->results = results;
+        r->ovectors = ovectors;
+        r->ovectorLen = ovectorLen;
+    }
+    int started = 0;
+    for (int t = 1; t < n; t++) {
+        if (pthread_create(&ids[t], NULL, exec_batch, &ranges[t]) != 0) {
+            break;
+        }
+        started = t;
+    }
+    exec_batch(&ranges[0]);
+    for (int t = 1; t <= started; t++) {
+        pthread_join(ids[t], NULL);
+    }
+    // ranges whose thread could not be created are matched by the calling thread
+    for (int t = started + 1; t < n; t++) {
+        exec_batch(&ranges[t]);
+    }
+}
+
 int call_pcre_getcapturecount(long code, long extra) {
     int captureCount;
 	int rc = pcre_fullinfo((void*) code, (void*) extra, PCRE_INFO_CAPTURECOUNT, &captureCount);
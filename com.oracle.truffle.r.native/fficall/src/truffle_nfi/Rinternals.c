@@ -51,76 +51,20 @@ void *ensure_function(void *fptr) {
 
 #include "../truffle_common/Rinternals_truffle_common.h"
 
-#define ARRAY_CACHE_SIZE 5
-
-typedef struct array_cache_entry {
-	SEXP key;
-	void *data;
-	unsigned int hits;
-} ArrayCacheEntry;
-
-static __thread ArrayCacheEntry int_cache[ARRAY_CACHE_SIZE];
-static __thread ArrayCacheEntry real_cache[ARRAY_CACHE_SIZE];
-
-static inline int array_cache_lookup(ArrayCacheEntry *cache, SEXP key) {
-#if ARRAY_CACHE_SIZE > 0
-  for(int i=0; i < ARRAY_CACHE_SIZE; i++) {
-    	if(cache[i].key == key) {
-    		(cache[i].hits)++;
-    		return i;
-    	}
-    }
-#endif
-  return -1;
-}
-
-static inline void array_cache_insert(ArrayCacheEntry *cache, SEXP key,
-		void *data) {
-
-#if ARRAY_CACHE_SIZE > 0
-	// replace least frequent
-	unsigned hits = cache[0].hits;
-	int idx = 0;
-
-	for (int i = 1; i < ARRAY_CACHE_SIZE && hits != 0; i++) {
-		if (cache[i].hits < hits) {
-			hits = cache[i].hits;
-			idx = i;
-		}
-	}
-
-	cache[idx].key = key;
-	cache[idx].data = data;
-	cache[idx].hits = 0;
-#endif
-}
-
 int *INTEGER(SEXP x) {
     TRACE(TARGp, x);
-
-    // lookup in cache
-    int idx = array_cache_lookup(int_cache, x);
-    if(idx >= 0) {
-    	return (int *)int_cache[idx].data;
+    FastRSEXPHeader *header = FASTR_SEXP_HEADER(x);
+    if (header->data != NULL && (header->type == INTSXP || header->type == LGLSXP)) {
+        return (int *) header->data;
     }
-
-    int *result = FASTR_INTEGER(x);
-
-    array_cache_insert(int_cache, x, result);
-    return result;
+    return FASTR_INTEGER(x);
 }
 
 double *REAL(SEXP x){
     TRACE(TARGp, x);
-
-    // lookup in cache
-    int idx = array_cache_lookup(real_cache, x);
-    if(idx >= 0) {
-    	return (double *)real_cache[idx].data;
+    FastRSEXPHeader *header = FASTR_SEXP_HEADER(x);
+    if (header->data != NULL && header->type == REALSXP) {
+        return (double *) header->data;
     }
-
-    double *result = FASTR_REAL(x);
-
-    array_cache_insert(real_cache, x, result);
-    return result;
+    return FASTR_REAL(x);
 }
@@ -59,6 +59,25 @@ void set_exception_flag();
 // use for any fatal error
 void fatalError(const char *msg) __attribute__((noreturn));
 
+// Every SEXP handed to native code points to this header, which is maintained by the Java class
+// NativeDataAccess (the offsets must match). The length, truelength and data fields are only valid
+// if data is not NULL, which is the case once the data of an atomic vector lives in native memory.
+// For a STRSXP data is the array of its CHARSXPs, for a CHARSXP the nul terminated bytes.
+typedef struct FastRSEXPHeader {
+    int type;               // SEXPTYPE or -1 if it is not cached
+    int flags;              // FASTR_STRSXP_* flags of a STRSXP
+    R_xlen_t length;
+    R_xlen_t truelength;
+    void *data;
+} FastRSEXPHeader;
+
+#define FASTR_SEXP_HEADER(x) ((FastRSEXPHeader *) (x))
+
+// the Java side tracks the STRSXP, the first SET_STRING_ELT after each up-call still up-calls
+#define FASTR_STRSXP_TRACKED 1
+// the Java side expects native stores into the data, SET_STRING_ELT may store into it directly
+#define FASTR_STRSXP_NATIVE_WRITES 2
+
 // Boilerplate methods for the actual calls
 
 typedef void (*callvoid0func)(void);
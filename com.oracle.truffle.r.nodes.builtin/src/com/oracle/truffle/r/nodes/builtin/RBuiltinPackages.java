@@ -113,7 +113,7 @@ public final class RBuiltinPackages implements RBuiltinLookup {
         try {
             RContext.getInstance().setLoadingBase(true);
             try {
-                RContext.getEngine().parseAndEval(baseSource, baseFrame, false);
+                RContext.getEngine().parseAndEvalSystemSource(baseSource, baseFrame);
             } catch (ParseException e) {
                 throw new RInternalError(e, "error while parsing base source from %s", baseSource.getName());
             }
@@ -137,7 +137,7 @@ public final class RBuiltinPackages implements RBuiltinLookup {
             REnvironment env = REnvironment.baseEnv();
             for (Source source : componentList) {
                 try {
-                    RContext.getEngine().parseAndEval(source, env.getFrame(), false);
+                    RContext.getEngine().parseAndEvalSystemSource(source, env.getFrame());
                 } catch (ParseException e) {
                     throw new RInternalError(e, "error while parsing default package override from %s", source.getName());
                 }
@@ -101,6 +101,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRDebug;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDebugNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDispatchNativeHandlers;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGetExecutor;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRGroupReduce;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRGroupReduceNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRAddHelpPath;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRHelpPath;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRHelpRd;
@@ -124,6 +126,9 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInterop
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInteropTryNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPaths;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPathsNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRMmap;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRMmapNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRNativeLockStats;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastROptionBuiltin;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPkgSource;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPkgSourceNodeGen;
@@ -450,8 +455,10 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRContext.GetChannel.class, FastRContextFactory.GetChannelNodeGen::create);
         add(FastRContext.ChannelPoll.class, FastRContextFactory.ChannelPollNodeGen::create);
         add(FastRContext.ChannelReceive.class, FastRContextFactory.ChannelReceiveNodeGen::create);
+        add(FastRContext.ChannelReceiveAll.class, FastRContextFactory.ChannelReceiveAllNodeGen::create);
         add(FastRContext.ChannelSelect.class, FastRContextFactory.ChannelSelectNodeGen::create);
         add(FastRContext.ChannelSend.class, FastRContextFactory.ChannelSendNodeGen::create);
+        add(FastRContext.ChannelSendAll.class, FastRContextFactory.ChannelSendAllNodeGen::create);
         add(FastRContext.Spawn.class, FastRContextFactory.SpawnNodeGen::create);
         add(FastRContext.Interrupt.class, FastRContextFactory.InterruptNodeGen::create);
         add(FastRContext.Join.class, FastRContextFactory.JoinNodeGen::create);
@@ -506,6 +513,9 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRprofmemSource.class, FastRprofmemSourceNodeGen::create);
         add(FastRprofmemSnapshot.class, FastRprofmemSnapshotNodeGen::create);
         add(FastRLibPaths.class, FastRLibPathsNodeGen::create);
+        add(FastRNativeLockStats.class, FastRNativeLockStats::new);
+        add(FastRGroupReduce.class, FastRGroupReduceNodeGen::create);
+        add(FastRMmap.class, FastRMmapNodeGen::create);
         add(FileFunctions.BaseName.class, FileFunctionsFactory.BaseNameNodeGen::create);
         add(FileFunctions.DirCreate.class, FileFunctionsFactory.DirCreateNodeGen::create);
         add(FileFunctions.DirExists.class, FileFunctionsFactory.DirExistsNodeGen::create);
@@ -229,7 +229,7 @@ public class GrepFunctions {
     }
 
     protected static final class GrepCommonCodeNode extends CommonCodeNode {
-        @Child private PCRERFFI.ExecNode execNode = RFFIFactory.getPCRERFFI().createExecNode();
+        @Child private PCRERFFI.ExecBatchNode execBatchNode = RFFIFactory.getPCRERFFI().createExecBatchNode();
 
         protected Object doGrep(String patternArg, RAbstractStringVector vector, boolean ignoreCase, boolean value, boolean perlPar, boolean fixed,
                         @SuppressWarnings("unused") boolean useBytes, boolean invert, boolean grepl) {
@@ -253,14 +253,10 @@ public class GrepFunctions {
                 } else {
                     PCRERFFI.Result pcre = compilePerlPattern(pattern, ignoreCase);
                     // TODO pcre_study for vectors > 10 ? (cf GnuR)
-                    int[] ovector = new int[30];
+                    int[] results = new int[len];
+                    execBatchNode.execute(pcre.result, 0, vector, 0, results, new int[0], 0);
                     for (int i = 0; i < len; i++) {
-                        String text = vector.getDataAt(i);
-                        if (!RRuntime.isNA(text)) {
-                            if (execNode.execute(pcre.result, 0, text, 0, 0, ovector) >= 0) {
-                                matches[i] = true;
-                            }
-                        }
+                        matches[i] = results[i] >= 0 && !RRuntime.isNA(vector.getDataAt(i));
                     }
                 }
 
@@ -761,6 +757,7 @@ public class GrepFunctions {
         @Child private SetFixedAttributeNode setCaptureNamesAttrNode = SetFixedAttributeNode.create("capture.names");
         @Child private SetFixedAttributeNode setDimNamesAttrNode = SetFixedAttributeNode.createDimNames();
         @Child private PCRERFFI.ExecNode execNode = RFFIFactory.getPCRERFFI().createExecNode();
+        @Child private PCRERFFI.ExecBatchNode execBatchNode = RFFIFactory.getPCRERFFI().createExecBatchNode();
         @Child private PCRERFFI.GetCaptureNamesNode getCaptureNamesNode = RFFIFactory.getPCRERFFI().createGetCaptureNamesNode();
         @Child private PCRERFFI.GetCaptureCountNode getCaptureCountNode = RFFIFactory.getPCRERFFI().createGetCaptureCountNode();
 
@@ -827,8 +824,10 @@ public class GrepFunctions {
                     // emtpy pattern
                     Arrays.fill(result, 1);
                 } else {
+                    // all elements are matched against a perl pattern in one go
+                    Info[] perlInfos = perl && !fixed ? getPerlInfos(common, pattern, vector, ignoreCase) : null;
                     for (int i = 0; i < vector.getLength(); i++) {
-                        Info res = getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixed, true).get(0);
+                        Info res = perlInfos != null ? perlInfos[i] : getInfo(common, pattern, vector.getDataAt(i), ignoreCase, perl, fixed, true).get(0);
                         result[i] = res.index;
                         matchLength[i] = res.size;
                         if (res.hasCapture) {
@@ -905,40 +904,15 @@ public class GrepFunctions {
                 }
             } else if (perl) {
                 PCRERFFI.Result pcre = common.compilePerlPattern(pattern, ignoreCase);
-                int maxCaptureCount = getCaptureCountNode.execute(pcre.result, 0);
-                if (maxCaptureCount < 0) {
-                    throw error(Message.PCRE_FULLINFO_RETURNED, maxCaptureCount);
-                }
-
-                String[] captureNames = getCaptureNamesNode.execute(pcre.result, 0, maxCaptureCount);
-                assert maxCaptureCount == captureNames.length;
-                for (int i = 0; i < captureNames.length; i++) {
-                    if (captureNames[i] == null) {
-                        captureNames[i] = "";
-                    }
-                }
+                String[] captureNames = getPerlCaptureNames(pcre);
+                int maxCaptureCount = captureNames.length;
 
                 int[] ovector = new int[(maxCaptureCount + 1) * 3];
                 int offset = 0;
                 while (true) {
                     int captureCount = execNode.execute(pcre.result, 0, text, offset, 0, ovector);
                     if (captureCount >= 0) {
-                        assert captureCount - 1 == captureNames.length || captureCount == captureNames.length : captureCount + ", " + captureNames.length;
-
-                        int[] captureStart = null;
-                        int[] captureLength = null;
-                        if (captureCount > 1) {
-                            captureStart = new int[captureCount - 1];
-                            captureLength = new int[captureCount - 1];
-                            int ind = 0;
-                            for (int i = 2; i < captureCount * 2; i += 2) {
-                                captureStart[ind] = ovector[i] + 1;
-                                captureLength[ind] = ovector[i + 1] - ovector[i];
-                                ind++;
-                            }
-                        }
-                        // R starts counting at index 1
-                        list.add(new Info(ovector[0] + 1, ovector[1] - ovector[0], captureStart, captureLength, captureNames));
+                        list.add(getPerlMatchInfo(captureCount, ovector, 0, captureNames));
                         if (onlyFirst) {
                             break;
                         }
@@ -965,6 +939,68 @@ public class GrepFunctions {
             return list;
         }
 
+        /**
+         * Equivalent of {@code getInfo(common, pattern, vector.getDataAt(i), ignoreCase, true, false,
+         * true).get(0)} for all elements of {@code vector}, but compiling the pattern only once and
+         * matching all elements with as few native calls as possible.
+         */
+        private Info[] getPerlInfos(CommonCodeNode common, String pattern, RAbstractStringVector vector, boolean ignoreCase) {
+            PCRERFFI.Result pcre = common.compilePerlPattern(pattern, ignoreCase);
+            String[] captureNames = getPerlCaptureNames(pcre);
+            int len = vector.getLength();
+            int ovectorLen = (captureNames.length + 1) * 3;
+            int[] results = new int[len];
+            int[] ovectors = new int[len * ovectorLen];
+            execBatchNode.execute(pcre.result, 0, vector, 0, results, ovectors, ovectorLen);
+            Info[] infos = new Info[len];
+            for (int i = 0; i < len; i++) {
+                if (results[i] >= 0) {
+                    infos[i] = getPerlMatchInfo(results[i], ovectors, i * ovectorLen, captureNames);
+                } else {
+                    infos[i] = new Info(-1, -1, null, null, captureNames.length > 0 ? captureNames : null);
+                }
+            }
+            return infos;
+        }
+
+        private String[] getPerlCaptureNames(PCRERFFI.Result pcre) {
+            int maxCaptureCount = getCaptureCountNode.execute(pcre.result, 0);
+            if (maxCaptureCount < 0) {
+                throw error(Message.PCRE_FULLINFO_RETURNED, maxCaptureCount);
+            }
+
+            String[] captureNames = getCaptureNamesNode.execute(pcre.result, 0, maxCaptureCount);
+            assert maxCaptureCount == captureNames.length;
+            for (int i = 0; i < captureNames.length; i++) {
+                if (captureNames[i] == null) {
+                    captureNames[i] = "";
+                }
+            }
+            return captureNames;
+        }
+
+        /**
+         * Creates the {@link Info} of a successful match whose ovector starts at {@code base}.
+         */
+        private static Info getPerlMatchInfo(int captureCount, int[] ovector, int base, String[] captureNames) {
+            assert captureCount - 1 == captureNames.length || captureCount == captureNames.length : captureCount + ", " + captureNames.length;
+
+            int[] captureStart = null;
+            int[] captureLength = null;
+            if (captureCount > 1) {
+                captureStart = new int[captureCount - 1];
+                captureLength = new int[captureCount - 1];
+                int ind = 0;
+                for (int i = 2; i < captureCount * 2; i += 2) {
+                    captureStart[ind] = ovector[base + i] + 1;
+                    captureLength[ind] = ovector[base + i + 1] - ovector[base + i];
+                    ind++;
+                }
+            }
+            // R starts counting at index 1
+            return new Info(ovector[base] + 1, ovector[base + 1] - ovector[base], captureStart, captureLength, captureNames);
+        }
+
         @TruffleBoundary
         private static Matcher getPatternMatcher(String pattern, String text, boolean ignoreCase) {
             String actualPattern = pattern;
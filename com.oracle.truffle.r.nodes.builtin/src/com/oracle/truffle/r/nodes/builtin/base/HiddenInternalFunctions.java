@@ -120,6 +120,12 @@ public class HiddenInternalFunctions {
         @TruffleBoundary
         protected RNull doMakeLazy(RAbstractStringVector names, RList values, RPairList expr, REnvironment eenv, REnvironment aenv) {
             initEval();
+            // lets the entries that are likely to be used be decompressed in the background
+            Object datafile = eenv.get("datafile");
+            Object compressed = eenv.get("compressed");
+            if (datafile instanceof RAbstractStringVector && ((RAbstractStringVector) datafile).getLength() == 1 && compressed != null) {
+                RContext.getInstance().stateLazyDBCache.registerEntries(((RAbstractStringVector) datafile).getDataAt(0), RRuntime.asInteger(compressed), names, values);
+            }
             for (int i = 0; i < names.getLength(); i++) {
                 String name = names.getDataAt(i);
                 RIntVector intVec = (RIntVector) values.getDataAt(i);
@@ -237,35 +243,37 @@ public class HiddenInternalFunctions {
             }
             int offset = key.getDataAt(0);
             int length = key.getDataAt(1);
-            int outlen = getOutlen(dbData, offset); // length of uncompressed data
-            byte[] udata = null;
+            byte[] udata = RContext.getInstance().stateLazyDBCache.takePrefetched(dbPath, offset);
             boolean rc = true;
-            /*
-             * compression may have value 0, 1, 2 or 3. Value 1 is gzip and the data starts at
-             * "offset + 4". Values 2 and 3 have a "type" field at "offset + 4
-             * " and the data starts at "offset + 5". The type field is 'Z' for lzma, '2' for bzip,
-             * '1' for zip and '0' for no compression. From GnuR code, the only difference between
-             * compression=2 and compression=3 is that type='Z' is only possible for the latter.
-             */
-            if (compression == 0) {
-                udata = new byte[length];
-                System.arraycopy(dbData, offset, udata, 0, length);
-            } else {
-                udata = new byte[outlen];
-                if (compression == 2 || compression == 3) {
-                    RCompression.Type type = RCompression.Type.fromTypeChar(dbData[4]);
-                    if (type == null) {
-                        warning(RError.Message.GENERIC, "unknown compression type");
-                        return RNull.instance;
-                    }
-                    byte[] data = new byte[length - 5];
-                    System.arraycopy(dbData, offset + 5, data, 0, data.length);
-                    rc = RCompression.uncompress(type, udata, data);
+            if (udata == null) {
+                int outlen = getOutlen(dbData, offset); // length of uncompressed data
+                /*
+                 * compression may have value 0, 1, 2 or 3. Value 1 is gzip and the data starts at
+                 * "offset + 4". Values 2 and 3 have a "type" field at "offset + 4 " and the data
+                 * starts at "offset + 5". The type field is 'Z' for lzma, '2' for bzip, '1' for zip
+                 * and '0' for no compression. From GnuR code, the only difference between
+                 * compression=2 and compression=3 is that type='Z' is only possible for the latter.
+                 */
+                if (compression == 0) {
+                    udata = new byte[length];
+                    System.arraycopy(dbData, offset, udata, 0, length);
                 } else {
-                    // GnuR treats any other value as 1
-                    byte[] data = new byte[length - 4];
-                    System.arraycopy(dbData, offset + 4, data, 0, data.length);
-                    rc = RCompression.uncompress(RCompression.Type.GZIP, udata, data);
+                    udata = new byte[outlen];
+                    if (compression == 2 || compression == 3) {
+                        RCompression.Type type = RCompression.Type.fromTypeChar(dbData[4]);
+                        if (type == null) {
+                            warning(RError.Message.GENERIC, "unknown compression type");
+                            return RNull.instance;
+                        }
+                        byte[] data = new byte[length - 5];
+                        System.arraycopy(dbData, offset + 5, data, 0, data.length);
+                        rc = RCompression.uncompress(type, udata, data);
+                    } else {
+                        // GnuR treats any other value as 1
+                        byte[] data = new byte[length - 4];
+                        System.arraycopy(dbData, offset + 4, data, 0, data.length);
+                        rc = RCompression.uncompress(RCompression.Type.GZIP, udata, data);
+                    }
                 }
             }
             if (!rc) {
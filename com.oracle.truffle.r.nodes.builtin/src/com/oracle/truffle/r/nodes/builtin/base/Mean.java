@@ -34,14 +34,18 @@ import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess.SequentialIterator;
+import com.oracle.truffle.r.runtime.ops.ParallelReduction;
 
 @ImportStatic(RType.class)
 @RBuiltin(name = "mean", kind = INTERNAL, parameterNames = {"x"}, dispatch = INTERNAL_GENERIC, behavior = PURE_SUMMARY)
 public abstract class Mean extends RBuiltinNode.Arg1 {
 
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
+
     static {
         Casts.noCasts(Mean.class);
     }
@@ -50,6 +54,9 @@ public abstract class Mean extends RBuiltinNode.Arg1 {
     protected double meanDoubleCached(RAbstractVector x,
                     @Cached("x.access()") VectorAccess access,
                     @Cached("createBinaryProfile()") ConditionProfile emptyProfile) {
+        if (parallelProfile.profile(x instanceof RDoubleVector && x.getLength() > 0 && ParallelReduction.isParallel((RDoubleVector) x))) {
+            return ParallelReduction.mean(((RDoubleVector) x).getReadonlyData());
+        }
         try (SequentialIterator iter = access.access(x)) {
             if (emptyProfile.profile(!access.next(iter))) {
                 return Double.NaN;
@@ -62,6 +62,7 @@ import com.oracle.truffle.r.runtime.conn.RConnection.ReadLineWarning;
 import com.oracle.truffle.r.runtime.conn.StdConnections;
 import com.oracle.truffle.r.runtime.context.Engine.ParseException;
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.ParseCache;
 import com.oracle.truffle.r.runtime.data.RComplex;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.REmpty;
@@ -157,7 +158,17 @@ public abstract class Parse extends RBuiltinNode.Arg6 {
         }
         try {
             Source source = srcFile != RNull.instance ? createSource(srcFile, coalescedLines) : createSource(conn, coalescedLines);
-            RExpression exprs = RContext.getEngine().parse(source);
+            RExpression exprs;
+            if (srcFile instanceof REnvironment || !ParseCache.isEnabled()) {
+                exprs = RContext.getEngine().parse(source);
+            } else {
+                ParseCache cache = RContext.getInstance().parseCache;
+                exprs = cache.get(source);
+                if (exprs == null) {
+                    exprs = RContext.getEngine().parse(source);
+                    cache.put(source, exprs);
+                }
+            }
             if (n > 0 && n < exprs.getLength()) {
                 Object[] subListData = new Object[n];
                 for (int i = 0; i < n; i++) {
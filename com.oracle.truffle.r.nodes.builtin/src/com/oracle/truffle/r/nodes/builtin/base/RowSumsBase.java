@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.nodes.builtin.base;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
@@ -29,6 +30,7 @@ import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
+import com.oracle.truffle.r.runtime.ops.ParallelReduction;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 /**
@@ -45,6 +47,7 @@ public abstract class RowSumsBase extends ColSumsBase {
     @Child private BinaryArithmetic add = BinaryArithmetic.ADD.createOperation();
 
     private final ConditionProfile remainderProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
     private final LoopConditionProfile outerProfile = LoopConditionProfile.createCountingProfile();
     private final LoopConditionProfile innerProfile = LoopConditionProfile.createCountingProfile();
 
@@ -60,6 +63,10 @@ public abstract class RowSumsBase extends ColSumsBase {
 
     protected final <T extends RAbstractVector> RDoubleVector accumulateRows(T x, int rowNum, int colNum, boolean naRm, FinalTransform finalTransform, RowSumsBase.GetFunction<T> get) {
         reportWork(x.getLength());
+        if (parallelProfile.profile(x instanceof RDoubleVector && ParallelReduction.isParallel((RDoubleVector) x))) {
+            // the get function of double vectors reads the element unchanged
+            return accumulateRowsParallel(((RDoubleVector) x).getReadonlyData(), rowNum, colNum, naRm, finalTransform);
+        }
         double[] result = new double[rowNum];
         na.enable(x);
         outerProfile.profileCounted(rowNum / 4);
@@ -111,4 +118,48 @@ public abstract class RowSumsBase extends ColSumsBase {
         }
         return RDataFactory.createDoubleVector(result, na.neverSeenNA());
     }
+
+    /**
+     * Accumulates blocks of rows in parallel. Each row is still summed up in column order, so the
+     * result is the same as the one of the sequential loop.
+     */
+    @TruffleBoundary
+    private static RDoubleVector accumulateRowsParallel(double[] data, int rowNum, int colNum, boolean naRm, FinalTransform finalTransform) {
+        double[] result = new double[rowNum];
+        int rowsPerChunk = Math.max(1, ParallelReduction.CHUNK_SIZE / Math.max(1, colNum));
+        ParallelReduction.forEachRange(rowNum, rowsPerChunk, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                int pos = i;
+                int notNACount = 0;
+                for (int c = 0; c < colNum; c++) {
+                    double el = data[pos];
+                    pos += rowNum;
+                    if (RRuntime.isNA(el)) {
+                        if (!naRm) {
+                            sum = RRuntime.DOUBLE_NA;
+                            break;
+                        }
+                    } else if (Double.isNaN(el)) {
+                        if (!naRm) {
+                            sum = Double.NaN;
+                            break;
+                        }
+                    } else {
+                        sum += el;
+                        notNACount++;
+                    }
+                }
+                result[i] = finalTransform.get(sum, notNACount);
+            }
+        });
+        boolean complete = true;
+        for (double value : result) {
+            if (RRuntime.isNA(value)) {
+                complete = false;
+                break;
+            }
+        }
+        return RDataFactory.createDoubleVector(result, complete);
+    }
 }
@@ -120,8 +120,7 @@ public abstract class Sample extends RBuiltinNode.Arg4 {
             }
         }
         if (nc > 200) {
-            // TODO implement walker
-            throw new UnsupportedOperationException("walker_ProbSampleReplace is not yet implemented");
+            return RDataFactory.createIntVector(walkerProbSampleReplace(x, probArray, size), RDataFactory.COMPLETE_VECTOR);
         } else {
             return RDataFactory.createIntVector(probSampleReplace(x, probArray, size), RDataFactory.COMPLETE_VECTOR);
         }
@@ -201,14 +200,66 @@ public abstract class Sample extends RBuiltinNode.Arg4 {
             probArray[i] += probArray[i - 1];
         }
         for (int i = 0; i < resultSize; i++) {
-            int j = 0;
             double rU = RRNG.unifRand();
-            for (j = 0; j < n - 1; j++) {
-                if (rU <= probArray[j]) {
+            // GnuR searches linearly for the first j < n - 1 with rU <= probArray[j], the
+            // cumulative probabilities are sorted, so a binary search finds the same j
+            int lo = 0;
+            int hi = n - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (rU <= probArray[mid]) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            result[i] = perm[lo];
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static int[] walkerProbSampleReplace(int n, double[] probArray, int resultSize) {
+        // The following code is transcribed from GNU R src/main/random.c function
+        // walker_ProbSampleReplace. The indices of the entries with q < 1 are collected at the
+        // start of hl, the ones with q >= 1 at its end.
+        int[] a = new int[n];
+        int[] hl = new int[n];
+        double[] q = new double[n];
+        int h = -1;
+        int l = n;
+        for (int i = 0; i < n; i++) {
+            q[i] = probArray[i] * n;
+            if (q[i] < 1.) {
+                hl[++h] = i;
+            } else {
+                hl[--l] = i;
+            }
+        }
+        if (h >= 0 && l < n) {
+            // some q[i] are >= 1 and some < 1
+            for (int k = 0; k < n - 1; k++) {
+                int i = hl[k];
+                int j = hl[l];
+                a[i] = j;
+                q[j] += q[i] - 1;
+                if (q[j] < 1.) {
+                    l++;
+                }
+                if (l >= n) {
+                    // now all are >= 1
                     break;
                 }
             }
-            result[i] = perm[j];
+        }
+        for (int i = 0; i < n; i++) {
+            q[i] += i;
+        }
+        int[] result = new int[resultSize];
+        for (int i = 0; i < resultSize; i++) {
+            double rU = RRNG.unifRand() * n;
+            int k = (int) rU;
+            result[i] = (rU < q[k]) ? k + 1 : a[k] + 1;
         }
         return result;
     }
@@ -235,54 +286,61 @@ public abstract class Sample extends RBuiltinNode.Arg4 {
             }
             ans[i] = perm[j];
             totalMass -= probArray[j];
-            for (int k = j; k < n1; k++) {
-                probArray[k] = probArray[k + 1];
-                perm[k] = perm[k + 1];
-            }
+            System.arraycopy(probArray, j + 1, probArray, j, n1 - j);
+            System.arraycopy(perm, j + 1, perm, j, n1 - j);
         }
         return ans;
     }
 
+    /**
+     * Sorts {@code keys} into descending order and {@code values} alongside, transcribed from GNU
+     * R src/appl/sort.c function revsort. The order of equal keys matters for the results of
+     * sample, therefore this must not be replaced by another sorting algorithm.
+     */
     @TruffleBoundary
-    private void buildheap(double[] keys, int[] values) {
-        for (int i = (keys.length >> 1); i >= 0; i--) {
-            minHeapify(keys, i, keys.length, values);
+    private static void heapSort(int[] values, double[] keys) {
+        int n = keys.length;
+        if (n <= 1) {
+            return;
         }
-    }
-
-    @TruffleBoundary
-    private void minHeapify(double[] keys, int currentIndex, int heapSize, int[] values) {
-        int leftChildIndex = currentIndex << 1;
-        int rightChildIndex = leftChildIndex + 1;
-        int lowestElementIndex = currentIndex;
-        if (leftChildIndex < heapSize && keys[leftChildIndex] < keys[currentIndex]) {
-            lowestElementIndex = leftChildIndex;
-        }
-        if (rightChildIndex < heapSize && keys[rightChildIndex] < keys[currentIndex]) {
-            lowestElementIndex = rightChildIndex;
-        }
-        if (lowestElementIndex != currentIndex) {
-            exchange(keys, currentIndex, lowestElementIndex, values);
-            minHeapify(keys, lowestElementIndex, heapSize, values);
-        }
-    }
-
-    @TruffleBoundary
-    private static void exchange(double[] keys, int i, int j, int[] values) {
-        double c = keys[i];
-        keys[i] = keys[j];
-        keys[j] = c;
-        int temp = values[i];
-        values[i] = values[j];
-        values[j] = temp;
-    }
-
-    @TruffleBoundary
-    private void heapSort(int[] values, double[] keys) {
-        buildheap(keys, values);
-        for (int i = keys.length - 1; i > 0; i--) {
-            exchange(keys, 0, i, values);
-            minHeapify(keys, 0, i, values);
+        // the algorithm uses 1-based indices
+        int l = (n >> 1) + 1;
+        int ir = n;
+        for (;;) {
+            double ra;
+            int ii;
+            if (l > 1) {
+                l = l - 1;
+                ra = keys[l - 1];
+                ii = values[l - 1];
+            } else {
+                ra = keys[ir - 1];
+                ii = values[ir - 1];
+                keys[ir - 1] = keys[0];
+                values[ir - 1] = values[0];
+                if (--ir == 1) {
+                    keys[0] = ra;
+                    values[0] = ii;
+                    return;
+                }
+            }
+            int i = l;
+            int j = l << 1;
+            while (j <= ir) {
+                if (j < ir && keys[j - 1] > keys[j]) {
+                    ++j;
+                }
+                if (ra > keys[j - 1]) {
+                    keys[i - 1] = keys[j - 1];
+                    values[i - 1] = values[j - 1];
+                    i = j;
+                    j += j;
+                } else {
+                    j = ir + 1;
+                }
+            }
+            keys[i - 1] = ra;
+            values[i - 1] = ii;
         }
     }
 }
@@ -22,6 +22,14 @@
  */
 package com.oracle.truffle.r.nodes.builtin.base;
 
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.asDoubleVector;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.chain;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.doubleValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.findFirst;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.isFinite;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.lte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.mustBe;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
@@ -48,7 +56,13 @@ public abstract class Vector extends RBuiltinNode.Arg2 {
     static {
         Casts casts = new Casts(Vector.class);
         casts.arg("mode").defaultError(RError.Message.INVALID_ARGUMENT, "mode").asStringVector().mustBe(singleElement()).findFirst();
-        casts.arg("length").defaultError(RError.Message.INVALID_ARGUMENT, "length").asIntegerVector().mustBe(singleElement()).findFirst();
+        /*
+         * Long vectors are not supported: vectors are backed by a single Java array indexed by
+         * int. Lengths that do not fit into an int are reported as such and must not become NA.
+         */
+        casts.arg("length").defaultError(RError.Message.INVALID_ARGUMENT, "length").mapIf(doubleValue(),
+                        chain(asDoubleVector()).with(mustBe(singleElement())).with(findFirst().doubleElement()).with(mustBe(isFinite(), RError.Message.VECTOR_SIZE_NA_NAN)).with(
+                                        mustBe(lte((double) Integer.MAX_VALUE), RError.Message.LONG_VECTORS_NOT_SUPPORTED)).end()).asIntegerVector().mustBe(singleElement()).findFirst().mustNotBeNA().mustBe(gte(0));
     }
 
     protected RType modeToType(String mode) {
@@ -22,7 +22,9 @@
  */
 package com.oracle.truffle.r.nodes.builtin.fastr;
 
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.constant;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.equalTo;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.instanceOf;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.notEmpty;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
@@ -382,18 +384,19 @@ public class FastRContext {
         return ChildContextInfo.createNoRestore(Client.RSCRIPT, null, contextKind, context, console.getStdin(), console.getStdout(), console.getStderr());
     }
 
-    @RBuiltin(name = ".fastr.channel.create", kind = PRIMITIVE, parameterNames = {"key"}, behavior = COMPLEX)
-    public abstract static class CreateChannel extends RBuiltinNode.Arg1 {
+    @RBuiltin(name = ".fastr.channel.create", kind = PRIMITIVE, parameterNames = {"key", "capacity"}, behavior = COMPLEX)
+    public abstract static class CreateChannel extends RBuiltinNode.Arg2 {
 
         static {
             Casts casts = new Casts(CreateChannel.class);
             CastsHelper.key(casts);
+            casts.arg("capacity").mapMissing(constant(RChannel.DEFAULT_CAPACITY)).asIntegerVector().mustBe(singleElement()).findFirst().mustNotBeNA().mustBe(gte(1));
         }
 
         @Specialization
         @TruffleBoundary
-        protected int createChannel(int key) {
-            return RChannel.createChannel(key);
+        protected int createChannel(int key, int capacity) {
+            return RChannel.createChannel(key, capacity);
         }
     }
 
@@ -444,6 +447,23 @@ public class FastRContext {
         }
     }
 
+    @RBuiltin(name = ".fastr.channel.sendAll", visibility = OFF, kind = PRIMITIVE, parameterNames = {"id", "data"}, behavior = COMPLEX)
+    public abstract static class ChannelSendAll extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(ChannelSendAll.class);
+            CastsHelper.id(casts);
+            casts.arg("data").mustBe(instanceOf(RList.class));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RNull sendAll(int id, RList data) {
+            RChannel.sendAll(id, data);
+            return RNull.instance;
+        }
+    }
+
     @RBuiltin(name = ".fastr.channel.receive", kind = PRIMITIVE, parameterNames = {"id"}, behavior = COMPLEX)
     public abstract static class ChannelReceive extends RBuiltinNode.Arg1 {
 
@@ -459,6 +479,22 @@ public class FastRContext {
         }
     }
 
+    @RBuiltin(name = ".fastr.channel.receiveAll", kind = PRIMITIVE, parameterNames = {"id", "max"}, behavior = COMPLEX)
+    public abstract static class ChannelReceiveAll extends RBuiltinNode.Arg2 {
+
+        static {
+            Casts casts = new Casts(ChannelReceiveAll.class);
+            CastsHelper.id(casts);
+            casts.arg("max").mapMissing(constant(Integer.MAX_VALUE)).asIntegerVector().mustBe(singleElement()).findFirst().mustNotBeNA().mustBe(gte(1));
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RList receiveAll(int id, int max) {
+            return RChannel.receiveAll(id, max);
+        }
+    }
+
     @RBuiltin(name = ".fastr.channel.poll", kind = PRIMITIVE, parameterNames = {"id"}, behavior = COMPLEX)
     public abstract static class ChannelPoll extends RBuiltinNode.Arg1 {
 
@@ -474,33 +510,37 @@ public class FastRContext {
         }
     }
 
-    @RBuiltin(name = ".fastr.channel.select", kind = PRIMITIVE, parameterNames = {"ids"}, behavior = COMPLEX)
-    public abstract static class ChannelSelect extends RBuiltinNode.Arg1 {
+    @RBuiltin(name = ".fastr.channel.select", kind = PRIMITIVE, parameterNames = {"ids", "timeout"}, behavior = COMPLEX)
+    public abstract static class ChannelSelect extends RBuiltinNode.Arg2 {
 
         static {
             Casts casts = new Casts(ChannelSelect.class);
             casts.arg("ids").mustBe(instanceOf(RList.class));
+            casts.arg("timeout").mapMissing(constant(-1.0)).asDoubleVector().mustBe(singleElement()).findFirst().mustNotBeNA();
         }
 
+        /**
+         * Returns a list of the id of the channel that delivered a message and the message, or
+         * {@code NULL} if no message arrived within {@code timeout} seconds. A negative timeout
+         * waits indefinitely.
+         */
         @Specialization
         @TruffleBoundary
-        protected RList select(RList nodes) {
-            int ind = 0;
-            int length = nodes.getLength();
-            while (true) {
-                Object o = nodes.getDataAt(ind);
-                ind = (ind + 1) % length;
-                int id;
+        protected Object select(RList nodes, double timeout) {
+            int[] ids = new int[nodes.getLength()];
+            for (int i = 0; i < ids.length; i++) {
+                Object o = nodes.getDataAt(i);
                 if (o instanceof Integer) {
-                    id = (int) o;
+                    ids[i] = (int) o;
                 } else {
-                    id = ((RIntVector) o).getDataAt(0);
-                }
-                Object res = RChannel.poll(id);
-                if (res != null) {
-                    return RDataFactory.createList(new Object[]{id, res});
+                    ids[i] = ((RIntVector) o).getDataAt(0);
                 }
             }
+            Object[] res = RChannel.select(ids, timeout < 0 ? -1 : (long) (timeout * 1e9));
+            if (res == null) {
+                return RNull.instance;
+            }
+            return RDataFactory.createList(new Object[]{ids[(int) res[0]], res[1]});
         }
     }
 }
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.model.RAbstractDoubleVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractIntVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractLogicalVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+import com.oracle.truffle.r.runtime.ops.ParallelReduction;
+
+/**
+ * FastR specific internal used by the R code of {@code tapply} to compute common reductions
+ * ({@code sum}, {@code mean}, {@code min}, {@code max}, {@code length}, {@code var}, {@code any} and
+ * {@code all}) of all groups in one pass over the group codes, instead of splitting {@code x} into
+ * one vector per group and calling the reducer on each of them.
+ *
+ * The result has one element per group, empty groups are {@code NA}. {@code NULL} is returned if
+ * the reduction cannot be computed here with exactly the same result as the general path (e.g.
+ * integer overflow, which produces a warning), in which case the caller falls back to it. This is
+ * also the case for the {@code sum} and {@code mean} of doubles if any group is large enough to be
+ * summed with compensation by {@link ParallelReduction}, whereas the groups are summed here in a
+ * single pass without compensation, like {@code sum} does for shorter vectors.
+ */
+@RBuiltin(name = ".fastr.groupReduce", kind = PRIMITIVE, parameterNames = {"x", "group", "ngroup", "fun"}, behavior = PURE)
+public abstract class FastRGroupReduce extends RBuiltinNode.Arg4 {
+
+    static {
+        Casts casts = new Casts(FastRGroupReduce.class);
+        casts.arg("x").mustNotBeMissing();
+        casts.arg("group").mustNotBeMissing().asIntegerVector();
+        casts.arg("ngroup").asIntegerVector().findFirst();
+        casts.arg("fun").asStringVector().findFirst();
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object reduce(RAbstractDoubleVector x, RAbstractIntVector group, int ngroup, String fun) {
+        return reduceDouble(x, group, ngroup, fun);
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object reduce(RAbstractIntVector x, RAbstractIntVector group, int ngroup, String fun) {
+        return reduceInt(x, group, ngroup, fun);
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object reduce(RAbstractLogicalVector x, RAbstractIntVector group, int ngroup, String fun) {
+        if (fun.equals("any") || fun.equals("all")) {
+            return anyOrAll(x, group, ngroup, fun.equals("any"));
+        }
+        return reduceInt(x, group, ngroup, fun);
+    }
+
+    @SuppressWarnings("unused")
+    @Fallback
+    protected Object reduce(Object x, Object group, Object ngroup, Object fun) {
+        return RNull.instance;
+    }
+
+    /**
+     * Returns the group index (0-based) of element {@code i}, or {@code -1} if it does not belong
+     * to any group.
+     */
+    private static int groupOf(RAbstractIntVector group, int i, int ngroup) {
+        int g = group.getDataAt(i);
+        return g == RRuntime.INT_NA || g < 1 || g > ngroup ? -1 : g - 1;
+    }
+
+    private static int[] counts(RAbstractIntVector group, int ngroup) {
+        int[] counts = new int[ngroup];
+        for (int i = 0; i < group.getLength(); i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0) {
+                counts[g]++;
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isEmpty(int[] counts) {
+        for (int c : counts) {
+            if (c != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int intValue(RAbstractVector x, int i) {
+        if (x instanceof RAbstractLogicalVector) {
+            byte value = ((RAbstractLogicalVector) x).getDataAt(i);
+            return value == RRuntime.LOGICAL_NA ? RRuntime.INT_NA : value;
+        }
+        return ((RAbstractIntVector) x).getDataAt(i);
+    }
+
+    private static Object reduceInt(RAbstractVector x, RAbstractIntVector group, int ngroup, String fun) {
+        int n = x.getLength();
+        if (group.getLength() != n) {
+            return RNull.instance;
+        }
+        int[] counts = counts(group, ngroup);
+        if (isEmpty(counts)) {
+            return RNull.instance;
+        }
+        boolean[] na = new boolean[ngroup];
+        switch (fun) {
+            case "length":
+                return RDataFactory.createIntVector(counts, RDataFactory.COMPLETE_VECTOR);
+            case "sum": {
+                long[] sum = new long[ngroup];
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf(group, i, ngroup);
+                    if (g >= 0) {
+                        int value = intValue(x, i);
+                        if (value == RRuntime.INT_NA) {
+                            na[g] = true;
+                        } else {
+                            sum[g] += value;
+                        }
+                    }
+                }
+                int[] result = new int[ngroup];
+                boolean complete = true;
+                for (int g = 0; g < ngroup; g++) {
+                    if (counts[g] == 0 || na[g]) {
+                        result[g] = RRuntime.INT_NA;
+                        complete = false;
+                    } else if (sum[g] > Integer.MAX_VALUE || sum[g] < RRuntime.INT_MIN_VALUE) {
+                        // let the general path produce the overflow warning
+                        return RNull.instance;
+                    } else {
+                        result[g] = (int) sum[g];
+                    }
+                }
+                return RDataFactory.createIntVector(result, complete);
+            }
+            case "min":
+            case "max": {
+                boolean isMin = fun.equals("min");
+                int[] result = new int[ngroup];
+                boolean[] seen = new boolean[ngroup];
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf(group, i, ngroup);
+                    if (g >= 0) {
+                        int value = intValue(x, i);
+                        if (value == RRuntime.INT_NA) {
+                            na[g] = true;
+                        } else if (!seen[g] || (isMin ? value < result[g] : value > result[g])) {
+                            result[g] = value;
+                            seen[g] = true;
+                        }
+                    }
+                }
+                boolean complete = true;
+                for (int g = 0; g < ngroup; g++) {
+                    if (counts[g] == 0 || na[g]) {
+                        result[g] = RRuntime.INT_NA;
+                        complete = false;
+                    }
+                }
+                return RDataFactory.createIntVector(result, complete);
+            }
+            case "mean":
+            case "var": {
+                double[] values = new double[n];
+                for (int i = 0; i < n; i++) {
+                    int value = intValue(x, i);
+                    values[i] = value == RRuntime.INT_NA ? RRuntime.DOUBLE_NA : value;
+                }
+                return fun.equals("mean") ? mean(values, group, ngroup, counts) : variance(values, group, ngroup, counts);
+            }
+            default:
+                return RNull.instance;
+        }
+    }
+
+    private static Object reduceDouble(RAbstractDoubleVector x, RAbstractIntVector group, int ngroup, String fun) {
+        int n = x.getLength();
+        if (group.getLength() != n) {
+            return RNull.instance;
+        }
+        int[] counts = counts(group, ngroup);
+        if (isEmpty(counts)) {
+            return RNull.instance;
+        }
+        switch (fun) {
+            case "length":
+                return RDataFactory.createIntVector(counts, RDataFactory.COMPLETE_VECTOR);
+            case "sum": {
+                if (hasParallelGroup(counts)) {
+                    return RNull.instance;
+                }
+                double[] sum = new double[ngroup];
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf(group, i, ngroup);
+                    if (g >= 0) {
+                        sum[g] += x.getDataAt(i);
+                    }
+                }
+                for (int g = 0; g < ngroup; g++) {
+                    if (counts[g] == 0) {
+                        sum[g] = RRuntime.DOUBLE_NA;
+                    }
+                }
+                return RDataFactory.createDoubleVector(sum, false);
+            }
+            case "min":
+            case "max": {
+                boolean isMin = fun.equals("min");
+                double[] result = new double[ngroup];
+                boolean[] seen = new boolean[ngroup];
+                boolean[] na = new boolean[ngroup];
+                boolean[] nan = new boolean[ngroup];
+                for (int i = 0; i < n; i++) {
+                    int g = groupOf(group, i, ngroup);
+                    if (g >= 0) {
+                        double value = x.getDataAt(i);
+                        if (RRuntime.isNA(value)) {
+                            na[g] = true;
+                        } else if (Double.isNaN(value)) {
+                            nan[g] = true;
+                        } else if (!seen[g] || (isMin ? value < result[g] : value > result[g])) {
+                            result[g] = value;
+                            seen[g] = true;
+                        }
+                    }
+                }
+                for (int g = 0; g < ngroup; g++) {
+                    // NA takes precedence over NaN
+                    if (counts[g] == 0 || na[g]) {
+                        result[g] = RRuntime.DOUBLE_NA;
+                    } else if (nan[g]) {
+                        result[g] = Double.NaN;
+                    }
+                }
+                return RDataFactory.createDoubleVector(result, false);
+            }
+            case "mean":
+                if (hasParallelGroup(counts)) {
+                    return RNull.instance;
+                }
+                return mean(x.materialize().getReadonlyData(), group, ngroup, counts);
+            case "var":
+                return variance(x.materialize().getReadonlyData(), group, ngroup, counts);
+            default:
+                return RNull.instance;
+        }
+    }
+
+    private static boolean hasParallelGroup(int[] counts) {
+        for (int g = 0; g < counts.length; g++) {
+            if (ParallelReduction.isParallel(counts[g])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Single pass mean of each group like the {@code mean} builtin, which yields the first
+     * {@code NA} or {@code NaN} of a group.
+     */
+    private static Object mean(double[] values, RAbstractIntVector group, int ngroup, int[] counts) {
+        double[] result = new double[ngroup];
+        boolean[] na = new boolean[ngroup];
+        for (int i = 0; i < values.length; i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0 && !na[g]) {
+                if (Double.isNaN(values[i])) {
+                    result[g] = values[i];
+                    na[g] = true;
+                } else {
+                    result[g] += values[i];
+                }
+            }
+        }
+        for (int g = 0; g < ngroup; g++) {
+            if (counts[g] == 0) {
+                result[g] = RRuntime.DOUBLE_NA;
+            } else if (!na[g]) {
+                result[g] /= counts[g];
+            }
+        }
+        return RDataFactory.createDoubleVector(result, false);
+    }
+
+    /**
+     * Sample variance of each group like {@code var}, i.e., the {@code cov} of a single column: the
+     * deviations are taken from the mean refined by a second pass, {@code NA} for groups with less
+     * than two elements or with any {@code NA} or {@code NaN}.
+     */
+    private static Object variance(double[] values, RAbstractIntVector group, int ngroup, int[] counts) {
+        double[] mean = new double[ngroup];
+        boolean[] na = new boolean[ngroup];
+        for (int i = 0; i < values.length; i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0) {
+                if (Double.isNaN(values[i])) {
+                    na[g] = true;
+                } else {
+                    mean[g] += values[i];
+                }
+            }
+        }
+        for (int g = 0; g < ngroup; g++) {
+            if (counts[g] != 0) {
+                mean[g] /= counts[g];
+            }
+        }
+        double[] correction = new double[ngroup];
+        for (int i = 0; i < values.length; i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0 && !na[g] && Double.isFinite(mean[g])) {
+                correction[g] += values[i] - mean[g];
+            }
+        }
+        for (int g = 0; g < ngroup; g++) {
+            if (counts[g] != 0 && Double.isFinite(mean[g])) {
+                mean[g] += correction[g] / counts[g];
+            }
+        }
+        double[] result = new double[ngroup];
+        for (int i = 0; i < values.length; i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0 && !na[g]) {
+                double d = values[i] - mean[g];
+                result[g] += d * d;
+            }
+        }
+        for (int g = 0; g < ngroup; g++) {
+            result[g] = counts[g] < 2 || na[g] ? RRuntime.DOUBLE_NA : result[g] / (counts[g] - 1);
+        }
+        return RDataFactory.createDoubleVector(result, false);
+    }
+
+    private static Object anyOrAll(RAbstractLogicalVector x, RAbstractIntVector group, int ngroup, boolean isAny) {
+        int n = x.getLength();
+        if (group.getLength() != n) {
+            return RNull.instance;
+        }
+        int[] counts = counts(group, ngroup);
+        if (isEmpty(counts)) {
+            return RNull.instance;
+        }
+        // any: TRUE if any TRUE, otherwise NA if any NA; all: FALSE if any FALSE, otherwise NA if
+        // any NA
+        byte decisive = isAny ? RRuntime.LOGICAL_TRUE : RRuntime.LOGICAL_FALSE;
+        byte[] result = new byte[ngroup];
+        for (int g = 0; g < ngroup; g++) {
+            result[g] = counts[g] == 0 ? RRuntime.LOGICAL_NA : RRuntime.asLogical(!isAny);
+        }
+        for (int i = 0; i < n; i++) {
+            int g = groupOf(group, i, ngroup);
+            if (g >= 0 && result[g] != decisive) {
+                byte value = x.getDataAt(i);
+                if (value == decisive || value == RRuntime.LOGICAL_NA) {
+                    result[g] = value;
+                }
+            }
+        }
+        return RDataFactory.createLogicalVector(result, false);
+    }
+}
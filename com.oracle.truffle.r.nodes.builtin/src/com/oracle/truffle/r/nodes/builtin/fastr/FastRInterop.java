@@ -714,6 +714,9 @@ public class FastRInterop {
         @TruffleBoundary
         public Object toArray(RAbstractIntVector vec, @SuppressWarnings("unused") RMissing className, boolean flat,
                         @Cached("createR2Foreign()") R2Foreign r2Foreign) {
+            if (isOneDimensional(flat, vec)) {
+                return RContext.getInstance().getEnv().asGuestValue(vec.materialize().getDataCopy());
+            }
             return toArray(vec, flat, int.class, (array, i) -> Array.set(array, i, r2Foreign.execute(vec.getDataAt(i))));
         }
 
@@ -742,6 +745,9 @@ public class FastRInterop {
         @Specialization
         @TruffleBoundary
         public Object toArray(RAbstractDoubleVector vec, @SuppressWarnings("unused") RMissing className, boolean flat) {
+            if (isOneDimensional(flat, vec)) {
+                return RContext.getInstance().getEnv().asGuestValue(vec.materialize().getDataCopy());
+            }
             return toArray(vec, flat, double.class, (array, i) -> Array.set(array, i, vec.getDataAt(i)));
         }
 
@@ -782,6 +788,9 @@ public class FastRInterop {
         @Specialization
         @TruffleBoundary
         public Object toArray(RAbstractRawVector vec, @SuppressWarnings("unused") RMissing className, boolean flat) {
+            if (isOneDimensional(flat, vec)) {
+                return RContext.getInstance().getEnv().asGuestValue(vec.materialize().getDataCopy());
+            }
             return toArray(vec, flat, byte.class, (array, i) -> Array.set(array, i, vec.getRawDataAt(i)));
         }
 
@@ -838,6 +847,14 @@ public class FastRInterop {
             return dims;
         }
 
+        /**
+         * One dimensional arrays of the native element type of a vector can be created with a single
+         * bulk copy of the vector data instead of setting the elements one by one.
+         */
+        private static boolean isOneDimensional(boolean flat, RAbstractVector vec) {
+            return getDim(flat, vec).length == 1;
+        }
+
         private static Object toArray(RAbstractVector vec, boolean flat, Class<?> clazz, VecElementToArray vecToArray) throws IllegalArgumentException, ArrayIndexOutOfBoundsException {
             int[] dims = getDim(flat, vec);
             // TODO need ForeignAccess.sendNew(multiDimArrayClass, dims)
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.and;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.constant;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.isFinite;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.isFractional;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.not;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.IOException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.Utils;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.MappedFileVectors;
+import com.oracle.truffle.r.runtime.data.RVector;
+
+/**
+ * Maps a binary file into memory as a double, integer or raw vector, see
+ * {@link MappedFileVectors}. {@code n} is the number of elements ({@code -1} for the rest of the
+ * file), {@code offset} the position of the first element in bytes. With {@code readonly = FALSE}
+ * the vector can be modified in place without copying it, but the modifications are not written
+ * back to the file.
+ */
+@RBuiltin(name = ".fastr.mmap", kind = PRIMITIVE, parameterNames = {"file", "what", "n", "offset", "readonly"}, behavior = COMPLEX)
+public abstract class FastRMmap extends RBuiltinNode.Arg5 {
+
+    static {
+        Casts casts = new Casts(FastRMmap.class);
+        casts.arg("file").mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("what").mapMissing(constant("double")).mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("n").mapMissing(constant(-1.0)).asDoubleVector().mustBe(singleElement()).findFirst().mustNotBeNA().mustBe(gte(-1.0)).mustBe(and(isFinite(), not(isFractional())),
+                        RError.Message.INVALID_ARGUMENT, "n");
+        casts.arg("offset").mapMissing(constant(0.0)).asDoubleVector().mustBe(singleElement()).findFirst().mustNotBeNA().mustBe(gte(0.0)).mustBe(and(isFinite(), not(isFractional())),
+                        RError.Message.INVALID_ARGUMENT, "offset");
+        casts.arg("readonly").mapMissing(constant(RRuntime.LOGICAL_TRUE)).asLogicalVector().mustBe(singleElement()).findFirst().mustNotBeNA().map(toBoolean());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected RVector<?> mmap(String file, String what, double n, double offset, boolean readonly) {
+        RType type;
+        switch (what) {
+            case "double":
+            case "numeric":
+                type = RType.Double;
+                break;
+            case "integer":
+            case "int":
+                type = RType.Integer;
+                break;
+            case "raw":
+                type = RType.Raw;
+                break;
+            default:
+                throw error(RError.Message.INVALID_ARGUMENT, "what");
+        }
+        try {
+            return MappedFileVectors.map(Utils.tildeExpand(file), type, (long) offset, (long) n, readonly);
+        } catch (IOException e) {
+            throw error(RError.Message.GENERIC, "cannot map file '" + file + "': " + e.getMessage());
+        }
+    }
+}
@@ -248,7 +248,7 @@ final class CachedReplaceVectorNode extends CachedVectorNode {
             if (isDeleteElements() && mode.isSubscript()) {
                 return vector;
             }
-            vector = resizeVector(vector, maxOutOfBounds);
+            vector = resizeVector(vector, maxOutOfBounds, !ignoreRefCount);
         } else {
             vector = vector.materialize();
         }
@@ -389,11 +389,17 @@ final class CachedReplaceVectorNode extends CachedVectorNode {
     // TODO (chumer) this is way to complicated at the moment
     // its not yet worth compiling it we need a better attribute system
     @TruffleBoundary
-    private static RVector<?> resizeVector(RAbstractVector vector, int size) {
+    private static RVector<?> resizeVector(RAbstractVector vector, int size, boolean mayGrowInPlace) {
         RStringVector oldNames = vector.getNames();
-        RVector<?> res = vector.copyResized(size, true).materialize();
-        if (vector instanceof RVector) {
-            res.copyAttributesFrom(vector);
+        RVector<?> res;
+        if (mayGrowInPlace && vector instanceof RVector && !((RVector<?>) vector).isShared() && ((RVector<?>) vector).growInPlace(size)) {
+            // amortizes the cost of appending to a vector element by element
+            res = (RVector<?>) vector;
+        } else {
+            res = vector.copyResized(size, true).materialize();
+            if (vector instanceof RVector) {
+                res.copyAttributesFrom(vector);
+            }
         }
         res.setDimensionsNoCheck(null);
         res.setDimNamesNoCheck(null);
@@ -180,7 +180,7 @@ public final class PromiseHelperNode extends RBaseNode {
         assert !PromiseState.isDefaultOpt(state);
         if (!isDeoptimized(promise)) {
             Assumption eagerAssumption = isValidAssumptionProfile.profile(promise.getIsValidAssumption());
-            if (eagerAssumption.isValid()) {
+            if (eagerAssumption.isValid() && promise.areAdditionalAssumptionsValid()) {
                 Object value;
                 if (PromiseState.isEager(state)) {
                     assert PromiseState.isEager(state);
@@ -275,7 +275,7 @@ public final class PromiseHelperNode extends RBaseNode {
         assert !PromiseState.isDefaultOpt(state);
         if (!promise.isDeoptimized()) {
             Assumption eagerAssumption = promise.getIsValidAssumption();
-            if (eagerAssumption.isValid()) {
+            if (eagerAssumption.isValid() && promise.areAdditionalAssumptionsValid()) {
                 if (!PromiseState.isEager(state)) {
                     RPromise nextPromise = (RPromise) promise.getEagerValue();
                     return evaluateSlowPath(frame, nextPromise);
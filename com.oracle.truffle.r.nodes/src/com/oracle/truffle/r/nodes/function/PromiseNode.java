@@ -23,6 +23,7 @@
 package com.oracle.truffle.r.nodes.function;
 
 import static com.oracle.truffle.r.nodes.function.opt.EagerEvalHelper.getOptimizableConstant;
+import static com.oracle.truffle.r.nodes.function.opt.EagerEvalHelper.getOptimizableExpression;
 import static com.oracle.truffle.r.nodes.function.opt.EagerEvalHelper.isOptimizableVariable;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -39,8 +40,10 @@ import com.oracle.truffle.r.nodes.RASTUtils;
 import com.oracle.truffle.r.nodes.access.ConstantNode;
 import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
 import com.oracle.truffle.r.nodes.function.PromiseHelperNode.PromiseCheckHelperNode;
+import com.oracle.truffle.r.nodes.function.opt.EagerEvalHelper.PureExpression;
 import com.oracle.truffle.r.nodes.function.opt.OptConstantPromiseNode;
 import com.oracle.truffle.r.nodes.function.opt.OptForcedEagerPromiseNode;
+import com.oracle.truffle.r.nodes.function.opt.OptPureExpressionPromiseNode;
 import com.oracle.truffle.r.nodes.function.opt.OptVariablePromiseBaseNode;
 import com.oracle.truffle.r.runtime.ArgumentsSignature;
 import com.oracle.truffle.r.runtime.RError;
@@ -122,6 +125,11 @@ public abstract class PromiseNode extends RNode {
                     return expr;
                 } else if (!noOpt && isOptimizableVariable(expr)) {
                     return new OptVariableSuppliedPromiseNode(factory, (RSyntaxLookup) expr, wrapIndex);
+                } else if (!noOpt) {
+                    PureExpression pure = getOptimizableExpression(expr);
+                    if (pure != null) {
+                        return new OptPureExpressionSuppliedPromiseNode(factory, expr, pure, wrapIndex);
+                    }
                 }
             }
             return new PromisedNode(factory);
@@ -193,6 +201,27 @@ public abstract class PromiseNode extends RNode {
         }
     }
 
+    /**
+     * Supplied argument that is a side effect free expression of local variables, see
+     * {@link OptPureExpressionPromiseNode}.
+     */
+    private static final class OptPureExpressionSuppliedPromiseNode extends OptPureExpressionPromiseNode {
+
+        OptPureExpressionSuppliedPromiseNode(RPromiseFactory factory, RNode expr, PureExpression pure, int wrapIndex) {
+            super(factory, expr, pure, wrapIndex);
+        }
+
+        @Override
+        protected RNode createFallback() {
+            return new PromisedNode(factory);
+        }
+
+        @Override
+        public void onFailure(RPromise promise) {
+            rewriteToFallback();
+        }
+    }
+
     /**
      * This class is meant for supplied arguments (which have to be evaluated in the caller frame)
      * which are supposed to be evaluated inline: This means we can simply evaluate it here, and not
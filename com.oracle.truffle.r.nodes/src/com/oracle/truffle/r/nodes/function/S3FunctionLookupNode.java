@@ -21,18 +21,24 @@
 package com.oracle.truffle.r.nodes.function;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.nodes.NodeCost;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -41,6 +47,7 @@ import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.r.nodes.access.variables.LocalReadVariableNode;
 import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
 import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.FastROptions;
 import com.oracle.truffle.r.runtime.RArguments.S3Args;
 import com.oracle.truffle.r.runtime.RDispatch;
 import com.oracle.truffle.r.runtime.RError;
@@ -56,6 +63,7 @@ import com.oracle.truffle.r.runtime.data.RPromise;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor.LookupResult;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 
 public abstract class S3FunctionLookupNode extends RBaseNode {
@@ -454,24 +462,51 @@ public abstract class S3FunctionLookupNode extends RBaseNode {
 
         @TruffleBoundary
         private Result executeInternal(String genericName, RStringVector type, String group, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
+            GlobalCache cache = GlobalCache.get();
+            GlobalCache.Key key = null;
+            if (cache != null) {
+                key = new GlobalCache.Key(genericName, group, type, nextMethod, defaultMethod, callerFrame, genericDefFrame);
+                GlobalCache.Entry entry = cache.get(key);
+                if (entry != null) {
+                    return handleResult(genericName, type, entry.result);
+                }
+            }
+            GlobalCache.Recorder recorder = cache == null ? null : new GlobalCache.Recorder();
+
             LookupOperation op = (lookupFrame, name, inMethodsTable) -> {
-                return ReadVariableNode.lookupFunction(name, lookupFrame, inMethodsTable, true);
+                RFunction value = ReadVariableNode.lookupFunction(name, lookupFrame, inMethodsTable, true);
+                if (recorder != null) {
+                    recorder.record(lookupFrame, name, inMethodsTable, value);
+                }
+                return value;
             };
 
             GetMethodsTable getTable = () -> {
                 FrameSlot slot = genericDefFrame == null ? null : genericDefFrame.getFrameDescriptor().findFrameSlot(RRuntime.RS3MethodsTable);
+                Object value;
                 if (slot == null) {
-                    return null;
+                    value = null;
+                } else {
+                    try {
+                        value = FrameSlotChangeMonitor.getObject(slot, genericDefFrame);
+                    } catch (FrameSlotTypeException e) {
+                        throw RInternalError.shouldNotReachHere();
+                    }
                 }
-                try {
-                    return FrameSlotChangeMonitor.getObject(slot, genericDefFrame);
-                } catch (FrameSlotTypeException e) {
-                    throw RInternalError.shouldNotReachHere();
+                if (recorder != null && genericDefFrame != null) {
+                    recorder.record(genericDefFrame, RRuntime.RS3MethodsTable, true, value);
                 }
+                return value;
             };
 
             Result result = performLookup(callerFrame, genericName, group, type, nextMethod, defaultMethod, op, getTable);
+            if (recorder != null) {
+                recorder.finish(cache, key, result);
+            }
+            return handleResult(genericName, type, result);
+        }
 
+        private Result handleResult(String genericName, RStringVector type, Result result) {
             if (result == null) {
                 if (throwsError) {
                     RFunction function = RContext.getInstance().lookupBuiltin(genericName);
@@ -486,4 +521,187 @@ public abstract class S3FunctionLookupNode extends RBaseNode {
             return result;
         }
     }
+
+    /**
+     * Context-wide cache for the lookups of {@link UseMethodFunctionLookupGenericNode}, i.e., of
+     * call sites that have seen too many different receivers to cache them locally. An entry is
+     * keyed by the generic, the class vector and the frame descriptors of the caller and the
+     * generic's defining environment.
+     *
+     * Every read the lookup performed is also resolved with
+     * {@link FrameSlotChangeMonitor#lookup(Frame, Object)}, and the entry stays valid only as long
+     * as all these {@link LookupResult}s are valid and still deliver the values the lookup saw.
+     * Creating a binding in any frame on the way, e.g., defining a new method in the global
+     * environment or registering one in an {@code .__S3MethodsTable__.}, thus invalidates the
+     * entry. Lookups that the monitor cannot answer, e.g., because they hit a local variable of a
+     * function frame, are not cached.
+     */
+    private static final class GlobalCache {
+
+        /**
+         * Marks reads in the methods table (or of the methods table itself) that failed because
+         * there is no slot of that name; only the existence of the slot needs to be checked.
+         */
+        private static final Object NO_LOCAL_SLOT = new Object();
+
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > FastROptions.S3MethodCacheSize.getNonNegativeIntValue();
+            }
+        };
+
+        static GlobalCache get() {
+            if (FastROptions.S3MethodCacheSize.getNonNegativeIntValue() == 0) {
+                return null;
+            }
+            RContext context = RContext.getInstance();
+            if (context.s3MethodCache == null) {
+                context.s3MethodCache = new GlobalCache();
+            }
+            return (GlobalCache) context.s3MethodCache;
+        }
+
+        synchronized Entry get(Key key) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.isValid()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(Key key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        private static Object unwrap(Object value) {
+            if (value instanceof RPromise && ((RPromise) value).isEvaluated()) {
+                return ((RPromise) value).getValue();
+            }
+            return value;
+        }
+
+        static final class Key {
+            private final String generic;
+            private final String group;
+            private final String[] classes;
+            private final boolean nextMethod;
+            private final boolean defaultMethod;
+            private final FrameDescriptor callerDescriptor;
+            private final FrameDescriptor genericDefDescriptor;
+            private final int hash;
+
+            Key(String generic, String group, RStringVector type, boolean nextMethod, boolean defaultMethod, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
+                this.generic = generic;
+                this.group = group;
+                this.classes = new String[type.getLength()];
+                for (int i = 0; i < classes.length; i++) {
+                    classes[i] = type.getDataAt(i);
+                }
+                this.nextMethod = nextMethod;
+                this.defaultMethod = defaultMethod;
+                this.callerDescriptor = callerFrame.getFrameDescriptor();
+                this.genericDefDescriptor = genericDefFrame == null ? null : genericDefFrame.getFrameDescriptor();
+                this.hash = Objects.hash(generic, group, Arrays.hashCode(classes), nextMethod, defaultMethod, System.identityHashCode(callerDescriptor), System.identityHashCode(genericDefDescriptor));
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (!(obj instanceof Key)) {
+                    return false;
+                }
+                Key other = (Key) obj;
+                return hash == other.hash && callerDescriptor == other.callerDescriptor && genericDefDescriptor == other.genericDefDescriptor && nextMethod == other.nextMethod &&
+                                defaultMethod == other.defaultMethod && generic.equals(other.generic) && Objects.equals(group, other.group) && Arrays.equals(classes, other.classes);
+            }
+        }
+
+        static final class Entry {
+            private final Result result;
+            private final LookupResult[] lookups;
+            private final Object[] values;
+
+            Entry(Result result, LookupResult[] lookups, Object[] values) {
+                this.result = result;
+                this.lookups = lookups;
+                this.values = values;
+            }
+
+            boolean isValid() {
+                for (int i = 0; i < lookups.length; i++) {
+                    if (!lookups[i].isValid()) {
+                        return false;
+                    }
+                    if (values[i] != NO_LOCAL_SLOT) {
+                        try {
+                            if (unwrap(lookups[i].getValue()) != values[i]) {
+                                return false;
+                            }
+                        } catch (InvalidAssumptionException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+
+        /**
+         * Collects the reads of one lookup, together with the corresponding
+         * {@link FrameSlotChangeMonitor} lookups.
+         */
+        static final class Recorder {
+            private final ArrayList<LookupResult> lookups = new ArrayList<>();
+            private final ArrayList<Object> values = new ArrayList<>();
+            private final ArrayList<Object> expected = new ArrayList<>();
+            private boolean cacheable = true;
+
+            void record(MaterializedFrame frame, String name, boolean local, Object value) {
+                if (!cacheable) {
+                    return;
+                }
+                LookupResult lookup = FrameSlotChangeMonitor.lookup(frame, name);
+                if (lookup == null) {
+                    cacheable = false;
+                    return;
+                }
+                lookups.add(lookup);
+                if (local && frame.getFrameDescriptor().findFrameSlot(name) == null) {
+                    values.add(NO_LOCAL_SLOT);
+                    expected.add(NO_LOCAL_SLOT);
+                } else {
+                    try {
+                        // promises are compared after the lookup forced them
+                        values.add(value);
+                        expected.add(lookup.getValue());
+                    } catch (InvalidAssumptionException e) {
+                        cacheable = false;
+                    }
+                }
+            }
+
+            void finish(GlobalCache cache, Key key, Result result) {
+                if (!cacheable) {
+                    return;
+                }
+                Object[] unwrapped = new Object[values.size()];
+                for (int i = 0; i < unwrapped.length; i++) {
+                    unwrapped[i] = unwrap(values.get(i));
+                    if (unwrapped[i] != unwrap(expected.get(i))) {
+                        // the monitor's view does not match, e.g., due to shadowing non-functions
+                        return;
+                    }
+                }
+                cache.put(key, new Entry(result, lookups.toArray(new LookupResult[0]), unwrapped));
+            }
+        }
+    }
 }
@@ -22,13 +22,26 @@
  */
 package com.oracle.truffle.r.nodes.function.opt;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 import com.oracle.truffle.r.nodes.access.AccessArgumentNode;
 import com.oracle.truffle.r.nodes.access.ConstantNode;
 import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
 import com.oracle.truffle.r.nodes.function.PromiseNode;
 import com.oracle.truffle.r.nodes.function.RCallNode.GetTempNode;
 import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.runtime.builtins.RBuiltinDescriptor;
+import com.oracle.truffle.r.runtime.builtins.RBuiltinKind;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.RNode;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxCall;
@@ -43,6 +56,22 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
  */
 public class EagerEvalHelper {
 
+    /**
+     * Maximum number of syntax elements of an expression that is considered cheap enough to be
+     * evaluated eagerly.
+     */
+    private static final int MAX_CHEAP_EXPRESSION_SIZE = 10;
+
+    /**
+     * Primitives marked as pure that are nevertheless not evaluated eagerly: control flow (which
+     * may assign loop variables), functions that can produce objects with a class, on which
+     * further calls would dispatch to arbitrary R code, and functions that produce environments,
+     * on which {@code [[} or {@code $} would force promises or run active bindings. Replacement
+     * functions (names ending in {@code <-}) are rejected separately.
+     */
+    private static final Set<String> NOT_EAGER_BUILTINS = new HashSet<>(Arrays.asList("for", "while", "repeat", "if", "{", "(", "attr", "attributes", "lazyLoadDBfetch", ".Primitive",
+                    "globalenv", "baseenv", "emptyenv", "environment", "environmentName", "parent.frame", "sys.function", "as.environment", "pos.to.env"));
+
     /**
      * @return Whether to use optimizations for constants
      */
@@ -116,8 +145,107 @@ public class EagerEvalHelper {
         return optDefault() && isVariableArgument(expr);
     }
 
-    public static boolean isOptimizableExpression(RNode expr) {
-        return optExprs() && isCheapExpressionArgument(expr);
+    /**
+     * Returns the result of the purity analysis of {@code expr} if it is an expression that can be
+     * evaluated eagerly, i.e., a small call tree of pure primitives whose leaves are plain atomic
+     * constants or variables (which are checked to be local and plain atomic values before each
+     * evaluation), or {@code null} otherwise. Single constants and variables are handled by
+     * {@link #getOptimizableConstant(RNode)} and {@link #isOptimizableVariable(RNode)}.
+     */
+    public static PureExpression getOptimizableExpression(RNode expr) {
+        if (!optExprs()) {
+            return null;
+        }
+        RSyntaxNode syntax = expr.asRSyntaxNode();
+        if (!(syntax instanceof RSyntaxCall)) {
+            return null;
+        }
+        LinkedHashSet<String> variables = new LinkedHashSet<>();
+        LinkedHashMap<String, RFunction> functions = new LinkedHashMap<>();
+        if (!isPureExpression(syntax, variables, functions, new int[1])) {
+            return null;
+        }
+        return new PureExpression(variables.toArray(new String[variables.size()]), functions.keySet().toArray(new String[functions.size()]),
+                        functions.values().toArray(new RFunction[functions.size()]));
+    }
+
+    /**
+     * The free variables and the called functions of an expression classified as pure by
+     * {@link EagerEvalHelper#getOptimizableExpression(RNode)}. Whether the expression is actually
+     * side effect free also depends on the values of the variables and on the function names
+     * resolving to the expected builtins, which has to be checked before each eager evaluation.
+     */
+    public static final class PureExpression {
+        public final String[] variables;
+        public final String[] functionNames;
+        public final RFunction[] functions;
+
+        private PureExpression(String[] variables, String[] functionNames, RFunction[] functions) {
+            this.variables = variables;
+            this.functionNames = functionNames;
+            this.functions = functions;
+        }
+    }
+
+    private static boolean isPureExpression(RSyntaxElement element, Set<String> variables, Map<String, RFunction> functions, int[] size) {
+        if (++size[0] > MAX_CHEAP_EXPRESSION_SIZE) {
+            return false;
+        }
+        if (element instanceof RSyntaxConstant) {
+            return isPlainConstant(((RSyntaxConstant) element).getValue());
+        } else if (element instanceof RSyntaxLookup) {
+            RSyntaxLookup lookup = (RSyntaxLookup) element;
+            String identifier = lookup.getIdentifier();
+            if (lookup.isFunctionLookup() || identifier.startsWith("..")) {
+                return false;
+            }
+            variables.add(identifier);
+            return true;
+        } else if (element instanceof RSyntaxCall) {
+            RSyntaxCall call = (RSyntaxCall) element;
+            if (!(call.getSyntaxLHS() instanceof RSyntaxLookup)) {
+                return false;
+            }
+            String name = ((RSyntaxLookup) call.getSyntaxLHS()).getIdentifier();
+            if (call.getSyntaxArguments().length == 0) {
+                // a call without arguments does not compute its result from constants or variables
+                return false;
+            }
+            if (!functions.containsKey(name)) {
+                RFunction builtin = RContext.getInstance().lookupBuiltin(name);
+                if (builtin == null || !isPureBuiltin(builtin.getRBuiltin())) {
+                    return false;
+                }
+                functions.put(name, builtin);
+            }
+            for (RSyntaxElement argument : call.getSyntaxArguments()) {
+                if (argument == null || !isPureExpression(argument, variables, functions, size)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isPlainConstant(Object value) {
+        if (value instanceof Integer || value instanceof Double || value instanceof Byte || value instanceof String || value == RNull.instance) {
+            return true;
+        }
+        return value instanceof RAbstractAtomicVector && !((RAbstractAtomicVector) value).isObject();
+    }
+
+    private static boolean isPureBuiltin(RBuiltinDescriptor builtin) {
+        String name = builtin.getName();
+        if (builtin.getKind() != RBuiltinKind.PRIMITIVE || !builtin.getBehavior().isPure() || NOT_EAGER_BUILTINS.contains(name) || name.endsWith("<-")) {
+            return false;
+        }
+        for (int i = 0; i < builtin.getSignature().getLength(); i++) {
+            if (!builtin.evaluatesArg(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -129,9 +257,4 @@ public class EagerEvalHelper {
         // complex (time and space)!
         return !(expr instanceof GetTempNode) && expr.asRSyntaxNode() instanceof RSyntaxLookup && !((RSyntaxLookup) expr.asRSyntaxNode()).isFunctionLookup();
     }
-
-    private static boolean isCheapExpressionArgument(@SuppressWarnings("unused") RNode expr) {
-        // TODO Implement cheap eagerness analysis
-        return false;
-    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.function.opt;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.r.nodes.RASTUtils;
+import com.oracle.truffle.r.nodes.access.FrameSlotNode;
+import com.oracle.truffle.r.nodes.access.variables.LocalReadVariableNode;
+import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
+import com.oracle.truffle.r.nodes.function.PromiseNode;
+import com.oracle.truffle.r.nodes.function.opt.EagerEvalHelper.PureExpression;
+import com.oracle.truffle.r.runtime.RArguments;
+import com.oracle.truffle.r.runtime.RCaller;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RErrorHandling;
+import com.oracle.truffle.r.runtime.RErrorHandling.SpeculationFailedException;
+import com.oracle.truffle.r.runtime.data.RForeignWrapper;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RPromise;
+import com.oracle.truffle.r.runtime.data.RPromise.EagerFeedback;
+import com.oracle.truffle.r.runtime.data.RPromise.RPromiseFactory;
+import com.oracle.truffle.r.runtime.data.RShareable;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.nodes.RNode;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+
+/**
+ * Evaluates an argument expression classified as pure by
+ * {@link EagerEvalHelper#getOptimizableExpression(RNode)} directly in the caller frame and wraps the
+ * result in an {@link RPromise.EagerPromise}, e.g., for arguments like {@code x[i] + 1} or
+ * {@code length(y)}.
+ *
+ * Before each eager evaluation, the node checks that all variables are local to the caller frame,
+ * bound to atomic vectors without a class (so that no S3/S4 dispatch can happen) and not to
+ * unevaluated promises or active bindings, and that all function names resolve to the expected
+ * builtins. Errors and warnings raised during the evaluation abort it (see
+ * {@link RErrorHandling#enterSpeculation()}), so they are raised again if the callee actually
+ * forces the promise. The promise stays valid as long as none of the variables is changed
+ * non-locally, callees that rely on laziness, e.g., by {@code substitute} or by capturing the frame,
+ * still see the original expression and the deoptimized frame. Any failure rewrites the node to the
+ * regular promise creation.
+ */
+public abstract class OptPureExpressionPromiseNode extends PromiseNode implements EagerFeedback {
+
+    private final BranchProfile promiseCallerProfile = BranchProfile.create();
+    private final RNode originalExpression;
+    private final int wrapIndex;
+
+    @Child private RNode expression;
+    @Child private RNode fallback;
+    @Children private final FrameSlotNode[] variableSlots;
+    @Children private final LocalReadVariableNode[] variableReads;
+    @Children private final ReadVariableNode[] functionReads;
+    @CompilationFinal(dimensions = 1) private final RFunction[] functions;
+    @CompilationFinal private Assumption containsNoActiveBinding;
+
+    protected OptPureExpressionPromiseNode(RPromiseFactory factory, RNode expression, PureExpression pure, int wrapIndex) {
+        super(factory);
+        this.originalExpression = expression;
+        this.expression = RASTUtils.cloneNode(expression);
+        this.wrapIndex = wrapIndex;
+        this.variableSlots = new FrameSlotNode[pure.variables.length];
+        this.variableReads = new LocalReadVariableNode[pure.variables.length];
+        for (int i = 0; i < pure.variables.length; i++) {
+            variableSlots[i] = FrameSlotNode.create(pure.variables[i], false);
+            variableReads[i] = LocalReadVariableNode.create(pure.variables[i], false);
+        }
+        this.functionReads = new ReadVariableNode[pure.functionNames.length];
+        for (int i = 0; i < pure.functionNames.length; i++) {
+            functionReads[i] = ReadVariableNode.createForcedFunctionLookup(pure.functionNames[i]);
+        }
+        this.functions = pure.functions;
+    }
+
+    @Override
+    public RSyntaxNode getPromiseExpr() {
+        return originalExpression.asRSyntaxNode();
+    }
+
+    @Override
+    public RSyntaxNode getRSyntaxNode() {
+        return originalExpression.asRSyntaxNode();
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        if (containsNoActiveBinding == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            containsNoActiveBinding = FrameSlotChangeMonitor.getContainsNoActiveBindingAssumption(frame.getFrameDescriptor());
+        }
+        Assumption[] assumptions = checkVariables(frame);
+        if (assumptions == null || !containsNoActiveBinding.isValid() || !checkFunctions(frame)) {
+            return rewriteToAndExecuteFallback(frame);
+        }
+
+        Object result = null;
+        boolean failed = false;
+        RErrorHandling.enterSpeculation();
+        try {
+            result = expression.execute(frame);
+        } catch (SpeculationFailedException | RError e) {
+            failed = true;
+        } finally {
+            RErrorHandling.exitSpeculation();
+        }
+        if (failed) {
+            return rewriteToAndExecuteFallback(frame);
+        }
+        if (result instanceof RShareable && ((RShareable) result).isTemporary()) {
+            // the value is now owned by the promise
+            ((RShareable) result).incRefCount();
+        }
+
+        RCaller call = RArguments.getCall(frame);
+        while (call.isPromise()) {
+            promiseCallerProfile.enter();
+            call = call.getParent();
+        }
+        MaterializedFrame execFrame = null;
+        if (CompilerDirectives.inInterpreter()) {
+            execFrame = frame.materialize();
+        }
+        return factory.createEagerExpressionPromise(result, assumptions, call, this, wrapIndex, execFrame);
+    }
+
+    /**
+     * Returns the "not changed non-locally" assumptions of all variables, or {@code null} if one
+     * of them is not suitable for eager evaluation.
+     */
+    @ExplodeLoop
+    private Assumption[] checkVariables(VirtualFrame frame) {
+        Assumption[] assumptions = new Assumption[variableSlots.length];
+        for (int i = 0; i < variableSlots.length; i++) {
+            if (!variableSlots[i].hasValue(frame)) {
+                return null;
+            }
+            FrameSlot slot = variableSlots[i].executeFrameSlot(frame);
+            Assumption assumption = FrameSlotChangeMonitor.getNotChangedNonLocallyAssumption(slot);
+            if (!assumption.isValid()) {
+                return null;
+            }
+            Object value = variableReads[i].execute(frame);
+            if (value instanceof RPromise) {
+                if (!((RPromise) value).isEvaluated()) {
+                    return null;
+                }
+                value = ((RPromise) value).getValue();
+            }
+            if (!isPlainValue(value)) {
+                return null;
+            }
+            assumptions[i] = assumption;
+        }
+        return assumptions;
+    }
+
+    @ExplodeLoop
+    private boolean checkFunctions(VirtualFrame frame) {
+        for (int i = 0; i < functionReads.length; i++) {
+            if (functionReads[i].execute(frame) != functions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlainValue(Object value) {
+        if (value instanceof Integer || value instanceof Double || value instanceof Byte || value instanceof String) {
+            return true;
+        }
+        return value instanceof RAbstractAtomicVector && !(value instanceof RForeignWrapper) && !((RAbstractAtomicVector) value).isObject();
+    }
+
+    protected abstract RNode createFallback();
+
+    protected Object rewriteToAndExecuteFallback(VirtualFrame frame) {
+        return rewriteToFallback().execute(frame);
+    }
+
+    protected RNode rewriteToFallback() {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        if (fallback == null) {
+            insert(fallback = createFallback());
+        }
+        return replace(fallback);
+    }
+}
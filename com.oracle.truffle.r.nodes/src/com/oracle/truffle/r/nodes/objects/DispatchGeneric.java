@@ -20,10 +20,13 @@
  */
 package com.oracle.truffle.r.nodes.objects;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
@@ -34,6 +37,7 @@ import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
 import com.oracle.truffle.r.nodes.helpers.InheritsCheckNode;
 import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.S4DispatchTable;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.RStringVector;
@@ -48,6 +52,7 @@ public abstract class DispatchGeneric extends RBaseNode {
     private final ConditionProfile singleStringProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile isDeferredProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile equalsMethodRequired = BranchProfile.create();
+    private final BranchProfile slowPathProfile = BranchProfile.create();
     @Child private LoadMethod loadMethod = LoadMethodNodeGen.create();
     @Child private ExecuteMethod executeMethod = new ExecuteMethod();
     @Child private InheritsCheckNode inheritsInternalDispatchCheckNode;
@@ -83,9 +88,7 @@ public abstract class DispatchGeneric extends RBaseNode {
             // and installed in the methods table so that the slow path does not have to be executed
             // again
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            REnvironment methodsEnv = REnvironment.getRegisteredNamespace("methods");
-            RFunction currentFunction = ReadVariableNode.lookupFunction(".InheritForDispatch", methodsEnv.getFrame(), true, true);
-            method = (RFunction) RContext.getEngine().evalFunction(currentFunction, frame.materialize(), RCaller.create(frame, RASTUtils.getOriginalCall(this)), true, null, classes, fdef, mtable);
+            method = inheritForDispatch(frame, mtable, classes, fdef);
         }
         if (isDeferredProfile.profile(method.isBuiltin() || getInheritsInternalDispatchCheckNode().execute(method))) {
             return RRuntime.DEFERRED_DEFAULT_MARKER;
@@ -107,11 +110,34 @@ public abstract class DispatchGeneric extends RBaseNode {
 
     @Specialization(replaces = "dispatchCached")
     protected Object dispatch(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, String fname) {
-        String dispatchString = createDispatchString(classes);
-        RFunction method = (RFunction) mtable.get(dispatchString);
+        S4DispatchTable table = RContext.getInstance().getS4DispatchTable(mtable);
+        RFunction method = table.get(mtable.getFrame(), classes);
+        if (method == null) {
+            slowPathProfile.enter();
+            method = lookupAndRecord(frame.materialize(), table, mtable, classes, fdef);
+        }
         return dispatchInternal(frame, mtable, classes, fdef, fname, method);
     }
 
+    @TruffleBoundary
+    private RFunction lookupAndRecord(MaterializedFrame frame, S4DispatchTable table, REnvironment mtable, RStringVector classes, RFunction fdef) {
+        String dispatchString = createMultiDispatchString(classes);
+        RFunction method = (RFunction) mtable.get(dispatchString);
+        Assumption classHierarchy = null;
+        if (method == null) {
+            classHierarchy = RContext.getInstance().getS4ClassHierarchyAssumption();
+            method = inheritForDispatch(frame, mtable, classes, fdef);
+        }
+        table.put(mtable.getFrame(), classes, dispatchString, method, classHierarchy);
+        return method;
+    }
+
+    private RFunction inheritForDispatch(Frame frame, REnvironment mtable, RStringVector classes, RFunction fdef) {
+        REnvironment methodsEnv = REnvironment.getRegisteredNamespace("methods");
+        RFunction currentFunction = ReadVariableNode.lookupFunction(".InheritForDispatch", methodsEnv.getFrame(), true, true);
+        return (RFunction) RContext.getEngine().evalFunction(currentFunction, frame.materialize(), RCaller.create(frame, RASTUtils.getOriginalCall(this)), true, null, classes, fdef, mtable);
+    }
+
     protected boolean equalClasses(RStringVector classes, RStringVector cachedClasses) {
         if (cachedClasses.getLength() == classes.getLength()) {
             for (int i = 0; i < cachedClasses.getLength(); i++) {
@@ -119,9 +145,7 @@ public abstract class DispatchGeneric extends RBaseNode {
                 // anwyay
                 if (cachedClasses.getDataAt(i) != classes.getDataAt(i)) {
                     equalsMethodRequired.enter();
-                    if (cachedClasses.getDataAt(i).equals(classes.getDataAt(i))) {
-                        return true;
-                    } else {
+                    if (!cachedClasses.getDataAt(i).equals(classes.getDataAt(i))) {
                         return false;
                     }
                 }
@@ -35,6 +35,7 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RTypes;
 import com.oracle.truffle.r.runtime.data.model.RAbstractComplexVector;
@@ -48,6 +49,7 @@ import com.oracle.truffle.r.runtime.interop.ForeignArray2R;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmeticFactory;
+import com.oracle.truffle.r.runtime.ops.ParallelReduction;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 /**
@@ -77,6 +79,12 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNode {
     private final ConditionProfile naRmProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile emptyProfile = BranchProfile.create();
     private final BranchProfile naResultProfile = BranchProfile.create();
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
+
+    /**
+     * The operation used for large double vectors, {@code null} if it cannot be done in parallel.
+     */
+    private final ParallelReduction.Op parallelOp;
 
     protected UnaryArithmeticReduceNode(ReduceSemantics semantics, BinaryArithmeticFactory factory) {
         this.factory = factory;
@@ -84,6 +92,7 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNode {
         this.arithmetic = factory.createOperation();
         this.supportString = semantics.supportString;
         this.supportComplex = semantics.supportComplex;
+        this.parallelOp = ParallelReduction.Op.forFactory(factory);
     }
 
     private void emptyWarning() {
@@ -271,6 +280,14 @@ public abstract class UnaryArithmeticReduceNode extends RBaseNode {
     }
 
     private double doDouble(RAbstractDoubleVector vector, boolean naRm, boolean finite, ConditionProfile finiteProfile, ConditionProfile isInfiniteProfile, VectorAccess access) {
+        if (parallelOp != null && parallelProfile.profile(vector instanceof RDoubleVector && ParallelReduction.isParallel((RDoubleVector) vector))) {
+            Double result = ParallelReduction.reduce(((RDoubleVector) vector).getReadonlyData(), parallelOp, naRm, finite);
+            if (result == null) {
+                emptyWarning();
+                return semantics.getDoubleStart();
+            }
+            return result;
+        }
         boolean profiledNaRm = naRmProfile.profile(naRm);
         boolean profiledFinite = finiteProfile.profile(finite);
         double result = semantics.getDoubleStart();
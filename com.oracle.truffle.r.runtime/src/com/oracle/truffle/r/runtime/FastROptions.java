@@ -49,11 +49,16 @@ public enum FastROptions {
     LoadProfiles("Load the system, site and user profile scripts.", !FastRConfig.ManagedMode),
     PrintComplexLookups("Print a message for each non-trivial variable lookup", false),
     FullPrecisionSum("Use 128 bit arithmetic in sum builtin", false),
+    PCREThreads("Number of native threads that match large character vectors against perl regular expressions in grep, grepl and regexpr", "1", true),
+    ParallelReductionThreshold("Minimum length of double vectors that sum, prod, min, max, range, mean, colSums and rowSums process in parallel chunks (0 disables)", "1000000", true),
     InvisibleArgs("Argument writes do not trigger state transitions", true),
     RefCountIncrementOnly("Disable reference count decrements for experimental state transition implementation", false),
     UseInternalGridGraphics("Whether the internal (Java) grid graphics implementation should be used", true),
     UseSpecials("Whether the fast-path special call nodes should be created for simple enough arguments.", true),
     ForceSources("Generate source sections for unserialized code", false),
+    LazyLoadProfileDir("Directory for profiles of the lazy-load database entries used by packages, which are decompressed in the background when a package is loaded again", null, true),
+    LazyUnserializedClosures("Build the AST of unserialized closures only when they are first called, deparsed, etc.", true),
+    CacheSystemSources("Reuse the parse results of the base package and builtin overrides across contexts", true),
     SharedContexts("Whether all child contexts are to be shared contexts", true),
     SearchPathForcePromises("Whether all promises for frames on shared path are forced in presence of shared contexts", false),
     LoadPackagesNativeCode("Load native code of packages, including builtin packages.", !FastRConfig.ManagedMode),
@@ -61,6 +66,8 @@ public enum FastROptions {
     EmitTmpDir("The directory where to allocate temporary files with deparsed source code.", null, true),
     EmitTmpHashed("Use an SHA-256 hash as file name to reduce temporary file creation.", true),
     SynchronizeNativeCode("allow only one thread to enter packages' native code", false),
+    SynchronizeNativeCodePerLibrary("With SynchronizeNativeCode, use a separate lock for each native library instead of a global lock", false),
+    ThreadSafeNativeLibraries("With SynchronizeNativeCode, comma separated names of native libraries that are entered without locking", "", true),
     ForeignObjectWrappers("use wrappers for foreign objects (as opposed to full conversion)", false),
 
     // Promises optimizations
@@ -68,8 +75,10 @@ public enum FastROptions {
     EagerEvalConstants("Unconditionally evaluates constants before creating Promises", true),
     EagerEvalVariables("Enables optimistic eager evaluation of single variables reads", true),
     EagerEvalDefault("Enables optimistic eager evaluation of single variables reads (for default parameters)", false),
-    EagerEvalExpressions("Enables optimistic eager evaluation of trivial expressions", false),
+    EagerEvalExpressions("Enables optimistic eager evaluation of side effect free expressions of local variables", true),
     PromiseCacheSize("Enables inline caches for promises evaluation", "3", true),
+    ParseCacheSize("Number of parse results without source references that are cached per context (0 disables)", "64", true),
+    S3MethodCacheSize("Number of S3 method lookups of megamorphic call sites that are cached per context (0 disables)", "256", true),
 
     // Miscellaneous
 
@@ -22,19 +22,76 @@
  */
 package com.oracle.truffle.r.runtime;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.model.RAbstractIntVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractStringVector;
 
+/**
+ * Caches the contents of the lazy-load databases ({@code .rdb} files) read by
+ * {@code lazyLoadDBfetch}.
+ *
+ * If {@link FastROptions#LazyLoadProfileDir} is set, the names of the entries fetched from each
+ * database are also recorded and written to a profile in that directory when the context is
+ * disposed. When the database is registered again by {@code makeLazy} in a later run, the entries
+ * listed in its profile are decompressed in the background by a small pool of threads, and
+ * {@code lazyLoadDBfetch} picks up the ready data instead of decompressing it on first access. The
+ * entries are not unserialized in the background, since unserializing needs the context, e.g., to
+ * create environments and to call the environment hook.
+ */
 public class LazyDBCache {
 
+    private static ExecutorService prefetchPool;
+
+    private static synchronized ExecutorService getPrefetchPool() {
+        if (prefetchPool == null) {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            prefetchPool = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "FastR-lazy-load-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return prefetchPool;
+    }
+
     public static final class ContextStateImpl implements RContext.ContextState {
         private final Map<String, byte[]> dbCache = new HashMap<>();
 
+        /**
+         * The entries being decompressed in the background, by database path and offset.
+         */
+        private final Map<String, Map<Integer, FutureTask<byte[]>>> prefetched = new HashMap<>();
+
+        /**
+         * Only used with a profile directory: the names of the entries by database path and
+         * offset and the offsets of the entries fetched so far.
+         */
+        private final Map<String, Map<Integer, String>> entryNames = new HashMap<>();
+        private final Map<String, Set<Integer>> fetched = new HashMap<>();
+
         public byte[] getData(String dbPath) {
             byte[] dbData = dbCache.get(dbPath);
             if (dbData == null) {
@@ -52,10 +109,164 @@ public class LazyDBCache {
         public void remove(String dbPath) {
             // no an error if missing
             dbCache.remove(dbPath);
+            cancelPrefetch(prefetched.remove(dbPath));
+            entryNames.remove(dbPath);
+        }
+
+        /**
+         * Called by {@code makeLazy} with the entries of the database {@code dbPath}, i.e., the
+         * names of the variables and their keys (offset and length). Starts decompressing the
+         * entries listed in the profile of the database, if there is one.
+         */
+        public void registerEntries(String dbPath, int compression, RAbstractStringVector names, RList keys) {
+            String profileDir = FastROptions.LazyLoadProfileDir.getStringValue();
+            if (profileDir == null || profileDir.isEmpty() || compression == RRuntime.INT_NA) {
+                return;
+            }
+            Map<Integer, String> namesByOffset = entryNames.computeIfAbsent(dbPath, k -> new HashMap<>());
+            Map<String, RAbstractIntVector> keysByName = new HashMap<>();
+            for (int i = 0; i < names.getLength(); i++) {
+                if (keys.getDataAt(i) instanceof RAbstractIntVector) {
+                    RAbstractIntVector key = (RAbstractIntVector) keys.getDataAt(i);
+                    namesByOffset.put(key.getDataAt(0), names.getDataAt(i));
+                    keysByName.put(names.getDataAt(i), key);
+                }
+            }
+            List<String> hot = readProfile(profileDir, dbPath);
+            if (hot.isEmpty()) {
+                return;
+            }
+            byte[] dbData = getData(dbPath);
+            Map<Integer, FutureTask<byte[]>> tasks = prefetched.computeIfAbsent(dbPath, k -> new HashMap<>());
+            ExecutorService pool = getPrefetchPool();
+            for (String name : hot) {
+                RAbstractIntVector key = keysByName.get(name);
+                if (key != null && !tasks.containsKey(key.getDataAt(0))) {
+                    int offset = key.getDataAt(0);
+                    int length = key.getDataAt(1);
+                    FutureTask<byte[]> task = new FutureTask<>(() -> uncompressEntry(dbData, offset, length, compression));
+                    tasks.put(offset, task);
+                    pool.execute(task);
+                }
+            }
+        }
+
+        /**
+         * Returns the uncompressed data of the entry at {@code offset} if it was prefetched, or
+         * {@code null} if it has to be uncompressed by the caller. If the prefetch task has not
+         * started yet, it is run on the calling thread.
+         */
+        public byte[] takePrefetched(String dbPath, int offset) {
+            Set<Integer> fetchedOffsets = entryNames.containsKey(dbPath) ? fetched.computeIfAbsent(dbPath, k -> new HashSet<>()) : null;
+            if (fetchedOffsets != null) {
+                fetchedOffsets.add(offset);
+            }
+            Map<Integer, FutureTask<byte[]>> tasks = prefetched.get(dbPath);
+            FutureTask<byte[]> task = tasks == null ? null : tasks.remove(offset);
+            if (task == null) {
+                return null;
+            }
+            task.run();
+            try {
+                return task.get();
+            } catch (InterruptedException | ExecutionException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void beforeDispose(RContext context) {
+            for (Map<Integer, FutureTask<byte[]>> tasks : prefetched.values()) {
+                cancelPrefetch(tasks);
+            }
+            prefetched.clear();
+            String profileDir = FastROptions.LazyLoadProfileDir.getStringValue();
+            if (profileDir != null && !profileDir.isEmpty()) {
+                for (Map.Entry<String, Set<Integer>> entry : fetched.entrySet()) {
+                    Map<Integer, String> namesByOffset = entryNames.get(entry.getKey());
+                    if (namesByOffset != null) {
+                        ArrayList<String> hot = new ArrayList<>();
+                        for (int offset : entry.getValue()) {
+                            String name = namesByOffset.get(offset);
+                            if (name != null) {
+                                hot.add(name);
+                            }
+                        }
+                        writeProfile(profileDir, entry.getKey(), hot);
+                    }
+                }
+            }
+        }
+
+        private static void cancelPrefetch(Map<Integer, FutureTask<byte[]>> tasks) {
+            if (tasks != null) {
+                for (FutureTask<byte[]> task : tasks.values()) {
+                    task.cancel(false);
+                }
+            }
         }
 
         public static ContextStateImpl newContextState() {
             return new ContextStateImpl();
         }
     }
+
+    /**
+     * Uncompresses an entry like {@code lazyLoadDBfetch}, but without the context, see
+     * {@link RCompression#uncompressDetached}. Returns {@code null} on any failure, in which case
+     * {@code lazyLoadDBfetch} uncompresses the entry itself and reports the error.
+     */
+    private static byte[] uncompressEntry(byte[] dbData, int offset, int length, int compression) {
+        if (compression == 0) {
+            return Arrays.copyOfRange(dbData, offset, offset + length);
+        }
+        int outlen = ByteBuffer.wrap(dbData, offset, 4).getInt();
+        RCompression.Type type;
+        int start;
+        if (compression == 2 || compression == 3) {
+            type = RCompression.Type.fromTypeChar(dbData[offset + 4]);
+            start = offset + 5;
+            if (type == null) {
+                return null;
+            }
+        } else {
+            type = RCompression.Type.GZIP;
+            start = offset + 4;
+        }
+        byte[] udata = new byte[outlen];
+        return RCompression.uncompressDetached(type, udata, Arrays.copyOfRange(dbData, start, offset + length)) ? udata : null;
+    }
+
+    private static Path getProfilePath(String profileDir, String dbPath) {
+        String name = new File(dbPath).getName();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String hash = Utils.toHexString(digest.digest(dbPath.getBytes(StandardCharsets.UTF_8)));
+            return Paths.get(profileDir, name + "-" + hash.substring(0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+
+    private static List<String> readProfile(String profileDir, String dbPath) {
+        Path path = getProfilePath(profileDir, dbPath);
+        if (Files.isReadable(path)) {
+            try {
+                return Files.readAllLines(path, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                // the profile is only a hint
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    private static void writeProfile(String profileDir, String dbPath, List<String> names) {
+        try {
+            Path path = getProfilePath(profileDir, dbPath);
+            Files.createDirectories(path.getParent());
+            Files.write(path, names, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // the profile is only a hint
+        }
+    }
 }
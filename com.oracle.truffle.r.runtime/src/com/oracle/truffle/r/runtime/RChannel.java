@@ -22,9 +22,15 @@
  */
 package com.oracle.truffle.r.runtime;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
@@ -58,115 +64,110 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
  */
 public class RChannel {
 
-    // TODO: cheaper way of serializing data (re-usable buffer?)
+    public static final int DEFAULT_CAPACITY = 1;
 
-    private static final int INITIAL_CHANNEL_NUM = 4;
-    private static final int CHANNEL_NUM_GROW_FACTOR = 2;
-    private static final int QUEUE_CAPACITY = 1;
-
-    private static int[] keys = new int[INITIAL_CHANNEL_NUM];
-    private static RChannel[] channels = new RChannel[INITIAL_CHANNEL_NUM];
-
-    private static final int CLOSED_CHANNEL_KEY = -1;
+    /**
+     * Pooled serialization buffers that grew beyond this size are dropped, so that a single large
+     * message does not pin the memory for the lifetime of the thread.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
 
     /*
-     * Used to mediate access to the semaphore instances
+     * Ids start from one as we need ids that have distinguishable positive and negative value. The
+     * maps are only locked while a channel is created or closed, looking up a channel by its id is
+     * lock-free.
      */
-    private static final Semaphore create = new Semaphore(1, true);
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+    private static final ConcurrentHashMap<Integer, RChannel> channels = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, RChannel> channelsByKey = new ConcurrentHashMap<>();
+    private static final Set<Integer> closedIds = ConcurrentHashMap.newKeySet();
 
-    private final ArrayBlockingQueue<Object> masterToClient = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
-    private final ArrayBlockingQueue<Object> clientToMaster = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    /*
+     * Used to wake up threads blocked in select() when a message is sent. Senders only take the
+     * lock if there is at least one such thread.
+     */
+    private static final ReentrantLock selectLock = new ReentrantLock();
+    private static final Condition messageSent = selectLock.newCondition();
+    private static final AtomicInteger selectors = new AtomicInteger();
+    private static volatile long sendCount;
+
+    private static final ThreadLocal<ByteArrayOutputStream> serializationBuffer = ThreadLocal.withInitial(ByteArrayOutputStream::new);
+
+    private final int id;
+    private final int key;
+    private final ArrayBlockingQueue<Object> masterToClient;
+    private final ArrayBlockingQueue<Object> clientToMaster;
+
+    private RChannel(int id, int key, int capacity) {
+        this.id = id;
+        this.key = key;
+        this.masterToClient = new ArrayBlockingQueue<>(capacity);
+        this.clientToMaster = new ArrayBlockingQueue<>(capacity);
+    }
 
     public static int createChannel(int key) {
+        return createChannel(key, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a channel that buffers up to {@code capacity} messages in each direction before
+     * {@link #send} blocks.
+     */
+    public static int createChannel(int key, int capacity) {
         if (key <= 0) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel's key must be positive");
         }
-        try {
-            create.acquire();
-            while (true) {
-                int freeSlot = -1;
-                // start from one as we need slots that have distinguishable positive and negative
-                // value
-                for (int i = 1; i < keys.length; i++) {
-                    if (keys[i] == key) {
-                        throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified key already exists");
-                    }
-                    if (keys[i] == 0 && freeSlot == -1) {
-                        freeSlot = i;
-                    }
-                }
-                if (freeSlot != -1) {
-                    keys[freeSlot] = key;
-                    channels[freeSlot] = new RChannel();
-                    return freeSlot;
-                } else {
-                    int[] keysTmp = new int[keys.length * CHANNEL_NUM_GROW_FACTOR];
-                    RChannel[] channelsTmp = new RChannel[channels.length * CHANNEL_NUM_GROW_FACTOR];
-                    for (int i = 1; i < keys.length; i++) {
-                        keysTmp[i] = keys[i];
-                        channelsTmp[i] = channels[i];
-                    }
-                    keys = keysTmp;
-                    channels = channelsTmp;
-                }
-            }
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error creating a channel");
-        } finally {
-            create.release();
+        if (capacity <= 0) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel's capacity must be positive");
         }
+        RChannel channel = new RChannel(nextId.getAndIncrement(), key, capacity);
+        // make the channel reachable by its id before its key is published
+        channels.put(channel.id, channel);
+        if (channelsByKey.putIfAbsent(key, channel) != null) {
+            channels.remove(channel.id);
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified key already exists");
+        }
+        return channel.id;
     }
 
     public static int getChannel(int key) {
-        try {
-            create.acquire();
-            for (int i = 1; i < keys.length; i++) {
-                if (keys[i] == key) {
-                    return -i;
-                }
-            }
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error accessing channel");
-        } finally {
-            create.release();
+        RChannel channel = channelsByKey.get(key);
+        if (channel != null) {
+            return -channel.id;
         }
         throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel does not exist");
     }
 
     public static void closeChannel(int id) {
         int actualId = Math.abs(id);
-        try {
-            create.acquire();
-            if (actualId == 0 || actualId >= channels.length || channels[actualId] == null) {
-                // closing an already closed channel does not necessarily have to be an error (and
-                // makes parallell package's worker script work unchanged)
-                if (keys[actualId] != CLOSED_CHANNEL_KEY) {
-                    throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
-                }
+        RChannel channel = channels.get(actualId);
+        if (channel == null) {
+            // closing an already closed channel does not necessarily have to be an error (and
+            // makes parallell package's worker script work unchanged)
+            if (!closedIds.contains(actualId)) {
+                throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
             }
-            keys[actualId] = CLOSED_CHANNEL_KEY;
-            channels[actualId] = null;
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error closing channel");
-        } finally {
-            create.release();
+            return;
         }
+        closedIds.add(actualId);
+        channels.remove(actualId, channel);
+        channelsByKey.remove(channel.key, channel);
     }
 
     private static RChannel getChannelFromId(int id) {
-        int actualId = Math.abs(id);
-        try {
-            create.acquire();
-            if (actualId == 0 || actualId >= channels.length || channels[actualId] == null) {
-                throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
-            }
-            RChannel channel = channels[actualId];
-            return channel;
-        } catch (InterruptedException x) {
-            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error transmitting through channel");
-        } finally {
-            create.release();
+        RChannel channel = channels.get(Math.abs(id));
+        if (channel == null) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel with specified id does not exist");
         }
+        return channel;
+    }
+
+    private ArrayBlockingQueue<Object> getSendQueue(int channelId) {
+        return channelId > 0 ? masterToClient : clientToMaster;
+    }
+
+    private ArrayBlockingQueue<Object> getReceiveQueue(int channelId) {
+        return channelId < 0 ? masterToClient : clientToMaster;
     }
 
     public static void send(int id, Object data) {
@@ -174,16 +175,42 @@ public class RChannel {
         Object msg = out.processOutgoingMessage(data);
         RChannel channel = getChannelFromId(id);
         try {
-            (id > 0 ? channel.masterToClient : channel.clientToMaster).put(msg);
+            channel.getSendQueue(id).put(msg);
         } catch (InterruptedException x) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error sending through the channel");
         }
+        notifySelectors();
+    }
+
+    /**
+     * Sends each element of {@code data} as a separate message. All the messages are converted
+     * before the first one is sent.
+     */
+    public static void sendAll(int id, RList data) {
+        Object[] msgs = new Object[data.getLength()];
+        for (int i = 0; i < msgs.length; i++) {
+            msgs[i] = new Output().processOutgoingMessage(data.getDataAt(i));
+        }
+        RChannel channel = getChannelFromId(id);
+        ArrayBlockingQueue<Object> queue = channel.getSendQueue(id);
+        try {
+            for (Object msg : msgs) {
+                if (!queue.offer(msg)) {
+                    // the queue is full, wake up the receiver before blocking
+                    notifySelectors();
+                    queue.put(msg);
+                }
+            }
+        } catch (InterruptedException x) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error sending through the channel");
+        }
+        notifySelectors();
     }
 
     public static Object receive(int id) {
         RChannel channel = getChannelFromId(id);
         try {
-            Object msg = (id < 0 ? channel.masterToClient : channel.clientToMaster).take();
+            Object msg = channel.getReceiveQueue(id).take();
             Input in = new Input();
             return in.processedReceivedMessage(msg);
         } catch (InterruptedException x) {
@@ -191,9 +218,32 @@ public class RChannel {
         }
     }
 
+    /**
+     * Waits for at least one message and returns it together with all other messages (at most
+     * {@code max} in total) that are already available.
+     */
+    public static RList receiveAll(int id, int max) {
+        RChannel channel = getChannelFromId(id);
+        ArrayBlockingQueue<Object> queue = channel.getReceiveQueue(id);
+        ArrayList<Object> msgs = new ArrayList<>();
+        try {
+            msgs.add(queue.take());
+        } catch (InterruptedException x) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error receiving from the channel");
+        }
+        if (max > 1) {
+            queue.drainTo(msgs, max - 1);
+        }
+        Object[] data = new Object[msgs.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Input().processedReceivedMessage(msgs.get(i));
+        }
+        return RDataFactory.createList(data);
+    }
+
     public static Object poll(int id) {
         RChannel channel = getChannelFromId(id);
-        Object msg = (id < 0 ? channel.masterToClient : channel.clientToMaster).poll();
+        Object msg = channel.getReceiveQueue(id).poll();
         if (msg != null) {
             Input in = new Input();
             return in.processedReceivedMessage(msg);
@@ -201,6 +251,72 @@ public class RChannel {
         return null;
     }
 
+    /**
+     * Waits until a message arrives on one of the channels {@code ids} and returns the index into
+     * {@code ids} of that channel and the message, or {@code null} if no message arrived within
+     * {@code timeoutNanos} (a negative timeout means to wait indefinitely).
+     */
+    public static Object[] select(int[] ids, long timeoutNanos) {
+        long deadline = timeoutNanos < 0 ? Long.MAX_VALUE : System.nanoTime() + timeoutNanos;
+        selectors.incrementAndGet();
+        try {
+            while (true) {
+                long seen = sendCount;
+                for (int i = 0; i < ids.length; i++) {
+                    Object res = poll(ids[i]);
+                    if (res != null) {
+                        return new Object[]{i, res};
+                    }
+                }
+                selectLock.lock();
+                try {
+                    if (sendCount == seen) {
+                        if (timeoutNanos < 0) {
+                            messageSent.await();
+                        } else {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                return null;
+                            }
+                            messageSent.awaitNanos(remaining);
+                        }
+                    }
+                } finally {
+                    selectLock.unlock();
+                }
+            }
+        } catch (InterruptedException x) {
+            throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error receiving from the channel");
+        } finally {
+            selectors.decrementAndGet();
+        }
+    }
+
+    private static void notifySelectors() {
+        if (selectors.get() > 0) {
+            selectLock.lock();
+            try {
+                sendCount++;
+                messageSent.signalAll();
+            } finally {
+                selectLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Serializes {@code obj} into a buffer that is reused by subsequent messages sent from the
+     * same thread.
+     */
+    private static byte[] serialize(Object obj) {
+        ByteArrayOutputStream buffer = serializationBuffer.get();
+        byte[] result = RSerialize.serialize(buffer, obj, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+        if (buffer.size() > MAX_POOLED_BUFFER_SIZE) {
+            serializationBuffer.remove();
+        }
+        return result;
+    }
+
     private static class TransmitterCommon extends RSerialize.RefCounter {
 
         protected static class SerializedRef {
@@ -472,7 +588,7 @@ public class RChannel {
                 // them - should we define a new method to be used here?
                 attributable.initAttributes(null);
             }
-            byte[] serializedAttributable = RSerialize.serialize(attributable, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            byte[] serializedAttributable = serialize(attributable);
             if (attributes != null) {
                 attributable.initAttributes(attributes);
                 attributes = createShareableSlow(attributes, true);
@@ -33,7 +33,9 @@ import java.nio.file.OpenOption;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
 
 import org.tukaani.xz.LZMA2InputStream;
 
@@ -122,6 +124,43 @@ public class RCompression {
         }
     }
 
+    /**
+     * Variant of {@link #uncompress} that does not need a context and can therefore be used on any
+     * thread. {@link Type#GZIP} data (which is in the zlib format) is inflated in Java instead of
+     * the native library.
+     *
+     * @return {@code true} iff success, {@code false} also for types that are not supported here
+     */
+    public static boolean uncompressDetached(Type type, byte[] udata, byte[] cdata) {
+        switch (type) {
+            case NONE:
+                System.arraycopy(cdata, 0, udata, 0, cdata.length);
+                return true;
+            case GZIP:
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(cdata);
+                    int totalRead = 0;
+                    while (totalRead < udata.length && !inflater.finished()) {
+                        int n = inflater.inflate(udata, totalRead, udata.length - totalRead);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        totalRead += n;
+                    }
+                    return totalRead == udata.length;
+                } catch (DataFormatException ex) {
+                    return false;
+                } finally {
+                    inflater.end();
+                }
+            case XZ:
+                return lzmaUncompress(udata, cdata);
+            default:
+                return false;
+        }
+    }
+
     /**
      * Uncompress for internal use in {@code LazyLoadDBInsertValue} where size of uncompressed data
      * is known.
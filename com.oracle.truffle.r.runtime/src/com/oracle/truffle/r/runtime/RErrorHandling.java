@@ -26,6 +26,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.Frame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.nodes.ControlFlowException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.runtime.RError.Message;
@@ -97,7 +98,7 @@ public class RErrorHandling {
          */
         private Object restartStack = RNull.instance;
         /**
-         * Values is either NULL or an RPairList, for {@code conditions}.
+         * Values is either NULL or a {@link HandlerEntry}, for {@code conditions}.
          */
         private Object handlerStack = RNull.instance;
         /**
@@ -132,6 +133,10 @@ public class RErrorHandling {
          * {@code true} if in {@link #printWarnings}.
          */
         private boolean inPrintWarning;
+        /**
+         * Number of active speculative evaluations, see {@link RErrorHandling#enterSpeculation()}.
+         */
+        private int speculation;
 
         /**
          * {@code .signalSimpleWarning} in "conditions.R".
@@ -199,6 +204,35 @@ public class RErrorHandling {
         return RContext.getInstance().stateRErrorHandling;
     }
 
+    /**
+     * Thrown instead of signalling an error or a warning while code is evaluated speculatively,
+     * e.g., when a promise argument is evaluated eagerly. The condition is then signalled again
+     * when the code is evaluated for real, and handlers never observe the speculative attempt.
+     */
+    @SuppressWarnings("serial")
+    public static final class SpeculationFailedException extends ControlFlowException {
+        public static final SpeculationFailedException INSTANCE = new SpeculationFailedException();
+    }
+
+    /**
+     * Starts a speculative evaluation, which must be ended with {@link #exitSpeculation()} in a
+     * {@code finally} block. Until then, all errors and warnings are turned into a
+     * {@link SpeculationFailedException}.
+     */
+    public static void enterSpeculation() {
+        getRErrorHandlingState().speculation++;
+    }
+
+    public static void exitSpeculation() {
+        getRErrorHandlingState().speculation--;
+    }
+
+    private static void checkSpeculation() {
+        if (getRErrorHandlingState().speculation > 0) {
+            throw SpeculationFailedException.INSTANCE;
+        }
+    }
+
     public static HandlerStacks resetAndGetHandlerStacks() {
         HandlerStacks result = new HandlerStacks(getRErrorHandlingState().handlerStack, getRErrorHandlingState().restartStack);
         resetStacks();
@@ -244,48 +278,47 @@ public class RErrorHandling {
         errorHandlingState.restartStack = savedRestartStack;
     }
 
-    public static Object createHandlers(RAbstractStringVector classes, RList handlers, REnvironment parentEnv, Object target, byte calling) {
+    public static Object createHandlers(RAbstractStringVector classes, RList handlers, @SuppressWarnings("unused") REnvironment parentEnv, Object target, byte calling) {
         CompilerAsserts.neverPartOfCompilation();
         Object oldStack = getHandlerStack();
         Object newStack = oldStack;
-        RList result = RDataFactory.createList(new Object[]{RNull.instance, RNull.instance, RNull.instance});
         int n = handlers.getLength();
         for (int i = n - 1; i >= 0; i--) {
-            String klass = classes.getDataAt(i);
-            Object handler = handlers.getDataAt(i);
-            RList entry = mkHandlerEntry(klass, parentEnv, handler, target, result, calling);
-            newStack = RDataFactory.createPairList(entry, newStack);
+            newStack = new HandlerEntry(classes.getDataAt(i), handlers.getDataAt(i), target, calling != 0, newStack);
         }
         getRErrorHandlingState().handlerStack = newStack;
         return oldStack;
     }
 
-    private static final int ENTRY_CLASS = 0;
-    private static final int ENTRY_CALLING_ENVIR = 1;
-    private static final int ENTRY_HANDLER = 2;
-    private static final int ENTRY_TARGET_ENVIR = 3;
-    private static final int ENTRY_RETURN_RESULT = 4;
+    /**
+     * An entry of the condition handler stack. GnuR represents the stack as a pair list of R
+     * lists, which is never visible to R code (the stack is only saved and restored), so FastR uses
+     * a linked list of plain Java objects instead. This makes installing handlers, which happens on
+     * every {@code tryCatch} and {@code withCallingHandlers}, a single allocation per handler.
+     */
+    private static final class HandlerEntry {
+        private final String klass;
+        private final Object handler;
+        private final Object target;
+        private final boolean calling;
+        /**
+         * The rest of the stack, either {@link RNull#instance} or a {@link HandlerEntry}.
+         */
+        private final Object next;
+
+        HandlerEntry(String klass, Object handler, Object target, boolean calling, Object next) {
+            this.klass = klass;
+            this.handler = handler;
+            this.target = target;
+            this.calling = calling;
+            this.next = next;
+        }
+    }
 
     private static final int RESULT_COND = 0;
     private static final int RESULT_CALL = 1;
     private static final int RESULT_HANDLER = 2;
 
-    private static RList mkHandlerEntry(String klass, REnvironment parentEnv, Object handler, Object rho, RList result, byte calling) {
-        Object[] data = new Object[5];
-        data[ENTRY_CLASS] = klass;
-        data[ENTRY_CALLING_ENVIR] = parentEnv;
-        data[ENTRY_HANDLER] = handler;
-        data[ENTRY_TARGET_ENVIR] = rho;
-        data[ENTRY_RETURN_RESULT] = result;
-        RList entry = RDataFactory.createList(data);
-        entry.setGPBits(calling);
-        return entry;
-    }
-
-    private static boolean isCallingEntry(RList entry) {
-        return entry.getGPBits() != 0;
-    }
-
     @TruffleBoundary
     public static String geterrmessage() {
         return getRErrorHandlingState().errMsg;
@@ -362,15 +395,15 @@ public class RErrorHandling {
 
     @TruffleBoundary
     public static void signalCondition(RList cond, String msg, Object call) {
+        checkSpeculation();
         ContextStateImpl errorHandlingState = getRErrorHandlingState();
         Object oldStack = errorHandlingState.handlerStack;
         try {
-            RPairList pList;
-            while ((pList = findConditionHandler(cond)) != null) {
-                RList entry = (RList) pList.car();
-                errorHandlingState.handlerStack = pList.cdr();
-                if (isCallingEntry(entry)) {
-                    Object h = entry.getDataAt(ENTRY_HANDLER);
+            HandlerEntry entry;
+            while ((entry = findConditionHandler(cond)) != null) {
+                errorHandlingState.handlerStack = entry.next;
+                if (entry.calling) {
+                    Object h = entry.handler;
                     if (h == RESTART_TOKEN) {
                         errorcallDfltWithCall(null, fromCall(call), Message.GENERIC, msg);
                     } else {
@@ -391,21 +424,21 @@ public class RErrorHandling {
      *
      */
     static void signalError(RBaseNode callObj, Message msg, Object... args) {
+        checkSpeculation();
         Object call = findCaller(callObj);
         String fMsg = formatMessage(msg, args);
         ContextStateImpl errorHandlingState = getRErrorHandlingState();
         Object oldStack = errorHandlingState.handlerStack;
         try {
-            RPairList pList;
-            while ((pList = findSimpleErrorHandler()) != null) {
-                RList entry = (RList) pList.car();
-                errorHandlingState.handlerStack = pList.cdr();
+            HandlerEntry entry;
+            while ((entry = findSimpleErrorHandler()) != null) {
+                errorHandlingState.handlerStack = entry.next;
                 errorHandlingState.errMsg = fMsg;
-                if (isCallingEntry(entry)) {
-                    if (entry.getDataAt(ENTRY_HANDLER) == RESTART_TOKEN) {
+                if (entry.calling) {
+                    if (entry.handler == RESTART_TOKEN) {
                         return;
                     } else {
-                        RFunction handler = (RFunction) entry.getDataAt(2);
+                        RFunction handler = (RFunction) entry.handler;
                         RStringVector errorMsgVec = RDataFactory.createStringVectorFromScalar(fMsg);
                         RFunction f = errorHandlingState.getDotHandleSimpleError();
                         assert f != null;
@@ -420,44 +453,42 @@ public class RErrorHandling {
         }
     }
 
-    private static ReturnException gotoExitingHandler(Object cond, Object call, RList entry) throws ReturnException {
-        REnvironment rho = (REnvironment) entry.getDataAt(ENTRY_TARGET_ENVIR);
-        RList result = (RList) entry.getDataAt(ENTRY_RETURN_RESULT);
-        Object[] resultData = result.getDataWithoutCopying();
+    private static ReturnException gotoExitingHandler(Object cond, Object call, HandlerEntry entry) throws ReturnException {
+        REnvironment rho = (REnvironment) entry.target;
+        // the result list is only needed when an exiting handler is taken, so it is created here
+        Object[] resultData = new Object[3];
         resultData[RESULT_COND] = cond;
         resultData[RESULT_CALL] = call;
-        resultData[RESULT_HANDLER] = entry.getDataAt(ENTRY_HANDLER);
-        throw new ReturnException(result, RArguments.getCall(rho.getFrame()));
+        resultData[RESULT_HANDLER] = entry.handler;
+        throw new ReturnException(RDataFactory.createList(resultData), RArguments.getCall(rho.getFrame()));
     }
 
-    private static RPairList findSimpleErrorHandler() {
+    private static HandlerEntry findSimpleErrorHandler() {
         Object list = getHandlerStack();
         while (list != RNull.instance) {
-            RPairList pList = (RPairList) list;
-            RList entry = (RList) pList.car();
-            String klass = (String) entry.getDataAt(0);
+            HandlerEntry entry = (HandlerEntry) list;
+            String klass = entry.klass;
             if (klass.equals("simpleError") || klass.equals("error") || klass.equals("condition")) {
-                return pList;
+                return entry;
             }
-            list = pList.cdr();
+            list = entry.next;
         }
         return null;
     }
 
-    private static RPairList findConditionHandler(RList cond) {
+    private static HandlerEntry findConditionHandler(RList cond) {
         // GnuR checks whether this is a string vector - in FastR it's statically typed to be
         RAbstractStringVector classes = RContext.getRRuntimeASTAccess().getClassHierarchy(cond);
         Object list = getHandlerStack();
         while (list != RNull.instance) {
-            RPairList pList = (RPairList) list;
-            RList entry = (RList) pList.car();
-            String klass = (String) entry.getDataAt(0);
+            HandlerEntry entry = (HandlerEntry) list;
+            String klass = entry.klass;
             for (int i = 0; i < classes.getLength(); i++) {
                 if (klass.equals(classes.getDataAt(i))) {
-                    return pList;
+                    return entry;
                 }
             }
-            list = pList.cdr();
+            list = entry.next;
         }
         return null;
 
@@ -499,6 +530,7 @@ public class RErrorHandling {
      * output.
      */
     private static RError errorcallDfltWithCall(Node location, Object call, Message msg, Object... objects) throws RError {
+        checkSpeculation();
         String fmsg = formatMessage(msg, objects);
 
         String errorMessage = createErrorMessage(call, fmsg);
@@ -613,6 +645,7 @@ public class RErrorHandling {
     }
 
     private static void errorCallInvoke(Object call, RStringVector errorMessage) {
+        checkSpeculation();
         errorcallDfltWithCall(null, call, Message.GENERIC, errorMessage, new Object[]{errorMessage});
     }
 
@@ -623,6 +656,7 @@ public class RErrorHandling {
     }
 
     private static void warningCallInvoke(Object call, RStringVector warningMessage) {
+        checkSpeculation();
         /*
          * Warnings generally do not prevent results being printed. However, this call into R will
          * destroy any visibility setting made by the calling builtin prior to this call.
@@ -316,9 +316,20 @@ public class RSerialize {
     public static Object unserialize(RConnection conn) throws IOException {
         Input instance = trace() ? new TracingInput(conn) : new Input(conn);
         Object result = instance.unserialize();
+        instance.stream.returnUnreadData();
         return result;
     }
 
+    /**
+     * Implemented by connection input streams that can take back data, so that the bytes
+     * {@link #unserialize(RConnection)} reads ahead beyond the end of the serialized object are
+     * available to the next read from the connection. This allows reading one object after
+     * another directly from a stream of objects, e.g., a socket.
+     */
+    public interface PushbackInput {
+        void unread(byte[] data, int offset, int length);
+    }
+
     @TruffleBoundary
     public static Object unserialize(RAbstractRawVector data) {
         byte[] buffer = data.materialize().getReadonlyData();
@@ -591,14 +602,22 @@ public class RSerialize {
                             // older versions of GnuR allowed 'NULL'
                             assert tagItem == RNull.instance || tagItem instanceof REnvironment;
                             REnvironment enclosingEnv = tagItem == RNull.instance ? REnvironment.baseEnv() : (REnvironment) tagItem;
-                            boolean restore = setupLibPath(enclosingEnv);
-                            RFunction func = PairlistDeserializer.processFunction(carItem, cdrItem, enclosingEnv, currentFunctionName, packageName);
-                            if (attrItem != RNull.instance) {
-                                setAttributes(func, attrItem);
-                                handleFunctionSrcrefAttr(func);
-                            }
-                            if (restore) {
-                                RContext.getInstance().libraryPaths.remove(0);
+                            RFunction func;
+                            if (FastROptions.LazyUnserializedClosures.getBooleanValue() && !FastROptions.ForceSources.getBooleanValue()) {
+                                func = PairlistDeserializer.processLazyFunction(carItem, cdrItem, enclosingEnv, currentFunctionName, packageName);
+                                if (attrItem != RNull.instance) {
+                                    setAttributes(func, attrItem);
+                                }
+                            } else {
+                                boolean restore = setupLibPath(enclosingEnv);
+                                func = PairlistDeserializer.processFunction(carItem, cdrItem, enclosingEnv, currentFunctionName, packageName);
+                                if (attrItem != RNull.instance) {
+                                    setAttributes(func, attrItem);
+                                    handleFunctionSrcrefAttr(func);
+                                }
+                                if (restore) {
+                                    RContext.getInstance().libraryPaths.remove(0);
+                                }
                             }
 
                             result = func;
@@ -691,9 +710,7 @@ public class RSerialize {
 
                 case EXPRSXP:
                 case VECSXP: {
-                    int len = stream.readInt();
-                    // TODO long vector support?
-                    assert len >= 0;
+                    int len = readLength();
                     Object[] data = new Object[len];
                     for (int i = 0; i < len; i++) {
                         Object elem = readItem();
@@ -714,7 +731,7 @@ public class RSerialize {
                 }
 
                 case INTSXP: {
-                    int len = stream.readInt();
+                    int len = readLength();
                     int[] data = new int[len];
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
@@ -729,7 +746,7 @@ public class RSerialize {
                 }
 
                 case LGLSXP: {
-                    int len = stream.readInt();
+                    int len = readLength();
                     byte[] data = new byte[len];
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
@@ -746,7 +763,7 @@ public class RSerialize {
                 }
 
                 case REALSXP: {
-                    int len = stream.readInt();
+                    int len = readLength();
                     double[] data = new double[len];
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
@@ -761,7 +778,7 @@ public class RSerialize {
                 }
 
                 case CPLXSXP: {
-                    int len = stream.readInt();
+                    int len = readLength();
                     double[] data = new double[2 * len];
                     boolean complete = RDataFactory.COMPLETE_VECTOR;
                     for (int i = 0; i < len; i++) {
@@ -832,7 +849,7 @@ public class RSerialize {
                 }
 
                 case RAWSXP: {
-                    int len = stream.readInt();
+                    int len = readLength();
                     byte[] data = new byte[len];
                     stream.readRaw(data);
                     result = RDataFactory.createRawVector(data);
@@ -918,13 +935,34 @@ public class RSerialize {
             return result;
         }
 
+        /**
+         * Reads the length of a vector. GnuR writes the length of a long vector as -1 followed by
+         * the upper and the lower 32 bits of the length. Long vectors are not supported, so only
+         * lengths within the int range are accepted in this encoding.
+         */
+        private int readLength() throws IOException {
+            int len = stream.readInt();
+            if (len == -1) {
+                long upper = stream.readInt() & 0xFFFFFFFFL;
+                long lower = stream.readInt() & 0xFFFFFFFFL;
+                long length = (upper << 32) + lower;
+                if (length > Integer.MAX_VALUE) {
+                    throw RError.error(RError.NO_CALLER, RError.Message.LONG_VECTORS_NOT_SUPPORTED);
+                }
+                return (int) length;
+            } else if (len < -1) {
+                throw RError.error(RError.NO_CALLER, RError.Message.GENERIC, "negative serialized length for vector");
+            }
+            return len;
+        }
+
         private RStringVector inStringVec(boolean strsxp) throws IOException {
             if (!strsxp) {
                 if (stream.readInt() != 0) {
                     throw RError.nyi(null, "names in persistent strings");
                 }
             }
-            int len = stream.readInt();
+            int len = strsxp ? readLength() : stream.readInt();
             String[] data = new String[len];
             boolean complete = RDataFactory.COMPLETE_VECTOR; // optimistic
             for (int i = 0; i < len; i++) {
@@ -1054,6 +1092,12 @@ public class RSerialize {
 
         abstract void readRaw(byte[] data) throws IOException;
 
+        /**
+         * Hands the data read from {@link #is} but not consumed back to the stream if it is a
+         * {@link PushbackInput}.
+         */
+        void returnUnreadData() {
+        }
     }
 
     @SuppressWarnings("unused")
@@ -1174,6 +1218,15 @@ public class RSerialize {
             }
         }
 
+        @Override
+        void returnUnreadData() {
+            // only the default buffer can hold more data than was requested
+            if (is instanceof PushbackInput && defaultBuffer.offset < defaultBuffer.size) {
+                ((PushbackInput) is).unread(defaultBuffer.buf, defaultBuffer.offset, defaultBuffer.size - defaultBuffer.offset);
+                defaultBuffer.offset = defaultBuffer.size = 0;
+            }
+        }
+
         @Override
         int readInt() throws IOException {
             return ensureData(4).readInt();
@@ -2182,11 +2235,20 @@ public class RSerialize {
      */
     @TruffleBoundary
     public static byte[] serialize(Object obj, int type, int version, Object refhook) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return serialize(new ByteArrayOutputStream(), obj, type, version, refhook);
+    }
+
+    /**
+     * Like {@link #serialize(Object, int, int, Object)}, but uses (and resets) {@code buffer}, which
+     * allows callers to reuse the buffer for many objects.
+     */
+    @TruffleBoundary
+    public static byte[] serialize(ByteArrayOutputStream buffer, Object obj, int type, int version, Object refhook) {
+        buffer.reset();
         try {
-            Output output = new Output(out, type, version, (CallHook) refhook);
+            Output output = new Output(buffer, type, version, (CallHook) refhook);
             output.serialize(obj);
-            return out.toByteArray();
+            return buffer.toByteArray();
         } catch (IOException ex) {
             throw RInternalError.shouldNotReachHere();
         }
@@ -2568,9 +2630,7 @@ public class RSerialize {
 
             MaterializedFrame enclosingFrame = environment.getFrame();
 
-            RootCallTarget callTarget = RContext.getASTBuilder().rootFunction(RContext.getInstance().getLanguage(), RSyntaxNode.LAZY_DEPARSE, processArguments(car, false), processBody(cdr),
-                            functionName == null ? "<deserialized function>" : functionName);
-            FrameSlotChangeMonitor.initializeEnclosingFrame(callTarget.getRootNode().getFrameDescriptor(), enclosingFrame);
+            RootCallTarget callTarget = createCallTarget(car, cdr, enclosingFrame, functionName);
             RFunction func = RDataFactory.createFunction(functionName, packageName, callTarget, null, enclosingFrame);
 
             RContext.getRRuntimeASTAccess().checkDebugRequest(func);
@@ -2581,6 +2641,60 @@ public class RSerialize {
             return func;
         }
 
+        /**
+         * Like {@link #processFunction}, but the AST is only built from the pairlists when the
+         * function is first called, deparsed, etc.
+         */
+        public static RFunction processLazyFunction(Object car, Object cdr, REnvironment environment, String functionName, String packageName) {
+            RFunction func = RDataFactory.createFunction(functionName, packageName, new LazyFunctionTarget(car, cdr, environment, functionName), environment.getFrame());
+            RContext.getRRuntimeASTAccess().checkDebugRequest(func);
+            return func;
+        }
+
+        private static RootCallTarget createCallTarget(Object car, Object cdr, MaterializedFrame enclosingFrame, String functionName) {
+            RootCallTarget callTarget = RContext.getASTBuilder().rootFunction(RContext.getInstance().getLanguage(), RSyntaxNode.LAZY_DEPARSE, processArguments(car, false), processBody(cdr),
+                            functionName == null ? "<deserialized function>" : functionName);
+            FrameSlotChangeMonitor.initializeEnclosingFrame(callTarget.getRootNode().getFrameDescriptor(), enclosingFrame);
+            return callTarget;
+        }
+
+        /**
+         * Keeps the unserialized arguments and body of a closure until its AST is needed. The
+         * library path of the package is set up again while building it, since the source
+         * references are resolved relative to it.
+         */
+        private static final class LazyFunctionTarget extends RFunction.LazyTarget {
+            private Object car;
+            private Object cdr;
+            private final REnvironment environment;
+            private final String functionName;
+
+            LazyFunctionTarget(Object car, Object cdr, REnvironment environment, String functionName) {
+                this.car = car;
+                this.cdr = cdr;
+                this.environment = environment;
+                this.functionName = functionName;
+            }
+
+            @Override
+            protected RootCallTarget create(RFunction function) {
+                boolean restore = setupLibPath(environment);
+                try {
+                    RootCallTarget callTarget = createCallTarget(car, cdr, environment.getFrame(), functionName);
+                    if (function.getAttributes() != null) {
+                        handleSrcrefAttr(function, (RSyntaxElement) callTarget.getRootNode());
+                    }
+                    car = null;
+                    cdr = null;
+                    return callTarget;
+                } finally {
+                    if (restore) {
+                        RContext.getInstance().libraryPaths.remove(0);
+                    }
+                }
+            }
+        }
+
         public static RPairList processLanguage(Object car, Object cdr, Object tag) {
             Closure closure = Closure.createLanguageClosure(processCall(car, cdr, tag, null).asRNode());
             return RDataFactory.createLanguage(closure);
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.HashMap;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RPromise;
+import com.oracle.truffle.r.runtime.data.model.RAbstractStringVector;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+
+/**
+ * Java side copy of the methods table ({@code .AllMTable}) of one S4 generic, used by call sites
+ * that dispatch on too many different signatures to cache them locally. It maps the vector of
+ * argument classes directly to the selected method, which avoids building the {@code "A#B#C"} label
+ * and looking it up in the table environment on every call.
+ *
+ * The methods table stays the authoritative source: an entry is only used as long as the binding of
+ * its label in the table still holds the same method. {@code setMethod}, {@code removeMethod} and
+ * the resetting of inherited methods all go through these bindings. Entries for inherited methods,
+ * i.e., those found by {@code .InheritForDispatch}, are in addition guarded by the context's
+ * {@linkplain com.oracle.truffle.r.runtime.context.RContext#getS4ClassHierarchyAssumption() class
+ * hierarchy assumption}, which is invalidated when {@code setClass} changes the superclasses of a
+ * class.
+ */
+public final class S4DispatchTable {
+
+    private final HashMap<Signature, Entry> entries = new HashMap<>();
+
+    private static final class Signature {
+        private final String[] classes;
+        private final int hash;
+
+        Signature(String[] classes) {
+            this.classes = classes;
+            int h = classes.length;
+            for (String clazz : classes) {
+                h = 31 * h + clazz.hashCode();
+            }
+            this.hash = h;
+        }
+
+        static Signature create(RAbstractStringVector classes) {
+            String[] data = new String[classes.getLength()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = classes.getDataAt(i);
+            }
+            return new Signature(data);
+        }
+
+        Signature intern() {
+            String[] interned = new String[classes.length];
+            for (int i = 0; i < interned.length; i++) {
+                interned[i] = Utils.intern(classes[i]);
+            }
+            return new Signature(interned);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            if (hash != other.hash || classes.length != other.classes.length) {
+                return false;
+            }
+            for (int i = 0; i < classes.length; i++) {
+                // the stored signatures are interned, so the identity check usually suffices
+                if (classes[i] != other.classes[i] && !classes[i].equals(other.classes[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Entry {
+        private final FrameSlot slot;
+        private final RFunction method;
+        private final Assumption classHierarchy;
+
+        Entry(FrameSlot slot, RFunction method, Assumption classHierarchy) {
+            this.slot = slot;
+            this.method = method;
+            this.classHierarchy = classHierarchy;
+        }
+
+        boolean isValid(MaterializedFrame mtableFrame) {
+            if (classHierarchy != null && !classHierarchy.isValid()) {
+                return false;
+            }
+            Object value = FrameSlotChangeMonitor.getValue(slot, mtableFrame);
+            if (value instanceof RPromise && ((RPromise) value).isEvaluated()) {
+                value = ((RPromise) value).getValue();
+            }
+            return value == method;
+        }
+    }
+
+    /**
+     * Returns the method selected for {@code classes} in the methods table with the given frame, or
+     * {@code null} if there is no valid entry.
+     */
+    @TruffleBoundary
+    public RFunction get(MaterializedFrame mtableFrame, RAbstractStringVector classes) {
+        Signature signature = Signature.create(classes);
+        Entry entry = entries.get(signature);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.isValid(mtableFrame)) {
+            entries.remove(signature);
+            return null;
+        }
+        return entry.method;
+    }
+
+    /**
+     * Records that {@code method} was selected for {@code classes}. This is only possible if the
+     * methods table now contains a binding for {@code label}, otherwise nothing is recorded.
+     *
+     * @param classHierarchy the class hierarchy assumption for inherited methods, {@code null} for
+     *            methods that were defined for exactly this signature
+     */
+    @TruffleBoundary
+    public void put(MaterializedFrame mtableFrame, RAbstractStringVector classes, String label, RFunction method, Assumption classHierarchy) {
+        FrameSlot slot = mtableFrame.getFrameDescriptor().findFrameSlot(label);
+        if (slot == null) {
+            return;
+        }
+        Entry entry = new Entry(slot, method, classHierarchy);
+        if (entry.isValid(mtableFrame)) {
+            entries.put(Signature.create(classes).intern(), entry);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.Selector;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
@@ -78,6 +79,12 @@ public class ConnectionSupport {
          */
         private int hwm = 2;
 
+        /**
+         * The selector used by {@code socketSelect}. It is kept open for the lifetime of the
+         * context, so that a socket is registered with it only once.
+         */
+        private Selector socketSelector;
+
         private ContextStateImpl() {
             for (int i = 0; i < MAX_CONNECTIONS; i++) {
                 allConnections.add(i, null);
@@ -128,6 +135,14 @@ public class ConnectionSupport {
             return RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
         }
 
+        @TruffleBoundary
+        public Selector getSocketSelector() throws IOException {
+            if (socketSelector == null) {
+                socketSelector = Selector.open();
+            }
+            return socketSelector;
+        }
+
         private void destroyConnection(int index) {
             allConnections.get(index).clear();
             allConnections.set(index, null);
@@ -173,6 +188,13 @@ public class ConnectionSupport {
                     ref.clear();
                 }
             }
+            if (socketSelector != null) {
+                try {
+                    socketSelector.close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
         }
 
         private static void closeAndDestroy(BaseRConnection con) {
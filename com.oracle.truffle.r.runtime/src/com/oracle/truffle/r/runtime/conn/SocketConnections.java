@@ -23,21 +23,24 @@
 package com.oracle.truffle.r.runtime.conn;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.HashMap;
 import java.util.Set;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RSerialize;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.AbstractOpenMode;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport.ConnectionClass;
+import com.oracle.truffle.r.runtime.context.RContext;
 
 public class SocketConnections {
     /**
@@ -82,40 +85,257 @@ public class SocketConnections {
             return (server ? "<-" : "->") + host + ":" + port;
         }
 
+        /**
+         * Implements {@code socketSelect}. The sockets are registered with the selector of the
+         * context on first use and stay registered until they are closed, so repeated calls (e.g.
+         * the master of a PSOCK cluster waiting for its workers) do not need to set up anything
+         * for sockets that have been selected before. Sockets that already hold read ahead data
+         * are ready for reading without waiting.
+         */
         @TruffleBoundary
         public static byte[] select(RSocketConnection[] socketConnections, boolean write, long timeout) throws IOException {
             int op = write ? SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            Selector selector = RContext.getInstance().stateRConnection.getSocketSelector();
 
-            HashMap<RSocketConnection, SelectionKey> table = new HashMap<>();
-            Selector selector = Selector.open();
-            for (RSocketConnection con : socketConnections) {
+            // identifies the keys that take part in this call
+            Object token = new Object();
+            SelectionKey[] keys = new SelectionKey[socketConnections.length];
+            boolean buffered = false;
+            for (int i = 0; i < keys.length; i++) {
+                RSocketConnection con = socketConnections[i];
                 con.checkOpen();
-
                 SocketChannel sc = (SocketChannel) con.theConnection.getChannel();
-                sc.configureBlocking(false);
-                table.put(con, sc.register(selector, op));
+                SelectionKey key = sc.keyFor(selector);
+                if (key == null) {
+                    sc.configureBlocking(false);
+                    key = sc.register(selector, op);
+                } else if (key.interestOps() != op) {
+                    key.interestOps(op);
+                }
+                key.attach(token);
+                keys[i] = key;
+                buffered |= !write && hasBufferedInput(con);
+            }
+            // sockets registered by previous calls must not report readiness now
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != token && key.isValid() && key.interestOps() != 0) {
+                    key.interestOps(0);
+                }
             }
-            int select;
-            if (timeout >= 0) {
-                select = selector.select(timeout);
+
+            selector.selectedKeys().clear();
+            if (buffered || timeout == 0) {
+                selector.selectNow();
+            } else if (timeout > 0) {
+                selector.select(timeout);
             } else {
-                select = selector.select();
+                selector.select();
             }
 
+            Set<SelectionKey> selectedKeys = selector.selectedKeys();
             byte[] result = new byte[socketConnections.length];
-            if (select > 0) {
-                Set<SelectionKey> selectedKeys = selector.selectedKeys();
-                for (int i = 0; i < result.length; i++) {
-                    result[i] = RRuntime.asLogical(selectedKeys.contains(table.get(socketConnections[i])));
-                }
+            for (int i = 0; i < result.length; i++) {
+                boolean ready = selectedKeys.contains(keys[i]) || (!write && hasBufferedInput(socketConnections[i]));
+                result[i] = RRuntime.asLogical(ready);
             }
+            selectedKeys.clear();
             return result;
         }
+
+        private static boolean hasBufferedInput(RSocketConnection con) {
+            return con.theConnection instanceof SocketDelegate && ((SocketDelegate) con.theConnection).getSocketIO().hasBufferedInput();
+        }
+    }
+
+    interface SocketDelegate {
+        SocketIO getSocketIO();
     }
 
-    private abstract static class RSocketReadWriteConnection extends DelegateReadWriteRConnection {
+    /**
+     * Buffered I/O on the channel of a socket connection.
+     *
+     * The channel is in non-blocking mode once it has been registered with a selector by
+     * {@link RSocketConnection#select}, even if the connection itself is blocking. Reads and writes
+     * of a blocking connection then wait until the channel is ready instead of returning short
+     * counts, which would otherwise make the readers spin or fail on partially received data. If the
+     * connection's timeout elapses first, an {@link IOException} is raised.
+     *
+     * Reads go through a direct buffer, so reading the connection byte by byte (e.g.
+     * {@code readLines}) does not result in a system call per byte. The buffer also takes back
+     * the data {@code unserialize} read ahead (see {@link RSerialize.PushbackInput}), so that a
+     * stream of serialized objects can be read one at a time.
+     */
+    static final class SocketIO {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final SocketChannel channel;
+        private final boolean blocking;
+        private final long timeoutMillis;
+        private ByteBuffer readBuffer;
+        /**
+         * Used to wait for the channel to become ready, created on first use.
+         */
+        private Selector waitSelector;
+
+        SocketIO(SocketChannel channel, boolean blocking, int timeoutSeconds) {
+            this.channel = channel;
+            this.blocking = blocking;
+            this.timeoutMillis = Math.max(0, timeoutSeconds) * 1000L;
+            this.readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            // no data available yet
+            readBuffer.flip();
+        }
+
+        boolean hasBufferedInput() {
+            return readBuffer.hasRemaining();
+        }
+
+        /**
+         * Reads into {@code dst}, returns {@code -1} at EOF. If {@code wait} is {@code true}, or
+         * the connection is blocking, it waits until some data is available instead of returning
+         * {@code 0}.
+         */
+        int read(ByteBuffer dst, boolean wait) throws IOException {
+            if (!dst.hasRemaining()) {
+                return 0;
+            }
+            if (!readBuffer.hasRemaining()) {
+                if (dst.remaining() >= readBuffer.capacity()) {
+                    // large reads do not need the buffer
+                    return readChannel(dst, wait);
+                }
+                if (!fillBuffer(wait)) {
+                    return -1;
+                }
+                if (!readBuffer.hasRemaining()) {
+                    return 0;
+                }
+            }
+            int n = Math.min(dst.remaining(), readBuffer.remaining());
+            ByteBuffer src = readBuffer.duplicate();
+            src.limit(src.position() + n);
+            dst.put(src);
+            readBuffer.position(readBuffer.position() + n);
+            return n;
+        }
+
+        /**
+         * Reads a single unsigned byte, returns {@code -1} at EOF or if no data is available and
+         * {@code wait} is {@code false}.
+         */
+        int read(boolean wait) throws IOException {
+            if (!readBuffer.hasRemaining() && (!fillBuffer(wait) || !readBuffer.hasRemaining())) {
+                return -1;
+            }
+            return readBuffer.get() & 0xFF;
+        }
+
+        /**
+         * Refills the empty read buffer, returns {@code false} at EOF.
+         */
+        private boolean fillBuffer(boolean wait) throws IOException {
+            assert !readBuffer.hasRemaining();
+            readBuffer.clear();
+            int n = readChannel(readBuffer, wait);
+            readBuffer.flip();
+            return n >= 0;
+        }
+
+        private int readChannel(ByteBuffer dst, boolean wait) throws IOException {
+            int n = channel.read(dst);
+            while (n == 0 && (wait || blocking) && !channel.isBlocking()) {
+                if (!await(SelectionKey.OP_READ)) {
+                    throw new IOException("timeout reading from socket");
+                }
+                n = channel.read(dst);
+            }
+            return n;
+        }
+
+        int write(ByteBuffer src) throws IOException {
+            int total = channel.write(src);
+            while (src.hasRemaining() && mustWait()) {
+                if (!await(SelectionKey.OP_WRITE)) {
+                    throw new IOException("timeout writing to socket");
+                }
+                total += channel.write(src);
+            }
+            return total;
+        }
+
+        void unread(byte[] data, int offset, int length) {
+            int size = length + readBuffer.remaining();
+            ByteBuffer newBuffer = size <= readBuffer.capacity() ? ByteBuffer.allocateDirect(readBuffer.capacity()) : ByteBuffer.allocateDirect(size);
+            newBuffer.put(data, offset, length);
+            newBuffer.put(readBuffer);
+            newBuffer.flip();
+            readBuffer = newBuffer;
+        }
+
+        private boolean mustWait() {
+            return blocking && !channel.isBlocking();
+        }
+
+        /**
+         * Waits until the channel is ready for {@code op}, returns {@code false} on timeout.
+         */
+        private boolean await(int op) throws IOException {
+            if (waitSelector == null) {
+                waitSelector = Selector.open();
+            }
+            SelectionKey key = channel.keyFor(waitSelector);
+            if (key == null) {
+                channel.register(waitSelector, op);
+            } else if (key.interestOps() != op) {
+                key.interestOps(op);
+            }
+            int selected = timeoutMillis > 0 ? waitSelector.select(timeoutMillis) : waitSelector.select();
+            waitSelector.selectedKeys().clear();
+            return selected > 0;
+        }
+
+        InputStream getInputStream() {
+            return new SocketInputStream();
+        }
+
+        void close() throws IOException {
+            if (waitSelector != null) {
+                waitSelector.close();
+            }
+        }
+
+        /**
+         * Unlike the reads of the connection itself, the reads of the stream block until some data
+         * is available or EOF is reached, as {@link InputStream} requires.
+         */
+        private final class SocketInputStream extends InputStream implements RSerialize.PushbackInput {
+
+            @Override
+            public int read() throws IOException {
+                return SocketIO.this.read(true);
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return SocketIO.this.read(ByteBuffer.wrap(b, off, len), true);
+            }
+
+            @Override
+            public int available() {
+                return readBuffer.remaining();
+            }
+
+            @Override
+            public void unread(byte[] data, int offset, int length) {
+                SocketIO.this.unread(data, offset, length);
+            }
+        }
+    }
+
+    private abstract static class RSocketReadWriteConnection extends DelegateReadWriteRConnection implements SocketDelegate {
         private Socket socket;
         private SocketChannel channel;
+        private SocketIO io;
         protected final RSocketConnection thisBase;
 
         protected RSocketReadWriteConnection(RSocketConnection base) {
@@ -137,6 +357,7 @@ public class SocketConnections {
             } else {
                 channel.configureBlocking(false);
             }
+            io = new SocketIO(channel, thisBase.isBlocking(), thisBase.timeout);
         }
 
         @Override
@@ -144,15 +365,47 @@ public class SocketConnections {
             return channel;
         }
 
+        @Override
+        public SocketIO getSocketIO() {
+            return io;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return io.read(dst, false);
+        }
+
+        @Override
+        protected int readInternal() throws IOException {
+            return io.read(false);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return io.write(src);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return io.getInputStream();
+        }
+
+        @Override
+        public void close() throws IOException {
+            io.close();
+            super.close();
+        }
+
         @Override
         public boolean isSeekable() {
             return false;
         }
     }
 
-    private abstract static class RSocketReadWriteNonBlockConnection extends DelegateReadWriteRConnection {
+    private abstract static class RSocketReadWriteNonBlockConnection extends DelegateReadWriteRConnection implements SocketDelegate {
         private Socket socket;
         private SocketChannel socketChannel;
+        private SocketIO io;
 
         protected RSocketReadWriteNonBlockConnection(RSocketConnection base) {
             super(base, 0);
@@ -162,14 +415,41 @@ public class SocketConnections {
             this.socket = socketArg;
             this.socketChannel = socket.getChannel();
             socketChannel.configureBlocking(false);
+            io = new SocketIO(socketChannel, false, 0);
         }
 
         @Override
         public void close() throws IOException {
+            io.close();
             socketChannel.close();
             socket.close();
         }
 
+        @Override
+        public SocketIO getSocketIO() {
+            return io;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return io.read(dst, false);
+        }
+
+        @Override
+        protected int readInternal() throws IOException {
+            return io.read(false);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return io.write(src);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return io.getInputStream();
+        }
+
         @Override
         public ByteChannel getChannel() {
             return socketChannel;
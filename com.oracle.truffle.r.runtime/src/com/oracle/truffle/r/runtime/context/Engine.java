@@ -197,6 +197,14 @@ public interface Engine {
      */
     Object parseAndEval(Source sourceDesc, MaterializedFrame frame, boolean printResult) throws ParseException;
 
+    /**
+     * Variant of {@link #parseAndEval(Source, MaterializedFrame, boolean)} for the immutable system
+     * sources, i.e., the base package and the builtin package overrides. The parse result is cached
+     * per process and keyed by the content of {@code source}, so that only the first context needs
+     * to run the parser.
+     */
+    Object parseAndEvalSystemSource(Source source, MaterializedFrame frame) throws ParseException;
+
     /**
      * Support for the {@code eval} {@code .Internal}. If the {@code caller} argument is null, it is
      * taken from the environment's frame.
@@ -36,6 +36,7 @@ import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -82,6 +83,7 @@ import com.oracle.truffle.r.runtime.RProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RRuntimeASTAccess;
 import com.oracle.truffle.r.runtime.RSerialize;
+import com.oracle.truffle.r.runtime.S4DispatchTable;
 import com.oracle.truffle.r.runtime.TempPathName;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.builtins.RBuiltinDescriptor;
@@ -90,6 +92,7 @@ import com.oracle.truffle.r.runtime.builtins.RBuiltinLookup;
 import com.oracle.truffle.r.runtime.conn.ConnectionSupport;
 import com.oracle.truffle.r.runtime.conn.StdConnections;
 import com.oracle.truffle.r.runtime.data.LanguageClosureCache;
+import com.oracle.truffle.r.runtime.data.ParseCache;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.RStringVector;
@@ -271,6 +274,8 @@ public final class RContext {
     private boolean methodTableDispatchOn = false;
     private boolean allowPrimitiveMethods = true;
     private final HashMap<String, RStringVector> s4ExtendsTable = new HashMap<>();
+    private Assumption s4ClassHierarchyAssumption = Truffle.getRuntime().createAssumption("S4 class hierarchy");
+    private final WeakHashMap<REnvironment, S4DispatchTable> s4DispatchTables = new WeakHashMap<>();
 
     private boolean nullS4Object = false;
 
@@ -348,6 +353,8 @@ public final class RContext {
     // concrete library.
     public Object gridContext = null;
     public boolean internalGraphicsInitialized = false;
+    // S3 method lookup cache, created lazily by the generic S3 function lookup node
+    public Object s3MethodCache = null;
 
     public final WeakHashMap<String, WeakReference<String>> stringMap = new WeakHashMap<>();
     public final WeakHashMap<Source, REnvironment> sourceRefEnvironments = new WeakHashMap<>();
@@ -355,6 +362,7 @@ public final class RContext {
     public final List<String> libraryPaths = new ArrayList<>(1);
     public final Map<Integer, Thread> threads = new ConcurrentHashMap<>();
     public final LanguageClosureCache languageClosureCache = new LanguageClosureCache();
+    public final ParseCache parseCache = new ParseCache();
     public final Map<String, Source> sourceCache = new ConcurrentHashMap<>();
 
     private final AllocationReporter allocationReporter;
@@ -682,7 +690,27 @@ public final class RContext {
     }
 
     public void putS4Extends(String key, RStringVector value) {
-        s4ExtendsTable.put(key, value);
+        RStringVector previous = s4ExtendsTable.put(key, value);
+        if (previous != null && !Arrays.equals(previous.getReadonlyStringData(), value.getReadonlyStringData())) {
+            s4ClassHierarchyAssumption.invalidate();
+            s4ClassHierarchyAssumption = Truffle.getRuntime().createAssumption("S4 class hierarchy");
+        }
+    }
+
+    /**
+     * Returns the assumption that no class cached with {@link #putS4Extends} has changed its
+     * superclasses since.
+     */
+    public Assumption getS4ClassHierarchyAssumption() {
+        return s4ClassHierarchyAssumption;
+    }
+
+    /**
+     * Returns the {@link S4DispatchTable} that mirrors the given methods table of an S4 generic.
+     */
+    @TruffleBoundary
+    public S4DispatchTable getS4DispatchTable(REnvironment mtable) {
+        return s4DispatchTables.computeIfAbsent(mtable, e -> new S4DispatchTable());
     }
 
     public PrimitiveMethodsInfo getPrimitiveMethodsInfo() {
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RType;
+
+/**
+ * Creates vectors backed by a region of a file that is mapped into memory with
+ * {@link FileChannel#map}. The vectors are ordinary vectors with native memory data (see
+ * {@link NativeDataAccess}) and the operating system reads the pages of the file lazily when the
+ * elements are accessed, so files much larger than the Java heap can be processed without copying
+ * them into it. The mapping is released when the vector is collected.
+ *
+ * The data must be stored in the native byte order, i.e., as written by {@code writeBin} with the
+ * default {@code endian}. A single mapping is limited to {@link Integer#MAX_VALUE} bytes, larger
+ * files can be processed in windows given by an offset into the file.
+ */
+public final class MappedFileVectors {
+
+    private static final long ADDRESS_OFFSET;
+
+    static {
+        try {
+            ADDRESS_OFFSET = UnsafeAdapter.UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        } catch (NoSuchFieldException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+
+    private MappedFileVectors() {
+        // no instances
+    }
+
+    /**
+     * Maps {@code count} elements of the given type starting at byte {@code offset} of the file,
+     * or all the remaining elements if {@code count} is negative.
+     *
+     * @param readOnly if {@code true}, the file is mapped read-only and the vector is made
+     *            permanently shared, so that it is copied before any modification. Otherwise the
+     *            file must be writable and is mapped privately: modified pages are copied by the
+     *            operating system and never written back to the file.
+     */
+    @TruffleBoundary
+    public static RVector<?> map(String path, RType type, long offset, long count, boolean readOnly) throws IOException {
+        int elementSize = getElementSize(type);
+        try (FileChannel channel = readOnly ? FileChannel.open(Paths.get(path), StandardOpenOption.READ)
+                        : FileChannel.open(Paths.get(path), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (offset > size) {
+                throw new IOException("offset is beyond the end of the file");
+            }
+            long length = count < 0 ? (size - offset) / elementSize : count;
+            // checked before multiplying, a huge count would overflow the number of bytes
+            if (length > Integer.MAX_VALUE / elementSize) {
+                throw RError.error(RError.SHOW_CALLER, RError.Message.GENERIC, "cannot map more than 2GB at once, map the file in parts using an offset");
+            }
+            long bytes = length * elementSize;
+            if (offset + bytes > size) {
+                throw new IOException("the file is too short");
+            }
+            if (length == 0) {
+                return createEmpty(type);
+            }
+            MappedByteBuffer buffer = channel.map(readOnly ? MapMode.READ_ONLY : MapMode.PRIVATE, offset, bytes);
+            long address = UnsafeAdapter.UNSAFE.getLong(buffer, ADDRESS_OFFSET);
+            RVector<?> result = createFromNative(type, address, (int) length);
+            // the mapping stays valid after the channel is closed as long as the buffer is alive
+            NativeDataAccess.setExternalOwner(result, buffer);
+            if (readOnly) {
+                result.makeSharedPermanent();
+            }
+            return result;
+        }
+    }
+
+    private static int getElementSize(RType type) {
+        switch (type) {
+            case Double:
+                return Double.BYTES;
+            case Integer:
+                return Integer.BYTES;
+            case Raw:
+                return Byte.BYTES;
+            default:
+                throw RInternalError.shouldNotReachHere("cannot map vectors of type " + type);
+        }
+    }
+
+    private static RVector<?> createEmpty(RType type) {
+        switch (type) {
+            case Double:
+                return RDataFactory.createEmptyDoubleVector();
+            case Integer:
+                return RDataFactory.createEmptyIntVector();
+            default:
+                return RDataFactory.createEmptyRawVector();
+        }
+    }
+
+    private static RVector<?> createFromNative(RType type, long address, int length) {
+        switch (type) {
+            case Double:
+                return RDataFactory.createDoubleVectorFromNative(address, length);
+            case Integer:
+                return RDataFactory.createIntVectorFromNative(address, length);
+            default:
+                return RDataFactory.createRawVectorFromNative(address, length);
+        }
+    }
+}
@@ -26,7 +26,6 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
@@ -42,7 +41,10 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.ffi.RFFIContext;
 import com.oracle.truffle.r.runtime.ffi.RFFILog;
+import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
 
 import sun.misc.Unsafe;
@@ -85,6 +87,20 @@ class UnsafeAdapter {
  *
  * There is a registry of weak references to all native mirrors ever assigned to some vector object.
  * We use the finalizer to free the native memory (if allocated).
+ *
+ * The SEXP of a native mirror is the address of a small native header, which caches the type and,
+ * once the data of an atomic vector lives in native memory, its length, true length and data
+ * pointer. The layout must match {@code FastRSEXPHeader} in the NFI {@code rffiutils.h}; native code
+ * reads {@code LENGTH}, {@code TYPEOF}, {@code INTEGER}, etc. from it without an up-call. The
+ * header is updated whenever any of these values changes on the Java side.
+ *
+ * The native view of a character vector is an array of the SEXPs of its {@link CharSXPWrapper}
+ * elements and is published in the header as well, so that {@code STRING_ELT} and {@code R_CHAR}
+ * do not up-call. While the vector is registered with the {@link RFFIContext}, the first native
+ * store after control passed to Java goes through an up-call, which marks the vector in the header
+ * (see {@link #markNativeWrites(RStringVector)}), further native stores go into the view directly.
+ * The Java side picks up those writes when control returns from native code, see
+ * {@link #hasNativeWrites(RStringVector)}.
  */
 public final class NativeDataAccess {
     private NativeDataAccess() {
@@ -99,12 +115,48 @@ public final class NativeDataAccess {
 
     private static final long EMPTY_DATA_ADDRESS = 0xBAD;
 
+    private static final int HEADER_TYPE_OFFSET = 0;
+    private static final int HEADER_FLAGS_OFFSET = 4;
+    private static final int HEADER_LENGTH_OFFSET = 8;
+    private static final int HEADER_TRUELENGTH_OFFSET = 16;
+    private static final int HEADER_DATA_OFFSET = 24;
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Header type of objects whose type is not cached, e.g., pair lists, which can change their type
+     * by {@code SET_TYPEOF}.
+     */
+    private static final int HEADER_UNKNOWN_TYPE = -1;
+
+    /**
+     * Header flag of a character vector that is registered with the {@link RFFIContext}, native code
+     * may store elements directly into its native view.
+     */
+    private static final int HEADER_FLAG_TRACKED = 1;
+    /**
+     * Header flag of a character vector that native code stored into since the last
+     * synchronization with the Java side, native code may store further elements into its native
+     * view directly.
+     */
+    private static final int HEADER_FLAG_NATIVE_WRITES = 2;
+
     private static final class NativeMirror {
         /**
          * ID of the mirror, this will be used as the value for SEXP. When native up-calls to Java,
-         * we get this value and find the corresponding object for it.
+         * we get this value and find the corresponding object for it. For mirrors created by
+         * {@link #asPointer(Object)} this is the address of the native header.
          */
         private final long id;
+        /**
+         * Whether {@link #id} is the address of a header allocated by this mirror.
+         */
+        private final boolean ownsHeader;
+        /**
+         * Whether {@link #dataAddress} and the lengths are published in the header, which is only
+         * done for atomic vectors, character vectors and {@code CHARSXP}s, whose native data is laid
+         * out as in GNU R.
+         */
+        private final boolean headerData;
         /**
          * Address of the start of the native memory array. Zero if not allocated yet.
          */
@@ -139,8 +191,24 @@ public final class NativeDataAccess {
          */
         private Object nativeWrapper;
 
-        NativeMirror() {
-            this.id = counter.addAndGet(2);
+        /**
+         * The owner of the native memory at {@link #dataAddress} if it is not managed by this
+         * mirror, e.g., a memory mapped file. It is kept reachable as long as the mirror is and
+         * the memory is not freed by the finalizer.
+         */
+        private Object externalOwner;
+
+        NativeMirror(Object obj) {
+            int type = headerType(obj);
+            this.id = allocateNativeMemory(HEADER_SIZE);
+            this.ownsHeader = true;
+            this.headerData = type == SEXPTYPE.INTSXP.code || type == SEXPTYPE.LGLSXP.code || type == SEXPTYPE.REALSXP.code || type == SEXPTYPE.CPLXSXP.code ||
+                            type == SEXPTYPE.RAWSXP.code || type == SEXPTYPE.STRSXP.code || type == SEXPTYPE.CHARSXP.code;
+            UnsafeAdapter.UNSAFE.putInt(id + HEADER_TYPE_OFFSET, type);
+            UnsafeAdapter.UNSAFE.putInt(id + HEADER_FLAGS_OFFSET, 0);
+            UnsafeAdapter.UNSAFE.putLong(id + HEADER_LENGTH_OFFSET, 0);
+            UnsafeAdapter.UNSAFE.putLong(id + HEADER_TRUELENGTH_OFFSET, 0);
+            UnsafeAdapter.UNSAFE.putLong(id + HEADER_DATA_OFFSET, 0);
         }
 
         /**
@@ -150,18 +218,59 @@ public final class NativeDataAccess {
         NativeMirror(long address) {
             this.id = address;
             this.dataAddress = address;
+            this.ownsHeader = false;
+            this.headerData = false;
+        }
+
+        void setLength(long length) {
+            this.length = length;
+            if (headerData) {
+                UnsafeAdapter.UNSAFE.putLong(id + HEADER_LENGTH_OFFSET, length);
+            }
+        }
+
+        void setTruelength(long truelength) {
+            this.truelength = truelength;
+            if (headerData) {
+                UnsafeAdapter.UNSAFE.putLong(id + HEADER_TRUELENGTH_OFFSET, truelength);
+            }
+        }
+
+        void setContents(long address, long length) {
+            this.dataAddress = address;
+            setLength(length);
+            publishContents(length);
+        }
+
+        private void publishContents(long headerLength) {
+            if (headerData) {
+                // the data pointer is written last, native code only reads the lengths if it is set
+                UnsafeAdapter.UNSAFE.putLong(id + HEADER_LENGTH_OFFSET, headerLength);
+                UnsafeAdapter.UNSAFE.putLong(id + HEADER_TRUELENGTH_OFFSET, truelength);
+                UnsafeAdapter.UNSAFE.putLong(id + HEADER_DATA_OFFSET, dataAddress);
+            }
+        }
+
+        int getFlags() {
+            return headerData ? UnsafeAdapter.UNSAFE.getInt(id + HEADER_FLAGS_OFFSET) : 0;
+        }
+
+        void setFlags(int flags) {
+            assert headerData;
+            UnsafeAdapter.UNSAFE.putInt(id + HEADER_FLAGS_OFFSET, flags);
         }
 
         @TruffleBoundary
         void allocateNative(Object source, int len, int trueLen, int elementBase, int elementSize) {
             assert dataAddress == 0;
+            long address;
             if (len != 0) {
-                dataAddress = allocateNativeMemory(trueLen * elementSize);
-                UnsafeAdapter.UNSAFE.copyMemory(source, elementBase, null, dataAddress, trueLen * elementSize);
+                address = allocateNativeMemory(trueLen * elementSize);
+                UnsafeAdapter.UNSAFE.copyMemory(source, elementBase, null, address, trueLen * elementSize);
             } else {
-                dataAddress = EMPTY_DATA_ADDRESS;
+                address = EMPTY_DATA_ADDRESS;
             }
-            this.length = len;
+            setContents(address, len);
 
             // ensure that marker address is not used
             assert this.length == 0 || dataAddress != EMPTY_DATA_ADDRESS;
@@ -175,6 +284,8 @@ public final class NativeDataAccess {
             UnsafeAdapter.UNSAFE.putByte(dataAddress + bytes.length, (byte) 0); // C strings
                                                                                 // terminator
             this.length = bytes.length + 1;
+            // LENGTH of a CHARSXP does not include the terminator
+            publishContents(bytes.length);
 
             // ensure that marker address is not used
             assert this.length == 0 || dataAddress != EMPTY_DATA_ADDRESS;
@@ -182,10 +293,32 @@ public final class NativeDataAccess {
 
         @TruffleBoundary
         void allocateNative(CharSXPWrapper[] wrappers) {
-            long addr = dataAddress = allocateNativeMemory(wrappers.length * Long.BYTES);
-            for (int i = 0; i < wrappers.length; i++) {
-                UnsafeAdapter.UNSAFE.putLong(addr + i * Long.BYTES, asPointer(wrappers[i]));
+            assert dataAddress == 0;
+            long address;
+            if (wrappers.length != 0) {
+                address = allocateNativeMemory(wrappers.length * Long.BYTES);
+                for (int i = 0; i < wrappers.length; i++) {
+                    UnsafeAdapter.UNSAFE.putLong(address + i * Long.BYTES, asPointer(wrappers[i]));
+                }
+            } else {
+                address = EMPTY_DATA_ADDRESS;
             }
+            setContents(address, wrappers.length);
+        }
+
+        /**
+         * Drops the native view of a character vector, e.g., when it grows beyond its native
+         * capacity. The next access from native code allocates a new one.
+         */
+        @TruffleBoundary
+        void releaseNativeStrings() {
+            assert headerData && (getFlags() & HEADER_FLAG_NATIVE_WRITES) == 0 : "native writes must be copied first";
+            UnsafeAdapter.UNSAFE.putLong(id + HEADER_DATA_OFFSET, 0);
+            if (dataAddress != EMPTY_DATA_ADDRESS) {
+                freeNativeMemory(dataAddress);
+            }
+            dataAddress = 0;
+            length = 0;
         }
 
         // TODO: turn this into reference queues
@@ -193,10 +326,13 @@ public final class NativeDataAccess {
         protected void finalize() throws Throwable {
             super.finalize();
             nativeMirrors.remove(id);
+            if (ownsHeader) {
+                freeNativeMemory(id);
+            }
             // System.out.println(String.format("gc'ing %16x", id));
             if (dataAddress == EMPTY_DATA_ADDRESS) {
                 assert (dataAddress = 0xbadbad) != 0;
-            } else if (dataAddress != 0) {
+            } else if (dataAddress != 0 && externalOwner == null) {
                 // System.out.println(String.format("freeing data at %16x", dataAddress));
                 freeNativeMemory(dataAddress);
                 assert (dataAddress = 0xbadbad) != 0;
@@ -209,9 +345,6 @@ public final class NativeDataAccess {
         }
     }
 
-    // The counter is initialized to invalid address and incremented by 2 to always get invalid
-    // address value
-    private static final AtomicLong counter = new AtomicLong(0xdef000000000001L);
     private static final ConcurrentHashMap<Long, WeakReference<RObject>> nativeMirrors = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Long, RuntimeException> nativeMirrorInfo = new ConcurrentHashMap<>();
 
@@ -255,7 +388,7 @@ public final class NativeDataAccess {
     @TruffleBoundary
     private static NativeMirror putMirrorObject(Object arg, RObject obj, NativeMirror oldMirror) {
         NativeMirror newMirror;
-        obj.setNativeMirror(newMirror = arg instanceof CustomNativeMirror ? new NativeMirror(((CustomNativeMirror) arg).getCustomMirrorAddress()) : new NativeMirror());
+        obj.setNativeMirror(newMirror = arg instanceof CustomNativeMirror ? new NativeMirror(((CustomNativeMirror) arg).getCustomMirrorAddress()) : new NativeMirror(arg));
         if (oldMirror != null) {
             newMirror.nativeWrapper = oldMirror.nativeWrapper;
         }
@@ -271,6 +404,15 @@ public final class NativeDataAccess {
         return newMirror;
     }
 
+    private static int headerType(Object obj) {
+        if (obj instanceof CharSXPWrapper) {
+            return SEXPTYPE.CHARSXP.code;
+        } else if (obj instanceof RVector<?> || obj instanceof RNull || obj instanceof RSymbol || obj instanceof REnvironment) {
+            return SEXPTYPE.gnuRCodeForObject(obj);
+        }
+        return HEADER_UNKNOWN_TYPE;
+    }
+
     @TruffleBoundary
     private static void registerAllocationSite(Object arg, NativeMirror mirror) {
         String argInfo;
@@ -314,7 +456,7 @@ public final class NativeDataAccess {
             System.out.println("Location at which the native mirror was allocated:");
             location.printStackTrace();
         }
-        throw RInternalError.shouldNotReachHere("unknown native reference " + address + "L / 0x" + Long.toHexString(address) + " (current id count: " + Long.toHexString(counter.get()) + ")");
+        throw RInternalError.shouldNotReachHere("unknown native reference " + address + "L / 0x" + Long.toHexString(address));
     }
 
     // methods operating on the native mirror object directly:
@@ -442,6 +584,7 @@ public final class NativeDataAccess {
     private static final Assumption noComplexNative = Truffle.getRuntime().createAssumption();
     private static final Assumption noRawNative = Truffle.getRuntime().createAssumption();
     private static final Assumption noCharSXPNative = Truffle.getRuntime().createAssumption();
+    private static final Assumption noStringNative = Truffle.getRuntime().createAssumption();
 
     static int getData(RIntVector vector, int[] data, int index) {
         if (noIntNative.isValid() || data != null) {
@@ -463,7 +606,7 @@ public final class NativeDataAccess {
         if (noIntNative.isValid() || data != null) {
             allocateNativeContents(vector, data, length);
         } else {
-            ((NativeMirror) vector.getNativeMirror()).length = length;
+            ((NativeMirror) vector.getNativeMirror()).setLength(length);
         }
     }
 
@@ -475,7 +618,7 @@ public final class NativeDataAccess {
         if (noIntNative.isValid() || data != null) {
             allocateNativeContents(vector, data, data.length);
         }
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static int getDataLengthFromMirror(Object mirror) {
@@ -524,7 +667,7 @@ public final class NativeDataAccess {
         if (noLogicalNative.isValid() || data != null) {
             allocateNativeContents(vector, data, length);
         } else {
-            ((NativeMirror) vector.getNativeMirror()).length = length;
+            ((NativeMirror) vector.getNativeMirror()).setLength(length);
         }
     }
 
@@ -537,7 +680,7 @@ public final class NativeDataAccess {
         if (noLogicalNative.isValid() || data != null) {
             allocateNativeContents(vector, data, data.length);
         }
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static byte getData(RRawVector vector, byte[] data, int index) {
@@ -560,7 +703,7 @@ public final class NativeDataAccess {
         if (noRawNative.isValid() || data != null) {
             allocateNativeContents(vector, data, length);
         } else {
-            ((NativeMirror) vector.getNativeMirror()).length = length;
+            ((NativeMirror) vector.getNativeMirror()).setLength(length);
         }
     }
 
@@ -572,7 +715,7 @@ public final class NativeDataAccess {
         if (noRawNative.isValid() || data != null) {
             allocateNativeContents(vector, data, data.length);
         }
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static void setData(RRawVector vector, byte[] data, int index, byte value) {
@@ -605,7 +748,7 @@ public final class NativeDataAccess {
         if (noDoubleNative.isValid() || data != null) {
             allocateNativeContents(vector, data, length);
         } else {
-            ((NativeMirror) vector.getNativeMirror()).length = length;
+            ((NativeMirror) vector.getNativeMirror()).setLength(length);
         }
     }
 
@@ -617,7 +760,7 @@ public final class NativeDataAccess {
         if (noDoubleNative.isValid() || data != null) {
             allocateNativeContents(vector, data, data.length);
         }
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static void setData(RDoubleVector vector, double[] data, int index, double value) {
@@ -664,7 +807,7 @@ public final class NativeDataAccess {
         if (noComplexNative.isValid() || data != null) {
             allocateNativeContents(vector, data, length);
         } else {
-            ((NativeMirror) vector.getNativeMirror()).length = length;
+            ((NativeMirror) vector.getNativeMirror()).setLength(length);
         }
     }
 
@@ -676,7 +819,7 @@ public final class NativeDataAccess {
         if (noComplexNative.isValid() || data != null) {
             allocateNativeContents(vector, data, data.length);
         }
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static void setData(RComplexVector vector, double[] data, int index, double re, double im) {
@@ -691,16 +834,12 @@ public final class NativeDataAccess {
         }
     }
 
-    static void setDataLength(RStringVector vector, CharSXPWrapper[] data) {
-        ((NativeMirror) vector.getNativeMirror()).length = data.length;
-    }
-
     static int getTrueDataLength(RStringVector vector) {
         return (int) ((NativeMirror) vector.getNativeMirror()).truelength;
     }
 
     static void setTrueDataLength(RStringVector vector, int truelength) {
-        ((NativeMirror) vector.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) vector.getNativeMirror()).setTruelength(truelength);
     }
 
     static int getTrueDataLength(CharSXPWrapper charsxp) {
@@ -708,7 +847,7 @@ public final class NativeDataAccess {
     }
 
     static void setTrueDataLength(CharSXPWrapper charsxp, int truelength) {
-        ((NativeMirror) charsxp.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) charsxp.getNativeMirror()).setTruelength(truelength);
     }
 
     static int getTrueDataLength(RListBase list) {
@@ -716,7 +855,7 @@ public final class NativeDataAccess {
     }
 
     static void setTrueDataLength(RListBase list, int truelength) {
-        ((NativeMirror) list.getNativeMirror()).truelength = truelength;
+        ((NativeMirror) list.getNativeMirror()).setTruelength(truelength);
     }
 
     static String getData(CharSXPWrapper charSXPWrapper, String data) {
@@ -831,13 +970,115 @@ public final class NativeDataAccess {
         NativeMirror mirror = (NativeMirror) vector.getNativeMirror();
         assert mirror != null;
         if (mirror.dataAddress == 0) {
-            // Note: shall the character vector become writeable and not only read-only, we should
-            // crate assumption like for other vector types
+            noStringNative.invalidate();
             mirror.allocateNative(charSXPdata);
         }
+        if (mirror.headerData && (mirror.getFlags() & HEADER_FLAG_TRACKED) == 0) {
+            mirror.setFlags(mirror.getFlags() | HEADER_FLAG_TRACKED);
+            RContext.getInstance().getStateRFFI().registerNativeStringVector(vector);
+        }
         return mirror.dataAddress;
     }
 
+    /**
+     * Allows native code to store elements into the native view of {@code vector} directly until
+     * the next synchronization with the Java side and registers it with the {@link RFFIContext} for
+     * that synchronization. Invoked by the {@code SET_STRING_ELT} up-call, so the Java side only
+     * has to look at the vectors actually stored into by native code.
+     */
+    static void markNativeWrites(RStringVector vector) {
+        NativeMirror mirror = getNativeStrings(vector);
+        if (mirror != null) {
+            int flags = mirror.getFlags();
+            if ((flags & HEADER_FLAG_TRACKED) != 0 && (flags & HEADER_FLAG_NATIVE_WRITES) == 0) {
+                mirror.setFlags(flags | HEADER_FLAG_NATIVE_WRITES);
+                RContext.getInstance().getStateRFFI().registerNativeStringWrites(vector);
+            }
+        }
+    }
+
+    private static NativeMirror getNativeStrings(RStringVector vector) {
+        NativeMirror mirror = (NativeMirror) vector.getNativeMirror();
+        return mirror != null && mirror.headerData && mirror.dataAddress != 0 ? mirror : null;
+    }
+
+    /**
+     * Returns {@code true} if {@code vector} has a native view, which must be kept up to date with
+     * any change of the Java side data.
+     */
+    static boolean hasNativeContents(RStringVector vector) {
+        return !noStringNative.isValid() && getNativeStrings(vector) != null;
+    }
+
+    /**
+     * Returns {@code true} if native code stored elements directly into the native view of
+     * {@code vector}, which are not in its Java side data yet, see
+     * {@link #copyNativeWrites(RStringVector, CharSXPWrapper[], boolean)}.
+     */
+    static boolean hasNativeWrites(RStringVector vector) {
+        if (noStringNative.isValid()) {
+            return false;
+        }
+        NativeMirror mirror = getNativeStrings(vector);
+        return mirror != null && (mirror.getFlags() & HEADER_FLAG_NATIVE_WRITES) != 0;
+    }
+
+    /**
+     * Copies the elements stored by native code into the native view of {@code vector} to
+     * {@code data}. If {@code untrack} is {@code true}, further native stores go through an up-call
+     * until the vector is registered with the {@link RFFIContext} again.
+     */
+    @TruffleBoundary
+    static void copyNativeWrites(RStringVector vector, CharSXPWrapper[] data, boolean untrack) {
+        NativeMirror mirror = (NativeMirror) vector.getNativeMirror();
+        if (mirror == null || !mirror.headerData) {
+            return;
+        }
+        int flags = mirror.getFlags();
+        if ((flags & HEADER_FLAG_NATIVE_WRITES) != 0) {
+            assert mirror.dataAddress != 0 && data.length <= mirror.length;
+            for (int i = 0; i < data.length; i++) {
+                long element = UnsafeAdapter.UNSAFE.getLong(mirror.dataAddress + i * Long.BYTES);
+                NativeMirror elementMirror = data[i] == null ? null : (NativeMirror) data[i].getNativeMirror();
+                if (elementMirror == null || elementMirror.id != element) {
+                    data[i] = (CharSXPWrapper) lookup(element);
+                }
+            }
+        }
+        mirror.setFlags(untrack ? 0 : flags & HEADER_FLAG_TRACKED);
+    }
+
+    /**
+     * Stores {@code value} into the native view of {@code vector}, if there is one.
+     */
+    static void setData(RStringVector vector, int index, CharSXPWrapper value) {
+        if (!noStringNative.isValid()) {
+            NativeMirror mirror = getNativeStrings(vector);
+            if (mirror != null) {
+                assert index < mirror.length;
+                UnsafeAdapter.UNSAFE.putLong(mirror.dataAddress + index * Long.BYTES, asPointer(value));
+            }
+        }
+    }
+
+    /**
+     * Updates the native view of {@code vector} after its length changed to {@code length}. It is
+     * kept if the vector shrinks, since native code may still hold a pointer to it, and dropped
+     * otherwise.
+     */
+    static void setDataLength(RStringVector vector, int length) {
+        if (!noStringNative.isValid()) {
+            NativeMirror mirror = getNativeStrings(vector);
+            if (mirror != null) {
+                if (length <= mirror.length) {
+                    mirror.setLength(length);
+                } else {
+                    mirror.releaseNativeStrings();
+                }
+            }
+        }
+    }
+
     static long allocateNativeContents(CharSXPWrapper vector, byte[] data) {
         NativeMirror mirror = (NativeMirror) vector.getNativeMirror();
         assert mirror != null;
@@ -915,9 +1156,18 @@ public final class NativeDataAccess {
             noLogicalNative.invalidate();
         }
         NativeMirror mirror = (NativeMirror) obj.getNativeMirror();
-        mirror.dataAddress = address;
-        mirror.length = length;
+        mirror.setContents(address, length);
+    }
 
+    /**
+     * Marks the native contents of {@code obj}, which must have been set with
+     * {@link #setNativeContents(RObject, long, int)}, as owned by {@code owner}. The owner is kept
+     * reachable as long as {@code obj} is and the memory is not freed when {@code obj} is collected.
+     */
+    public static void setExternalOwner(RObject obj, Object owner) {
+        NativeMirror mirror = (NativeMirror) obj.getNativeMirror();
+        assert mirror != null && mirror.dataAddress != 0;
+        mirror.externalOwner = owner;
     }
 
     public static void setNativeWrapper(RObject obj, Object wrapper) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.runtime.FastROptions;
+
+/**
+ * A bounded, least recently used cache of the results of {@code parse} for the same source text,
+ * which is common in code that calls {@code eval(parse(text = ...))} in a loop. Returning the same
+ * language objects lets {@link Closure} reuse the call targets it created for them, instead of
+ * evaluating fresh ASTs that never get compiled.
+ *
+ * The cached expressions and their elements are marked as shared permanent, so that any
+ * modification made by R code copies them. Results that carry source references to a
+ * {@code srcfile} environment are not cached, since the environment differs for every call.
+ */
+public final class ParseCache {
+
+    private final LinkedHashMap<Source, RExpression> cache = new LinkedHashMap<Source, RExpression>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Source, RExpression> eldest) {
+            return size() > FastROptions.ParseCacheSize.getNonNegativeIntValue();
+        }
+    };
+
+    public static boolean isEnabled() {
+        return FastROptions.ParseCacheSize.getNonNegativeIntValue() > 0;
+    }
+
+    @TruffleBoundary
+    public RExpression get(Source source) {
+        return cache.get(source);
+    }
+
+    @TruffleBoundary
+    public void put(Source source, RExpression exprs) {
+        for (int i = 0; i < exprs.getLength(); i++) {
+            Object element = exprs.getDataAt(i);
+            if (element instanceof RShareable) {
+                ((RShareable) element).makeSharedPermanent();
+            }
+        }
+        exprs.makeSharedPermanent();
+        cache.put(source, exprs);
+    }
+}
@@ -694,6 +694,10 @@ public final class RDataFactory {
             return traceDataCreated(new RFunction(name, packageName, target, builtin, enclosingFrame));
         }
 
+        public final RFunction createFunction(String name, String packageName, RFunction.LazyTarget target, MaterializedFrame enclosingFrame) {
+            return traceDataCreated(new RFunction(name, packageName, target, enclosingFrame));
+        }
+
         private static final AtomicInteger environmentCount = new AtomicInteger();
 
         @TruffleBoundary
@@ -1229,6 +1233,14 @@ public final class RDataFactory {
         return traceDataCreated(new RPromise.EagerPromise(state, exprClosure, eagerValue, notChangedNonLocally, targetFrame, feedback, wrapIndex, execFrame));
     }
 
+    public static RPromise createEagerPromise(PromiseState state, Closure exprClosure, Object eagerValue, Assumption notChangedNonLocally, Assumption[] additionalAssumptions, RCaller targetFrame,
+                    EagerFeedback feedback, int wrapIndex, MaterializedFrame execFrame) {
+        if (FastROptions.noEagerEval()) {
+            throw RInternalError.shouldNotReachHere();
+        }
+        return traceDataCreated(new RPromise.EagerPromise(state, exprClosure, eagerValue, notChangedNonLocally, additionalAssumptions, targetFrame, feedback, wrapIndex, execFrame));
+    }
+
     public static RPromise createPromisedPromise(Closure exprClosure, Object eagerValue, Assumption notChangedNonLocally, RCaller targetFrame, EagerFeedback feedback, MaterializedFrame execFrame) {
         if (FastROptions.noEagerEval()) {
             throw RInternalError.shouldNotReachHere();
@@ -1268,6 +1280,10 @@ public final class RDataFactory {
         return traceDataCreated(new RFunction(name, packageName, target, builtin, enclosingFrame));
     }
 
+    public static RFunction createFunction(String name, String packageName, RFunction.LazyTarget target, MaterializedFrame enclosingFrame) {
+        return traceDataCreated(new RFunction(name, packageName, target, enclosingFrame));
+    }
+
     private static final AtomicInteger environmentCount = new AtomicInteger();
 
     @TruffleBoundary
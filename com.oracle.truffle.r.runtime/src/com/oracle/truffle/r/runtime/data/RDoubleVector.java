@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.data;
 
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -89,7 +90,7 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
 
     @Override
     public double[] getInternalManagedData() {
-        return data;
+        return getTrimmedManagedData();
     }
 
     @Override
@@ -124,11 +125,13 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
 
     @Override
     public int getLength() {
-        return NativeDataAccess.getDataLength(this, data);
+        int length = managedLength;
+        return length >= 0 ? length : NativeDataAccess.getDataLength(this, data);
     }
 
     @Override
     public void setLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setDataLength(this, data, l);
         } finally {
@@ -144,6 +147,7 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
 
     @Override
     public void setTrueLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setTrueDataLength(this, data, l);
         } finally {
@@ -160,7 +164,7 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
     @Override
     public double[] getDataCopy() {
         if (data != null) {
-            return Arrays.copyOf(data, data.length);
+            return Arrays.copyOf(data, getLength());
         } else {
             return NativeDataAccess.copyDoubleNativeData(getNativeMirror());
         }
@@ -169,7 +173,7 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
     @Override
     public double[] getReadonlyData() {
         if (data != null) {
-            return data;
+            return getTrimmedManagedData();
         } else {
             return NativeDataAccess.copyDoubleNativeData(getNativeMirror());
         }
@@ -245,6 +249,7 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
     }
 
     public long allocateNativeContents() {
+        trimManagedData();
         try {
             return NativeDataAccess.allocateNativeContents(this, data, getLength());
         } finally {
@@ -253,6 +258,41 @@ public final class RDoubleVector extends RVector<double[]> implements RAbstractD
         }
     }
 
+    @Override
+    protected boolean internalGrowInPlace(int newLength) {
+        double[] localData = data;
+        if (localData == null) {
+            return false;
+        }
+        int oldLength = getLength();
+        if (newLength > localData.length) {
+            localData = Arrays.copyOf(localData, growCapacity(oldLength, newLength));
+        }
+        Arrays.fill(localData, oldLength, newLength, RRuntime.DOUBLE_NA);
+        data = localData;
+        managedLength = newLength == localData.length ? -1 : newLength;
+        complete = false;
+        return true;
+    }
+
+    private void trimManagedData() {
+        if (managedLength >= 0) {
+            trimManagedDataSlowPath();
+        }
+    }
+
+    @TruffleBoundary
+    private void trimManagedDataSlowPath() {
+        data = Arrays.copyOf(data, managedLength);
+        fence = 42; // make sure the array is really initialized before the length is reset
+        managedLength = -1;
+    }
+
+    private double[] getTrimmedManagedData() {
+        trimManagedData();
+        return data;
+    }
+
     private static final class FastPathAccess extends FastPathFromDoubleAccess {
 
         FastPathAccess(RAbstractContainer value) {
@@ -22,7 +22,9 @@
  */
 package com.oracle.truffle.r.runtime.data;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.RootNode;
@@ -37,7 +39,8 @@ import com.oracle.truffle.r.runtime.context.RContext;
  * are as follows:
  * <ul>
  * <li>The {@link #name} is optional. It is only set initially for builtins (required).
- * <li>The {@link #target} represents the actually callable entry point to the function.
+ * <li>The {@link #target} represents the actually callable entry point to the function. It may be
+ * created only when it is first needed, see {@link LazyTarget}.
  * <li>Functions may represent builtins; this is indicated by the {@link #builtin} flag set to the
  * associated {@link RBuiltin} instance.
  * <li>The lexically enclosing environment of this function's definition is referenced by
@@ -51,6 +54,11 @@ public final class RFunction extends RSharingAttributeStorage implements RTypedV
     private final String name;
     private final String packageName;
     @CompilationFinal private RootCallTarget target;
+    /**
+     * Kept even after {@link #target} is set, threads that do not see the published target yet
+     * still get the same one from it.
+     */
+    private final LazyTarget lazyTarget;
     private final RBuiltinDescriptor builtin;
 
     @CompilationFinal private MaterializedFrame enclosingFrame;
@@ -58,6 +66,7 @@ public final class RFunction extends RSharingAttributeStorage implements RTypedV
     RFunction(String name, String packageName, RootCallTarget target, RBuiltinDescriptor builtin, MaterializedFrame enclosingFrame) {
         this.packageName = packageName;
         this.target = target;
+        this.lazyTarget = null;
         this.builtin = builtin;
         this.name = name;
         if (!isBuiltin() && name != NO_NAME) {
@@ -67,6 +76,36 @@ public final class RFunction extends RSharingAttributeStorage implements RTypedV
         this.enclosingFrame = enclosingFrame instanceof VirtualEvalFrame ? ((VirtualEvalFrame) enclosingFrame).getOriginalFrame() : enclosingFrame;
     }
 
+    RFunction(String name, String packageName, LazyTarget lazyTarget, MaterializedFrame enclosingFrame) {
+        this.packageName = packageName;
+        this.lazyTarget = lazyTarget;
+        this.builtin = null;
+        this.name = name;
+        this.enclosingFrame = enclosingFrame instanceof VirtualEvalFrame ? ((VirtualEvalFrame) enclosingFrame).getOriginalFrame() : enclosingFrame;
+    }
+
+    /**
+     * Creates the call target of a closure when it is first needed, e.g., when the closure is called
+     * or deparsed. This is used for closures that are unserialized from the lazy-load databases of
+     * packages, most of which are never called. The target is created only once, even if the
+     * function was copied before, so that all copies share it as they would otherwise.
+     */
+    public abstract static class LazyTarget {
+        private RootCallTarget target;
+
+        private synchronized RootCallTarget get(RFunction function) {
+            if (target == null) {
+                target = create(function);
+            }
+            return target;
+        }
+
+        /**
+         * Creates the target, {@code function} is the copy of the function that needs it first.
+         */
+        protected abstract RootCallTarget create(RFunction function);
+    }
+
     @Override
     public RType getRType() {
         // Note: GnuR distinguishes "builtins" and "specials" (BUILTINSXP vs SPECIALSXP). The later
@@ -92,11 +131,26 @@ public final class RFunction extends RSharingAttributeStorage implements RTypedV
     }
 
     public RootCallTarget getTarget() {
-        return target;
+        RootCallTarget result = target;
+        if (result == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            result = materializeTarget();
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private RootCallTarget materializeTarget() {
+        RootCallTarget result = lazyTarget.get(this);
+        if (name != NO_NAME) {
+            RContext.getRRuntimeASTAccess().setFunctionName(result.getRootNode(), name);
+        }
+        target = result;
+        return result;
     }
 
     public RootNode getRootNode() {
-        return target.getRootNode();
+        return getTarget().getRootNode();
     }
 
     public MaterializedFrame getEnclosingFrame() {
@@ -105,12 +159,18 @@ public final class RFunction extends RSharingAttributeStorage implements RTypedV
 
     @Override
     public String toString() {
-        return target.toString();
+        return getTarget().toString();
     }
 
     @Override
     public RFunction copy() {
-        RFunction newFunction = RDataFactory.createFunction(getName(), getPackageName(), getTarget(), getRBuiltin(), getEnclosingFrame());
+        LazyTarget lazy = lazyTarget;
+        RFunction newFunction;
+        if (target == null && lazy != null) {
+            newFunction = RDataFactory.createFunction(getName(), getPackageName(), lazy, getEnclosingFrame());
+        } else {
+            newFunction = RDataFactory.createFunction(getName(), getPackageName(), getTarget(), getRBuiltin(), getEnclosingFrame());
+        }
         if (getAttributes() != null) {
             newFunction.initAttributes(RAttributesLayout.copy(getAttributes()));
         }
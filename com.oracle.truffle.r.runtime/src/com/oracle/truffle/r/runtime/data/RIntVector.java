@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.data;
 
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -106,7 +107,7 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
     @Override
     protected RIntVector internalCopy() {
         if (data != null) {
-            return new RIntVector(Arrays.copyOf(data, data.length), isComplete());
+            return new RIntVector(Arrays.copyOf(data, getLength()), isComplete());
         } else {
             return new RIntVector(getDataCopy(), isComplete());
         }
@@ -127,11 +128,13 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
 
     @Override
     public int getLength() {
-        return NativeDataAccess.getDataLength(this, data);
+        int length = managedLength;
+        return length >= 0 ? length : NativeDataAccess.getDataLength(this, data);
     }
 
     @Override
     public void setLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setDataLength(this, data, l);
         } finally {
@@ -147,6 +150,7 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
 
     @Override
     public void setTrueLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setTrueDataLength(this, data, l);
         } finally {
@@ -158,7 +162,7 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
     @Override
     public int[] getDataCopy() {
         if (data != null) {
-            return Arrays.copyOf(data, data.length);
+            return Arrays.copyOf(data, getLength());
         } else {
             return NativeDataAccess.copyIntNativeData(getNativeMirror());
         }
@@ -166,13 +170,13 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
 
     @Override
     public int[] getInternalManagedData() {
-        return data;
+        return getTrimmedManagedData();
     }
 
     @Override
     public int[] getReadonlyData() {
         if (data != null) {
-            return data;
+            return getTrimmedManagedData();
         } else {
             return NativeDataAccess.copyIntNativeData(getNativeMirror());
         }
@@ -253,6 +257,7 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
     }
 
     public long allocateNativeContents() {
+        trimManagedData();
         try {
             return NativeDataAccess.allocateNativeContents(this, data, getLength());
         } finally {
@@ -261,6 +266,41 @@ public final class RIntVector extends RVector<int[]> implements RAbstractIntVect
         }
     }
 
+    @Override
+    protected boolean internalGrowInPlace(int newLength) {
+        int[] localData = data;
+        if (localData == null) {
+            return false;
+        }
+        int oldLength = getLength();
+        if (newLength > localData.length) {
+            localData = Arrays.copyOf(localData, growCapacity(oldLength, newLength));
+        }
+        Arrays.fill(localData, oldLength, newLength, RRuntime.INT_NA);
+        data = localData;
+        managedLength = newLength == localData.length ? -1 : newLength;
+        complete = false;
+        return true;
+    }
+
+    private void trimManagedData() {
+        if (managedLength >= 0) {
+            trimManagedDataSlowPath();
+        }
+    }
+
+    @TruffleBoundary
+    private void trimManagedDataSlowPath() {
+        data = Arrays.copyOf(data, managedLength);
+        fence = 42; // make sure the array is really initialized before the length is reset
+        managedLength = -1;
+    }
+
+    private int[] getTrimmedManagedData() {
+        trimManagedData();
+        return data;
+    }
+
     private static final class FastPathAccess extends FastPathFromIntAccess {
 
         FastPathAccess(RAbstractContainer value) {
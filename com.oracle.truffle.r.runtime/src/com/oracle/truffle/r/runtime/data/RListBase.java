@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.data;
 
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.data.model.RAbstractListBaseVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractListVector;
@@ -62,11 +63,13 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
 
     @Override
     public final int getLength() {
-        return data.length;
+        int length = managedLength;
+        return length >= 0 ? length : data.length;
     }
 
     @Override
     public void setLength(int l) {
+        trimManagedData();
         if (l != data.length) {
             Object[] newData = new Object[l];
             System.arraycopy(data, 0, newData, 0, l < data.length ? l : data.length);
@@ -115,7 +118,7 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
 
     @Override
     public Object[] getInternalManagedData() {
-        return data;
+        return getTrimmedManagedData();
     }
 
     /**
@@ -124,7 +127,7 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
      */
     @Override
     public final Object[] getReadonlyData() {
-        return data;
+        return getTrimmedManagedData();
     }
 
     public final Object[] getDataWithoutCopying() {
@@ -133,8 +136,8 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
 
     @Override
     public final Object[] getDataCopy() {
-        Object[] copy = new Object[data.length];
-        System.arraycopy(data, 0, copy, 0, data.length);
+        Object[] copy = new Object[getLength()];
+        System.arraycopy(data, 0, copy, 0, copy.length);
         return copy;
     }
 
@@ -178,8 +181,9 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
     }
 
     protected final Object[] copyResizedData(int size, boolean fillNA) {
-        Object[] newData = Arrays.copyOf(data, size);
-        return resizeData(newData, this.data, this.getLength(), fillNA);
+        Object[] localData = getReadonlyData();
+        Object[] newData = Arrays.copyOf(localData, size);
+        return resizeData(newData, localData, localData.length, fillNA);
     }
 
     private static Object[] resizeData(Object[] newData, Object[] oldData, int oldDataLength, boolean fillNA) {
@@ -202,4 +206,35 @@ public abstract class RListBase extends RVector<Object[]> implements RAbstractLi
     public final void setElement(int i, Object value) {
         data[i] = value;
     }
+
+    @Override
+    protected final boolean internalGrowInPlace(int newLength) {
+        Object[] localData = data;
+        int oldLength = getLength();
+        if (newLength > localData.length) {
+            localData = Arrays.copyOf(localData, growCapacity(oldLength, newLength));
+        }
+        Arrays.fill(localData, oldLength, newLength, RNull.instance);
+        data = localData;
+        managedLength = newLength == localData.length ? -1 : newLength;
+        return true;
+    }
+
+    private void trimManagedData() {
+        if (managedLength >= 0) {
+            trimManagedDataSlowPath();
+        }
+    }
+
+    @TruffleBoundary
+    private void trimManagedDataSlowPath() {
+        data = Arrays.copyOf(data, managedLength);
+        fence = 42; // make sure the array is really initialized before the length is reset
+        managedLength = -1;
+    }
+
+    private Object[] getTrimmedManagedData() {
+        trimManagedData();
+        return data;
+    }
 }
@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.data;
 
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -85,7 +86,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
 
     @Override
     public byte[] getInternalManagedData() {
-        return data;
+        return getTrimmedManagedData();
     }
 
     @Override
@@ -108,7 +109,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
     @Override
     protected RLogicalVector internalCopy() {
         if (data != null) {
-            return new RLogicalVector(Arrays.copyOf(data, data.length), isComplete());
+            return new RLogicalVector(Arrays.copyOf(data, getLength()), isComplete());
         } else {
             return new RLogicalVector(getNativeDataCopy(), isComplete());
         }
@@ -129,7 +130,8 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
 
     @Override
     public int getLength() {
-        return NativeDataAccess.getDataLength(this, data);
+        int length = managedLength;
+        return length >= 0 ? length : NativeDataAccess.getDataLength(this, data);
     }
 
     @Override
@@ -139,6 +141,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
 
     @Override
     public void setLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setDataLength(this, data, l);
         } finally {
@@ -149,6 +152,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
 
     @Override
     public void setTrueLength(int l) {
+        trimManagedData();
         try {
             NativeDataAccess.setTrueDataLength(this, data, l);
         } finally {
@@ -215,7 +219,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
     @Override
     public byte[] getDataCopy() {
         if (data != null) {
-            return Arrays.copyOf(data, data.length);
+            return Arrays.copyOf(data, getLength());
         } else {
             return getNativeDataCopy();
         }
@@ -224,7 +228,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
     @Override
     public byte[] getReadonlyData() {
         if (data != null) {
-            return data;
+            return getTrimmedManagedData();
         } else {
             return getNativeDataCopy();
         }
@@ -246,6 +250,7 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
     }
 
     public long allocateNativeContents() {
+        trimManagedData();
         try {
             return NativeDataAccess.allocateNativeContents(this, data, getLength());
         } finally {
@@ -264,6 +269,41 @@ public final class RLogicalVector extends RVector<byte[]> implements RAbstractLo
         return result;
     }
 
+    @Override
+    protected boolean internalGrowInPlace(int newLength) {
+        byte[] localData = data;
+        if (localData == null) {
+            return false;
+        }
+        int oldLength = getLength();
+        if (newLength > localData.length) {
+            localData = Arrays.copyOf(localData, growCapacity(oldLength, newLength));
+        }
+        Arrays.fill(localData, oldLength, newLength, RRuntime.LOGICAL_NA);
+        data = localData;
+        managedLength = newLength == localData.length ? -1 : newLength;
+        complete = false;
+        return true;
+    }
+
+    private void trimManagedData() {
+        if (managedLength >= 0) {
+            trimManagedDataSlowPath();
+        }
+    }
+
+    @TruffleBoundary
+    private void trimManagedDataSlowPath() {
+        data = Arrays.copyOf(data, managedLength);
+        fence = 42; // make sure the array is really initialized before the length is reset
+        managedLength = -1;
+    }
+
+    private byte[] getTrimmedManagedData() {
+        trimManagedData();
+        return data;
+    }
+
     private static final class FastPathAccess extends FastPathFromLogicalAccess {
 
         FastPathAccess(RAbstractContainer value) {
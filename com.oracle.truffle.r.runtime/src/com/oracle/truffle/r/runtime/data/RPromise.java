@@ -27,6 +27,7 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameInstance.FrameAccess;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -289,6 +290,11 @@ public class RPromise extends RObject implements RTypedValue {
         private final Object eagerValue;
 
         private final Assumption notChangedNonLocally;
+        /**
+         * Further assumptions that have to hold for {@link #eagerValue} to be valid, used for
+         * expressions that read more than one variable. May be {@code null}.
+         */
+        private final Assumption[] additionalAssumptions;
         private final RCaller targetFrame;
         private final EagerFeedback feedback;
         private final int wrapIndex;
@@ -300,10 +306,16 @@ public class RPromise extends RObject implements RTypedValue {
         private boolean deoptimized = false;
 
         EagerPromise(PromiseState state, Closure closure, Object eagerValue, Assumption notChangedNonLocally, RCaller targetFrame, EagerFeedback feedback, int wrapIndex, MaterializedFrame execFrame) {
+            this(state, closure, eagerValue, notChangedNonLocally, null, targetFrame, feedback, wrapIndex, execFrame);
+        }
+
+        EagerPromise(PromiseState state, Closure closure, Object eagerValue, Assumption notChangedNonLocally, Assumption[] additionalAssumptions, RCaller targetFrame, EagerFeedback feedback,
+                        int wrapIndex, MaterializedFrame execFrame) {
             super(state, execFrame, closure);
             assert state != PromiseState.Explicit;
             this.eagerValue = eagerValue;
             this.notChangedNonLocally = notChangedNonLocally;
+            this.additionalAssumptions = additionalAssumptions;
             this.targetFrame = targetFrame;
             this.feedback = feedback;
             this.wrapIndex = wrapIndex;
@@ -344,7 +356,18 @@ public class RPromise extends RObject implements RTypedValue {
         }
 
         public boolean isValid() {
-            return notChangedNonLocally.isValid();
+            return notChangedNonLocally.isValid() && areAdditionalAssumptionsValid();
+        }
+
+        public boolean areAdditionalAssumptionsValid() {
+            if (additionalAssumptions != null) {
+                for (Assumption assumption : additionalAssumptions) {
+                    if (!assumption.isValid()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
         }
 
         public void notifyFailure() {
@@ -375,6 +398,12 @@ public class RPromise extends RObject implements RTypedValue {
      * A factory which produces instances of {@link RPromise}.
      */
     public static final class RPromiseFactory {
+        /**
+         * The primary assumption of eagerly evaluated expressions, which is never invalidated; their
+         * validity is determined by the assumptions of the variables they read.
+         */
+        private static final Assumption EAGER_EXPRESSION_ASSUMPTION = Truffle.getRuntime().createAssumption("eager expression");
+
         private final Closure exprClosure;
         private final PromiseState state;
 
@@ -412,6 +441,16 @@ public class RPromise extends RObject implements RTypedValue {
                             feedback, wrapIndex, execFrame);
         }
 
+        /**
+         * Variant of {@link #createEagerSuppliedPromise} for an eagerly evaluated expression that
+         * stays valid as long as all of the given {@link Assumption}s hold.
+         */
+        public RPromise createEagerExpressionPromise(Object eagerValue, Assumption[] notChangedNonLocally, RCaller targetFrame, EagerFeedback feedback, int wrapIndex,
+                        MaterializedFrame execFrame) {
+            return RDataFactory.createEagerPromise(state == PromiseState.Default ? PromiseState.EagerDefault : PromiseState.EagerSupplied, exprClosure, eagerValue, EAGER_EXPRESSION_ASSUMPTION,
+                            notChangedNonLocally, targetFrame, feedback, wrapIndex, execFrame);
+        }
+
         public RPromise createPromisedPromise(RPromise promisedPromise, Assumption notChangedNonLocally, RCaller targetFrame, EagerFeedback feedback, MaterializedFrame execFrame) {
             assert state == PromiseState.Supplied;
             return RDataFactory.createPromisedPromise(exprClosure, promisedPromise, notChangedNonLocally, targetFrame, feedback, execFrame);
@@ -76,7 +76,8 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     public Object[] getInternalManagedData() {
-        return data;
+        syncNativeWrites();
+        return getTrimmedManagedData();
     }
 
     @Override
@@ -91,7 +92,9 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
             ((String[]) store)[index] = value;
         } else {
             assert store instanceof CharSXPWrapper[] : store;
-            ((CharSXPWrapper[]) store)[index] = CharSXPWrapper.create(value);
+            CharSXPWrapper element = CharSXPWrapper.create(value);
+            ((CharSXPWrapper[]) store)[index] = element;
+            NativeDataAccess.setData(this, index, element);
         }
     }
 
@@ -107,22 +110,26 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     protected RStringVector internalCopy() {
-        Object[] localData = data;
-        return new RStringVector(Arrays.copyOf(localData, localData.length), isComplete());
+        syncNativeWrites();
+        return new RStringVector(Arrays.copyOf(data, getLength()), isComplete());
     }
 
     @Override
     public int getLength() {
-        return data.length;
+        int length = managedLength;
+        return length >= 0 ? length : data.length;
     }
 
     @Override
     public void setLength(int l) {
+        syncNativeWrites();
+        trimManagedData();
         if (l != data.length) {
             Object[] newData = data instanceof String[] ? new String[l] : new CharSXPWrapper[l];
             System.arraycopy(data, 0, newData, 0, l < data.length ? l : data.length);
             fence = 42; // make sure the array is really initialized before we set it to this.data
             this.data = newData;
+            NativeDataAccess.setDataLength(this, l);
         }
     }
 
@@ -138,13 +145,15 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     public String[] getDataCopy() {
+        syncNativeWrites();
         Object[] localData = data;
-        String[] copy = new String[localData.length];
+        int length = getLength();
+        String[] copy = new String[length];
         if (noWrappedStrings.isValid() || localData instanceof String[]) {
-            System.arraycopy(localData, 0, copy, 0, localData.length);
+            System.arraycopy(localData, 0, copy, 0, length);
         } else {
             CharSXPWrapper[] wrappers = (CharSXPWrapper[]) localData;
-            for (int i = 0; i < localData.length; i++) {
+            for (int i = 0; i < length; i++) {
                 copy[i] = wrappers[i].getContents();
             }
         }
@@ -153,7 +162,8 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     public Object[] getReadonlyData() {
-        return data;
+        syncNativeWrites();
+        return getTrimmedManagedData();
     }
 
     /**
@@ -161,7 +171,7 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
      * wrapped in {@link CharSXPWrapper}, then it unwraps them to a newly allocated array.
      */
     public String[] getReadonlyStringData() {
-        Object[] localData = data;
+        Object[] localData = getReadonlyData();
         if (noWrappedStrings.isValid() || localData instanceof String[]) {
             return (String[]) localData;
         }
@@ -197,7 +207,9 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
             localData[i] = right;
         } else {
             assert localData instanceof CharSXPWrapper[] : localData;
-            ((CharSXPWrapper[]) localData)[i] = CharSXPWrapper.create(right);
+            CharSXPWrapper element = CharSXPWrapper.create(right);
+            ((CharSXPWrapper[]) localData)[i] = element;
+            NativeDataAccess.setData(this, i, element);
         }
         if (rightNACheck.check(right)) {
             setComplete(false);
@@ -236,7 +248,7 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     protected RStringVector internalCopyResized(int size, boolean fillNA, int[] dimensions) {
-        boolean isComplete = isComplete() && ((data.length >= size) || !fillNA);
+        boolean isComplete = isComplete() && ((getLength() >= size) || !fillNA);
         return createStringVector(copyResizedData(size, fillNA ? RRuntime.STRING_NA : null), isComplete, dimensions);
     }
 
@@ -262,7 +274,7 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
     @Override
     public RStringVector copyWithNewDimensions(int[] newDimensions) {
-        return createStringVector(data, isComplete(), newDimensions);
+        return createStringVector(getReadonlyData(), isComplete(), newDimensions);
     }
 
     @Override
@@ -280,29 +292,63 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
         if (value instanceof CharSXPWrapper) {
             wrapStrings();
             data[i] = value;
+            NativeDataAccess.setData(this, i, (CharSXPWrapper) value);
         } else if (!noWrappedStrings.isValid() && data instanceof CharSXPWrapper[]) {
-            data[i] = CharSXPWrapper.create((String) value);
+            CharSXPWrapper element = CharSXPWrapper.create((String) value);
+            data[i] = element;
+            NativeDataAccess.setData(this, i, element);
         } else {
             data[i] = value;
         }
     }
 
     /**
-     * Allocates a read-only native view on this vector data. The native array items will be
-     * NativeMirror IDs pointing to {@link CharSXPWrapper} instances stored in this vector. If the
-     * vector contains plain Strings, they will be first wrapped to {@link CharSXPWrapper}s.
+     * Allocates a native view on this vector data. The native array items will be NativeMirror IDs
+     * pointing to {@link CharSXPWrapper} instances stored in this vector. If the vector contains
+     * plain Strings, they will be first wrapped to {@link CharSXPWrapper}s. Changes made on the Java
+     * side are stored into the native view immediately, native code may store elements into it
+     * directly until {@link #commitNativeWrites()} is invoked.
      */
     public long allocateNativeContents() {
         wrapStrings();
         return NativeDataAccess.allocateNativeContents(this, (CharSXPWrapper[]) data);
     }
 
+    /**
+     * Lets native code store further elements directly into the native view until control passes
+     * to Java again. Invoked by the {@code SET_STRING_ELT} up-call.
+     */
+    public void markNativeWrites() {
+        NativeDataAccess.markNativeWrites(this);
+    }
+
+    /**
+     * Transfers the elements stored directly into the native view by native code to the Java side
+     * data. Further native stores go through an up-call until the native view is requested again.
+     * Invoked by the RFFI before it releases the references kept alive for native code.
+     */
+    public void commitNativeWrites() {
+        NativeDataAccess.copyNativeWrites(this, (CharSXPWrapper[]) data, true);
+    }
+
+    /**
+     * Transfers the elements stored directly into the native view by native code to the Java side
+     * data, the next native store goes through an up-call again. Invoked by the RFFI whenever
+     * control passes from native code to Java, so that the element accessors do not have to check
+     * for such stores, and by the accessors of the whole data.
+     */
+    public void syncNativeWrites() {
+        if (NativeDataAccess.hasNativeWrites(this)) {
+            NativeDataAccess.copyNativeWrites(this, (CharSXPWrapper[]) data, false);
+        }
+    }
+
     /**
      * Converts the data to {@link CharSXPWrapper} instances. Does nothing if the data are already
      * wrapped.
      */
     public void wrapStrings() {
-        Object[] oldData = data;
+        Object[] oldData = getReadonlyData();
         if (oldData instanceof CharSXPWrapper[]) {
             return;
         }
@@ -321,6 +367,41 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
         return (CharSXPWrapper) data[index];
     }
 
+    @Override
+    protected boolean internalGrowInPlace(int newLength) {
+        if (NativeDataAccess.hasNativeContents(this)) {
+            return false;
+        }
+        Object[] localData = data;
+        int oldLength = getLength();
+        if (newLength > localData.length) {
+            localData = Arrays.copyOf(localData, growCapacity(oldLength, newLength));
+        }
+        Arrays.fill(localData, oldLength, newLength, localData instanceof String[] ? RRuntime.STRING_NA : CharSXPWrapper.create(RRuntime.STRING_NA));
+        data = localData;
+        managedLength = newLength == localData.length ? -1 : newLength;
+        setComplete(false);
+        return true;
+    }
+
+    private void trimManagedData() {
+        if (managedLength >= 0) {
+            trimManagedDataSlowPath();
+        }
+    }
+
+    @TruffleBoundary
+    private void trimManagedDataSlowPath() {
+        data = Arrays.copyOf(data, managedLength);
+        fence = 42; // make sure the array is really initialized before the length is reset
+        managedLength = -1;
+    }
+
+    private Object[] getTrimmedManagedData() {
+        trimManagedData();
+        return data;
+    }
+
     private static RStringVector createStringVector(Object[] data, boolean complete, int[] dims) {
         if (noWrappedStrings.isValid() || data instanceof String[]) {
             return RDataFactory.createStringVector((String[]) data, complete, dims);
@@ -341,7 +422,9 @@ public final class RStringVector extends RVector<Object[]> implements RAbstractS
 
         @Override
         public boolean supports(Object value) {
-            return super.supports(value) && ((RStringVector) value).getInternalStore() instanceof CharSXPWrapper[] == containsWrappers;
+            // the native view of a character vector must be updated by the vector itself
+            return super.supports(value) && ((RStringVector) value).getInternalStore() instanceof CharSXPWrapper[] == containsWrappers &&
+                            !NativeDataAccess.hasNativeContents((RStringVector) value);
         }
 
         @Override
@@ -66,6 +66,15 @@ public abstract class RVector<ArrayT> extends RSharingAttributeStorage implement
 
     protected boolean complete; // "complete" means: does not contain NAs
 
+    /**
+     * The number of elements in use if the managed data array was over-allocated by
+     * {@link #growInPlace(int)}, otherwise {@code -1}. Only the vector itself ever sees the spare
+     * capacity. Methods that hand out the whole managed array, e.g., {@link #getReadonlyData()},
+     * replace the store by a trimmed one the first time, so that repeated reads do not copy the
+     * data again, the next {@link #growInPlace(int)} over-allocates again.
+     */
+    protected int managedLength = -1;
+
     protected RVector(boolean complete) {
         this.complete = complete;
     }
@@ -97,7 +106,7 @@ public abstract class RVector<ArrayT> extends RSharingAttributeStorage implement
     public abstract ArrayT getInternalManagedData();
 
     public final boolean hasNativeMemoryData() {
-        return getInternalManagedData() == null;
+        return getInternalStore() == null;
     }
 
     /**
@@ -510,6 +519,33 @@ public abstract class RVector<ArrayT> extends RSharingAttributeStorage implement
         return result;
     }
 
+    /**
+     * Grows this vector to {@code newLength} elements like {@link #copyResized(int, boolean)} with
+     * {@code fillNA == true}, but modifies this vector instead of creating a new one. The managed
+     * array is over-allocated geometrically, so that appending to a vector one element at a time
+     * takes amortized constant time. Only non-shared vectors may be grown.
+     *
+     * @return {@code false} if this vector cannot grow in place, e.g., because it has a native mirror
+     */
+    public final boolean growInPlace(int newLength) {
+        assert !isShared();
+        assert newLength > getLength();
+        return internalGrowInPlace(newLength);
+    }
+
+    protected boolean internalGrowInPlace(@SuppressWarnings("unused") int newLength) {
+        return false;
+    }
+
+    /**
+     * Computes the capacity of the managed array when growing a vector of {@code oldLength} to at
+     * least {@code newLength} elements.
+     */
+    protected static int growCapacity(int oldLength, int newLength) {
+        long capacity = Math.max(newLength, oldLength + (oldLength >> 1) + 4L);
+        return (int) Math.min(capacity, Integer.MAX_VALUE - 8);
+    }
+
     // *internalCopyAndReport* methods do just the copy and report it to MemoryTracer. These should
     // be used if additional logic in public interface *copy* method is not desired.
 
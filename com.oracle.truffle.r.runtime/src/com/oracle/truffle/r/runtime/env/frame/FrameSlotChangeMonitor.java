@@ -459,28 +459,89 @@ public final class FrameSlotChangeMonitor {
         // System.out.println(String.format(format, args));
     }
 
+    /**
+     * The values of a frame slot of an environment shared by several contexts, indexed by
+     * {@link RContext#getMultiSlotInd()}. Contexts that have not set their own value see the
+     * {@code shared} value, which is what a slot holds when it is converted for newly spawned
+     * contexts, so the per-context array is only allocated once some context changes the binding.
+     * The memory needed by shared contexts is thus proportional to the bindings they change rather
+     * than to all the bindings of the shared environments.
+     */
     public static final class MultiSlotData {
 
-        private final Object[] data;
+        private static final Object UNSET = new Object();
+
+        private Object shared;
+        private volatile Object[] data;
 
         public MultiSlotData(MultiSlotData prevValue) {
-            data = Arrays.copyOf(prevValue.data, ChildContextInfo.contextNum());
+            shared = prevValue.shared;
+            Object[] prevData = prevValue.data;
+            if (prevData != null) {
+                data = grow(prevData, ChildContextInfo.contextNum());
+            }
         }
 
         public MultiSlotData() {
-            data = new Object[ChildContextInfo.contextNum()];
         }
 
         public Object get(int ind) {
-            return data[ind];
+            Object[] d = data;
+            if (d != null && ind < d.length) {
+                Object val = d[ind];
+                if (val != UNSET) {
+                    return val;
+                }
+            }
+            return shared;
         }
 
-        public void set(int ind, Object val) {
-            data[ind] = val;
+        public synchronized void set(int ind, Object val) {
+            Object[] d = data;
+            if (d == null || ind >= d.length) {
+                d = grow(d, Math.max(ind + 1, ChildContextInfo.contextNum()));
+                data = d;
+            }
+            d[ind] = val;
+        }
+
+        /**
+         * Makes the context see the shared value again, e.g., after it has finished.
+         */
+        public synchronized void reset(int ind) {
+            Object[] d = data;
+            if (d != null && ind < d.length) {
+                d[ind] = UNSET;
+            }
         }
 
-        public void setAll(Object val) {
-            Arrays.fill(data, val);
+        /**
+         * Makes the context see {@code val}. No per-context value is stored if {@code val} is the
+         * shared value.
+         */
+        public synchronized void replicate(int ind, Object val) {
+            if (val == shared) {
+                reset(ind);
+            } else {
+                set(ind, val);
+            }
+        }
+
+        public synchronized void setAll(Object val) {
+            shared = val;
+            data = null;
+        }
+
+        private static Object[] grow(Object[] d, int length) {
+            Object[] result;
+            if (d == null) {
+                result = new Object[length];
+                Arrays.fill(result, UNSET);
+            } else {
+                result = Arrays.copyOf(d, Math.max(length, d.length));
+                Arrays.fill(result, d.length, result.length, UNSET);
+            }
+            return result;
         }
     }
 
@@ -634,7 +695,7 @@ public final class FrameSlotChangeMonitor {
                         // replicate value only for newly created child contexts
                         if (replicate) {
                             for (int i : indices) {
-                                data.set(i, prevValue);
+                                data.replicate(i, prevValue);
                             }
                         }
                     } else {
@@ -1002,7 +1063,7 @@ public final class FrameSlotChangeMonitor {
                 if (indices != null) {
                     for (int j = 0; j < indices.length; j++) {
                         assert indices[j] != 0;
-                        msd.set(indices[j], null);
+                        msd.reset(indices[j]);
                     }
                 } else {
                     // only safe value of primordial context
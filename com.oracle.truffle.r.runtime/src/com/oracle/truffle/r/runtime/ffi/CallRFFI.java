@@ -36,11 +36,11 @@ public interface CallRFFI {
 
         default Object dispatch(NativeCallInfo nativeCallInfo, Object[] args) {
             RFFIContext stateRFFI = RContext.getInstance().getStateRFFI();
-            long before = stateRFFI.beforeDowncall();
+            long before = stateRFFI.beforeDowncall(nativeCallInfo.dllInfo);
             try {
                 return execute(nativeCallInfo, args);
             } finally {
-                stateRFFI.afterDowncall(before);
+                stateRFFI.afterDowncall(before, nativeCallInfo.dllInfo);
             }
         }
 
@@ -55,11 +55,11 @@ public interface CallRFFI {
     interface InvokeVoidCallNode extends NodeInterface {
         default void dispatch(NativeCallInfo nativeCallInfo, Object[] args) {
             RFFIContext stateRFFI = RContext.getInstance().getStateRFFI();
-            long before = stateRFFI.beforeDowncall();
+            long before = stateRFFI.beforeDowncall(nativeCallInfo.dllInfo);
             try {
                 execute(nativeCallInfo, args);
             } finally {
-                stateRFFI.afterDowncall(before);
+                stateRFFI.afterDowncall(before, nativeCallInfo.dllInfo);
             }
         }
 
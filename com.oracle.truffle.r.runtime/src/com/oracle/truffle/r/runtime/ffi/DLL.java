@@ -225,6 +225,10 @@ public class DLL {
          * .Call etc.
          */
         private final boolean syntheticHandle;
+        /**
+         * Lazily initialized, see {@link NativeCallLock}.
+         */
+        private NativeCallLock nativeCallLock;
 
         private DLLInfo(String name, String path, boolean dynamicLookup, Object handle, boolean syntheticHandle) {
             this.id = ID.getAndIncrement();
@@ -297,6 +301,26 @@ public class DLL {
             }
         }
 
+        /**
+         * Determines whether the library registered any routines or C callables, i.e., symbols
+         * that can be resolved without a {@code dlsym} lookup.
+         */
+        public boolean hasRegisteredSymbols() {
+            for (DotSymbol[] symbols : nativeSymbols) {
+                if (symbols != null && symbols.length > 0) {
+                    return true;
+                }
+            }
+            return cEntryTable != null;
+        }
+
+        public NativeCallLock getNativeCallLock() {
+            if (nativeCallLock == null) {
+                nativeCallLock = NativeCallLock.create(this);
+            }
+            return nativeCallLock;
+        }
+
         public void registerCEntry(CEntry entry) {
             if (cEntryTable == null) {
                 cEntryTable = new ArrayList<>();
@@ -68,12 +68,12 @@ public abstract class InvokeCNode extends RBaseNode {
         Object[] preparedArgs = argsWrapperNode.execute(args.getArguments());
 
         RFFIContext stateRFFI = RContext.getInstance().getStateRFFI();
-        long before = stateRFFI.beforeDowncall();
+        long before = stateRFFI.beforeDowncall(nativeCallInfo.dllInfo);
         try {
             execute(nativeCallInfo, preparedArgs);
             return RDataFactory.createList(argsUnwrapperNode.execute(preparedArgs), validateArgNames(preparedArgs.length, args.getSignature()));
         } finally {
-            stateRFFI.afterDowncall(before);
+            stateRFFI.afterDowncall(before, nativeCallInfo.dllInfo);
         }
     }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ffi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
+
+/**
+ * The lock that guards down-calls into a native library when
+ * {@link FastROptions#SynchronizeNativeCode} is enabled.
+ *
+ * By default all libraries share one global lock, which is the only configuration that cannot
+ * deadlock when native code of one library up-calls into R, which in turn calls into another
+ * library on a different thread. With {@link FastROptions#SynchronizeNativeCodePerLibrary} each
+ * library gets a lock of its own. Libraries listed in
+ * {@link FastROptions#ThreadSafeNativeLibraries} are never locked.
+ *
+ * The locks are shared by all contexts, since the native libraries are loaded once per process, and
+ * they collect per library statistics about the number of calls and the contention.
+ */
+public final class NativeCallLock {
+
+    private static final String GLOBAL_NAME = "<global>";
+
+    private static final ReentrantLock globalLock = new ReentrantLock();
+    private static final NativeCallLock global = new NativeCallLock(GLOBAL_NAME, globalLock);
+
+    /**
+     * The locks of all libraries seen so far, keyed by the path of the library.
+     */
+    private static final ConcurrentHashMap<String, NativeCallLock> libraryLocks = new ConcurrentHashMap<>();
+
+    private static HashSet<String> threadSafeLibraries;
+
+    private final String name;
+    /**
+     * The lock to acquire, may be shared with other libraries or {@code null} for thread safe
+     * libraries.
+     */
+    private final ReentrantLock lock;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong contendedCalls = new AtomicLong();
+    private final AtomicLong waitTimeNanos = new AtomicLong();
+
+    private NativeCallLock(String name, ReentrantLock lock) {
+        this.name = name;
+        this.lock = lock;
+    }
+
+    /**
+     * Returns the lock for down-calls into {@code dllInfo}, or the global lock if {@code dllInfo}
+     * is {@code null}, i.e., for calls into the R runtime library itself.
+     */
+    public static NativeCallLock get(DLLInfo dllInfo) {
+        if (dllInfo == null) {
+            return global;
+        }
+        return dllInfo.getNativeCallLock();
+    }
+
+    @TruffleBoundary
+    static NativeCallLock create(DLLInfo dllInfo) {
+        return libraryLocks.computeIfAbsent(dllInfo.path, path -> {
+            ReentrantLock lock;
+            if (isThreadSafe(dllInfo.name)) {
+                lock = null;
+            } else if (FastROptions.SynchronizeNativeCodePerLibrary.getBooleanValue()) {
+                lock = new ReentrantLock();
+            } else {
+                lock = globalLock;
+            }
+            return new NativeCallLock(dllInfo.name, lock);
+        });
+    }
+
+    private static synchronized boolean isThreadSafe(String libraryName) {
+        if (threadSafeLibraries == null) {
+            threadSafeLibraries = new HashSet<>();
+            String value = FastROptions.ThreadSafeNativeLibraries.getStringValue();
+            if (value != null && !value.isEmpty()) {
+                threadSafeLibraries.addAll(Arrays.asList(value.split(",")));
+            }
+        }
+        return threadSafeLibraries.contains(libraryName);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isThreadSafe() {
+        return lock == null;
+    }
+
+    @TruffleBoundary
+    public void acquire() {
+        calls.incrementAndGet();
+        if (lock != null && !lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            contendedCalls.incrementAndGet();
+            waitTimeNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    @TruffleBoundary
+    public void release() {
+        if (lock != null) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a list with the columns {@code library}, {@code threadSafe}, {@code calls},
+     * {@code contended} and {@code waitTime} (in seconds) describing all locks used so far.
+     */
+    @TruffleBoundary
+    public static RList getStatistics() {
+        ArrayList<NativeCallLock> all = new ArrayList<>();
+        all.add(global);
+        all.addAll(libraryLocks.values());
+        int n = all.size();
+        String[] names = new String[n];
+        byte[] threadSafe = new byte[n];
+        double[] callCounts = new double[n];
+        double[] contended = new double[n];
+        double[] waitTime = new double[n];
+        for (int i = 0; i < n; i++) {
+            NativeCallLock l = all.get(i);
+            names[i] = l.name;
+            threadSafe[i] = RRuntime.asLogical(l.isThreadSafe());
+            callCounts[i] = l.calls.get();
+            contended[i] = l.contendedCalls.get();
+            waitTime[i] = l.waitTimeNanos.get() / 1e9;
+        }
+        Object[] data = new Object[]{RDataFactory.createStringVector(names, RDataFactory.COMPLETE_VECTOR), RDataFactory.createLogicalVector(threadSafe, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(callCounts, RDataFactory.COMPLETE_VECTOR), RDataFactory.createDoubleVector(contended, RDataFactory.COMPLETE_VECTOR),
+                        RDataFactory.createDoubleVector(waitTime, RDataFactory.COMPLETE_VECTOR)};
+        return RDataFactory.createList(data, RDataFactory.createStringVector(new String[]{"library", "threadSafe", "calls", "contended", "waitTime"}, RDataFactory.COMPLETE_VECTOR));
+    }
+}
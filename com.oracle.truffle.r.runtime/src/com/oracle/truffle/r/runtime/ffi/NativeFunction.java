@@ -52,6 +52,7 @@ public enum NativeFunction {
     getcapturenames("((sint32, string): void, uint64, uint64): sint32", "call_pcre_"),
     study("(uint64, sint32): void", "call_pcre_"),
     exec("(uint64, uint64, [uint8], sint32, sint32, sint32, [sint32], sint32): sint32", "call_pcre_"),
+    execbatch("(uint64, uint64, [uint8], [sint32], sint32, sint32, [sint32], [sint32], sint32, sint32): void", "call_pcre_"),
     // zip
     compress("([uint8], uint64, [uint8], uint64): sint32", "call_zip_"),
     uncompress("([uint8], uint64, [uint8], uint64): sint32", "call_zip_"),
@@ -31,9 +31,12 @@ import com.oracle.truffle.api.interop.Message;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.r.runtime.FastROptions;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.data.model.RAbstractStringVector;
 import com.oracle.truffle.r.runtime.ffi.interop.NativeCharArray;
+import com.oracle.truffle.r.runtime.ffi.interop.NativeRawArray;
 import com.oracle.truffle.r.runtime.ffi.interop.pcre.CaptureNamesResult;
 import com.oracle.truffle.r.runtime.ffi.interop.pcre.CompileResult;
 
@@ -184,6 +187,72 @@ public final class PCRERFFI {
         }
     }
 
+    /**
+     * Matches all elements of a character vector against a compiled pattern with as few down-calls
+     * as possible. The elements are encoded to UTF-8 and packed into one buffer per batch of
+     * {@link #BATCH_SIZE} elements, which also bounds the native memory needed for very long
+     * vectors. Within a batch, the native side may use up to {@link FastROptions#PCREThreads}
+     * threads.
+     */
+    public static final class ExecBatchNode extends NativeCallNode {
+        /**
+         * The number of elements matched by one down-call.
+         */
+        public static final int BATCH_SIZE = 1 << 16;
+
+        private ExecBatchNode(DownCallNodeFactory factory) {
+            super(factory.createDownCallNode(NativeFunction.execbatch));
+        }
+
+        /**
+         * Stores the result of {@code pcre_exec} for element {@code i} of {@code subjects} in
+         * {@code results[i]} and the {@code ovectorLen} elements of its ovector at
+         * {@code ovectors[i * ovectorLen]}. {@code ovectorLen} may be {@code 0} if only the fact
+         * whether an element matches is of interest.
+         */
+        public void execute(long code, long extra, RAbstractStringVector subjects, int options, int[] results, int[] ovectors, int ovectorLen) {
+            int length = subjects.getLength();
+            int batchSize = Math.min(length, BATCH_SIZE);
+            int[] offsets = new int[batchSize + 1];
+            int[] batchResults = new int[batchSize];
+            int[] batchOvectors = new int[batchSize * ovectorLen];
+            int threads = Math.max(1, FastROptions.PCREThreads.getNonNegativeIntValue());
+            for (int from = 0; from < length; from += batchSize) {
+                int count = Math.min(batchSize, length - from);
+                byte[] packed = pack(subjects, from, count, offsets);
+                call(code, extra, new NativeRawArray(packed), offsets, count, options, batchResults, batchOvectors, ovectorLen, threads);
+                System.arraycopy(batchResults, 0, results, from, count);
+                System.arraycopy(batchOvectors, 0, ovectors, from * ovectorLen, count * ovectorLen);
+            }
+        }
+
+        @TruffleBoundary
+        private static byte[] pack(RAbstractStringVector subjects, int from, int count, int[] offsets) {
+            byte[][] bytes = new byte[count][];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                bytes[i] = getBytes(subjects.getDataAt(from + i));
+                offsets[i] = size;
+                size += bytes[i].length;
+            }
+            offsets[count] = size;
+            byte[] packed = new byte[size];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(bytes[i], 0, packed, offsets[i], bytes[i].length);
+            }
+            return packed;
+        }
+
+        @TruffleBoundary
+        private static byte[] getBytes(String subject) {
+            return subject.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public static ExecBatchNode create() {
+            return RFFIFactory.getPCRERFFI().createExecBatchNode();
+        }
+    }
+
     public MaketablesNode createMaketablesNode() {
         return new MaketablesNode(downCallNodeFactory);
     }
@@ -208,4 +277,8 @@ public final class PCRERFFI {
     public ExecNode createExecNode() {
         return new ExecNode(downCallNodeFactory);
     }
+
+    public ExecBatchNode createExecBatchNode() {
+        return new ExecBatchNode(downCallNodeFactory);
+    }
 }
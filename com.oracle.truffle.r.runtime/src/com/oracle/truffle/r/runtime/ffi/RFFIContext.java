@@ -31,6 +31,8 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RObject;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
 
 /**
  * Holds per RContext specific state of the RFFI. RFFI implementation agnostic data and methods are
@@ -74,6 +76,30 @@ public abstract class RFFIContext extends RFFI {
         protectedNativeReferences.add(obj);
     }
 
+    /**
+     * Character vectors whose native view native code may store {@code CHARSXP}s into directly. They
+     * may not be referenced from anywhere else, so the vectors stop being tracked before the
+     * {@link #registerReferenceUsedInNative(Object) protected references} are released.
+     */
+    private final ArrayList<RStringVector> nativeStringVectors = new ArrayList<>();
+
+    /**
+     * The tracked character vectors native code has stored into since control last passed to Java.
+     * The first such store goes through the {@code SET_STRING_ELT} up-call, which registers the
+     * vector here. The stored elements are transferred to the Java side whenever control passes
+     * from native code to Java, i.e., on every up-call and on return from a down-call, so the cost
+     * of an up-call does not depend on the number of tracked vectors.
+     */
+    private final ArrayList<RStringVector> nativeStringWrites = new ArrayList<>();
+
+    public final void registerNativeStringVector(RStringVector vector) {
+        nativeStringVectors.add(vector);
+    }
+
+    public final void registerNativeStringWrites(RStringVector vector) {
+        nativeStringWrites.add(vector);
+    }
+
     /**
      * FastR equivalent of GNUR's special dedicated global list that is GC root and so any vectors
      * added to it will be guaranteed to be preserved.
@@ -87,7 +113,9 @@ public abstract class RFFIContext extends RFFI {
      *            the list of preserved objects.
      */
     public void beforeUpcall(boolean canRunGc) {
-        // empty by default
+        if (!nativeStringWrites.isEmpty()) {
+            syncNativeStringWrites();
+        }
     }
 
     /**
@@ -119,7 +147,15 @@ public abstract class RFFIContext extends RFFI {
         throw RInternalError.unimplemented("R Embedding not supported with " + this.getClass().getSimpleName() + " RFFI backend.");
     }
 
-    public long beforeDowncall() {
+    public final long beforeDowncall() {
+        return beforeDowncall(null);
+    }
+
+    /**
+     * @param dllInfo the library that is called into or {@code null} if the down-call goes to the R
+     *            runtime library itself.
+     */
+    public long beforeDowncall(@SuppressWarnings("unused") DLLInfo dllInfo) {
         callDepth++;
         return 0;
     }
@@ -127,10 +163,22 @@ public abstract class RFFIContext extends RFFI {
     /**
      * @param before the value returned by the corresponding call to {@link #beforeDowncall()}.
      */
-    public void afterDowncall(long before) {
+    public final void afterDowncall(long before) {
+        afterDowncall(before, null);
+    }
+
+    /**
+     * @param before the value returned by the corresponding call to
+     *            {@link #beforeDowncall(DLLInfo)}.
+     * @param dllInfo the same library as passed to {@link #beforeDowncall(DLLInfo)}.
+     */
+    public void afterDowncall(long before, @SuppressWarnings("unused") DLLInfo dllInfo) {
         callDepth--;
         if (callDepth == 0) {
             cooperativeGc();
+        } else if (!nativeStringWrites.isEmpty()) {
+            // back in the up-call that made this down-call
+            syncNativeStringWrites();
         }
     }
 
@@ -138,9 +186,22 @@ public abstract class RFFIContext extends RFFI {
         return callDepth;
     }
 
+    @TruffleBoundary
+    private void syncNativeStringWrites() {
+        for (int i = 0; i < nativeStringWrites.size(); i++) {
+            nativeStringWrites.get(i).syncNativeWrites();
+        }
+        nativeStringWrites.clear();
+    }
+
     // this emulates GNUR's cooperative GC
     @TruffleBoundary
     private void cooperativeGc() {
+        for (RStringVector vector : nativeStringVectors) {
+            vector.commitNativeWrites();
+        }
+        nativeStringVectors.clear();
+        nativeStringWrites.clear();
         protectedNativeReferences.clear();
     }
 
@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.runtime.interop;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -127,6 +128,12 @@ public abstract class ForeignArray2R extends RBaseNode {
                 throw RInternalError.shouldNotReachHere(e);
             }
         }
+        if (RRuntime.isForeignObject(obj)) {
+            RAbstractVector bulk = convertHostPrimitiveArray(obj);
+            if (bulk != null) {
+                return bulk;
+            }
+        }
         Object result = execute(obj, recursive, null, 0);
         if (result instanceof ForeignArrayData) {
             ForeignArrayData arrayData = (ForeignArrayData) result;
@@ -140,6 +147,87 @@ public abstract class ForeignArray2R extends RBaseNode {
 
     protected abstract Object execute(Object obj, boolean recursive, ForeignArrayData arrayData, int depth);
 
+    /**
+     * Converts a non-empty host array of a primitive type with a single bulk copy instead of
+     * reading and converting it element by element through interop messages. The element types are
+     * mapped the same way as by {@link InteropTypeCheck}.
+     *
+     * @return the vector or {@code null} if {@code obj} is not a host primitive array
+     */
+    @TruffleBoundary
+    private static RAbstractVector convertHostPrimitiveArray(Object obj) {
+        TruffleLanguage.Env env = RContext.getInstance().getEnv();
+        if (!env.isHostObject(obj)) {
+            return null;
+        }
+        Object array = env.asHostObject(obj);
+        if (array == null || !array.getClass().isArray() || !array.getClass().getComponentType().isPrimitive() || Array.getLength(array) == 0) {
+            return null;
+        }
+        if (array instanceof double[]) {
+            double[] data = ((double[]) array).clone();
+            return RDataFactory.createDoubleVector(data, isComplete(data));
+        } else if (array instanceof int[]) {
+            int[] data = ((int[]) array).clone();
+            return RDataFactory.createIntVector(data, isComplete(data));
+        } else if (array instanceof boolean[]) {
+            boolean[] source = (boolean[]) array;
+            byte[] data = new byte[source.length];
+            for (int i = 0; i < source.length; i++) {
+                data[i] = RRuntime.asLogical(source[i]);
+            }
+            return RDataFactory.createLogicalVector(data, RDataFactory.COMPLETE_VECTOR);
+        } else if (array instanceof long[]) {
+            long[] source = (long[]) array;
+            double[] data = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                data[i] = source[i];
+            }
+            return RDataFactory.createDoubleVector(data, RDataFactory.COMPLETE_VECTOR);
+        } else if (array instanceof float[]) {
+            float[] source = (float[]) array;
+            double[] data = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                data[i] = source[i];
+            }
+            return RDataFactory.createDoubleVector(data, isComplete(data));
+        } else if (array instanceof byte[]) {
+            byte[] source = (byte[]) array;
+            int[] data = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                data[i] = source[i];
+            }
+            return RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
+        } else if (array instanceof short[]) {
+            short[] source = (short[]) array;
+            int[] data = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                data[i] = source[i];
+            }
+            return RDataFactory.createIntVector(data, RDataFactory.COMPLETE_VECTOR);
+        }
+        // char[] is converted to a character vector element by element
+        return null;
+    }
+
+    private static boolean isComplete(double[] data) {
+        for (int i = 0; i < data.length; i++) {
+            if (RRuntime.isNA(data[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComplete(int[] data) {
+        for (int i = 0; i < data.length; i++) {
+            if (RRuntime.isNA(data[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Specialization(guards = {"isForeignArray(obj)"})
     @TruffleBoundary
     protected ForeignArrayData doArray(TruffleObject obj, boolean recursive, ForeignArrayData arrayData, int depth) {
@@ -36,6 +36,16 @@ import com.oracle.truffle.r.runtime.rng.RandomNumberGenerator;
 public class RandomFunctions {
     public abstract static class RandFunction3_Double extends RBaseNode {
         public abstract double execute(double a, double b, double c, RandomNumberProvider rand);
+
+        /**
+         * Fills {@code result} with random values for the parameters {@code a}, {@code b} and
+         * {@code c}, consuming exactly the same random numbers as calling {@link #execute} for
+         * each element would. Returns {@code false} without consuming any random numbers if there
+         * is no bulk implementation for the given parameters and generator.
+         */
+        public boolean executeBulk(double[] result, double a, double b, double c, RandomNumberProvider rand) {
+            return false;
+        }
     }
 
     public abstract static class RandFunction2_Double extends RandFunction3_Double {
@@ -45,6 +55,16 @@ public class RandomFunctions {
         public final double execute(double a, double b, double c, RandomNumberProvider rand) {
             return execute(a, b, rand);
         }
+
+        public boolean executeBulk(@SuppressWarnings("unused") double[] result, @SuppressWarnings("unused") double a, @SuppressWarnings("unused") double b,
+                        @SuppressWarnings("unused") RandomNumberProvider rand) {
+            return false;
+        }
+
+        @Override
+        public final boolean executeBulk(double[] result, double a, double b, double c, RandomNumberProvider rand) {
+            return executeBulk(result, a, b, rand);
+        }
     }
 
     public abstract static class RandFunction1_Double extends RandFunction3_Double {
@@ -54,6 +74,15 @@ public class RandomFunctions {
         public final double execute(double a, double b, double c, RandomNumberProvider rand) {
             return execute(a, rand);
         }
+
+        public boolean executeBulk(@SuppressWarnings("unused") double[] result, @SuppressWarnings("unused") double a, @SuppressWarnings("unused") RandomNumberProvider rand) {
+            return false;
+        }
+
+        @Override
+        public final boolean executeBulk(double[] result, double a, double b, double c, RandomNumberProvider rand) {
+            return executeBulk(result, a, rand);
+        }
     }
 
     /**
@@ -80,10 +109,29 @@ public class RandomFunctions {
             return generator.genrandDouble();
         }
 
+        /**
+         * Fills {@code result} with the next {@code result.length} uniform random numbers.
+         */
+        public void unifRand(double[] result) {
+            generator.genrandDoubles(result, 0, result.length);
+        }
+
         public double normRand() {
             return SNorm.normRand(generator, normKind);
         }
 
+        /**
+         * Fills {@code result} with standard normal random numbers if the current normal kind
+         * allows generating them in bulk, otherwise returns {@code false}.
+         */
+        public boolean normRand(double[] result) {
+            if (normKind == NormKind.INVERSION) {
+                SNorm.normRandInversion(generator, result);
+                return true;
+            }
+            return false;
+        }
+
         public double expRand() {
             return SExp.expRand(generator);
         }
@@ -113,12 +113,31 @@ public final class SNorm {
 
     private static final double BIG = 134217728; /* 2^27 */
 
+    private static final int INVERSION_CHUNK = 4096;
+
     static double BMNormKeep = 0.0;
 
     private SNorm() {
         // only static members
     }
 
+    /**
+     * Bulk version of {@link #normRand} for {@link NormKind#INVERSION}, which always consumes two
+     * uniform random numbers per value.
+     */
+    public static void normRandInversion(RandomNumberGenerator rand, double[] result) {
+        double[] u = new double[2 * Math.min(result.length, INVERSION_CHUNK)];
+        for (int from = 0; from < result.length; from += INVERSION_CHUNK) {
+            int n = Math.min(result.length - from, INVERSION_CHUNK);
+            rand.genrandDoubles(u, 0, 2 * n);
+            for (int i = 0; i < n; i++) {
+                /* unif_rand() alone is not of high enough precision */
+                double u1 = (int) (BIG * u[2 * i]) + u[2 * i + 1];
+                result[from + i] = Qnorm.qnorm(u1 / BIG, 0.0, 1.0, true, false);
+            }
+        }
+    }
+
     @SuppressWarnings("unused")
     public static double normRand(RandomNumberGenerator rand, NormKind normKind) {
         double s;
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.nodes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RParserFactory;
+import com.oracle.truffle.r.runtime.Utils;
+import com.oracle.truffle.r.runtime.context.Engine.ParseException;
+import com.oracle.truffle.r.runtime.context.TruffleRLanguage;
+
+/**
+ * A language and context independent record of the {@link RCodeBuilder} calls the parser makes for
+ * a given {@link Source}. Replaying a recording against a real builder produces the same AST as
+ * parsing the source again, but without lexing and parsing.
+ *
+ * The recordings of the system sources (the base package and the builtin package overrides) are
+ * kept in a process wide cache keyed by a SHA-256 hash of the source name and content, so that only
+ * the first context created in a process needs to run the parser on them. A changed file on disk
+ * yields a different key and is therefore parsed again.
+ */
+public final class RSyntaxRecording {
+
+    private static final ConcurrentHashMap<String, List<Element>> cache = new ConcurrentHashMap<>();
+
+    private RSyntaxRecording() {
+        // no instances
+    }
+
+    /**
+     * Equivalent of {@link RParserFactory.Parser#script(Source, RCodeBuilder, TruffleRLanguage)}
+     * that reuses a cached recording for {@code source} if there is one.
+     */
+    public static <T> List<T> script(Source source, RCodeBuilder<T> builder, TruffleRLanguage language) throws ParseException {
+        CompilerAsserts.neverPartOfCompilation();
+        String key = contentKey(source);
+        List<Element> elements = cache.get(key);
+        if (elements == null) {
+            RParserFactory.Parser<Element> parser = RParserFactory.getParser();
+            elements = parser.script(source, new Recorder(), language);
+            List<Element> previous = cache.putIfAbsent(key, elements);
+            if (previous != null) {
+                elements = previous;
+            }
+        }
+        ArrayList<T> result = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            result.add(element.replay(builder, language));
+        }
+        return result;
+    }
+
+    private static String contentKey(Source source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+            return Utils.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+
+    /**
+     * Immutable node of a recording. The {@link SourceSection}s refer to the {@link Source} that was
+     * originally parsed, which is fine since sources are immutable and not bound to a context.
+     */
+    abstract static class Element {
+        protected final SourceSection source;
+
+        protected Element(SourceSection source) {
+            this.source = source;
+        }
+
+        abstract <T> T replay(RCodeBuilder<T> builder, TruffleRLanguage language);
+    }
+
+    private static final class Constant extends Element {
+        private final Object value;
+
+        Constant(SourceSection source, Object value) {
+            super(source);
+            this.value = value;
+        }
+
+        @Override
+        <T> T replay(RCodeBuilder<T> builder, TruffleRLanguage language) {
+            return builder.constant(source, value);
+        }
+    }
+
+    private static final class Lookup extends Element {
+        private final String symbol;
+        private final boolean functionLookup;
+
+        Lookup(SourceSection source, String symbol, boolean functionLookup) {
+            super(source);
+            this.symbol = symbol;
+            this.functionLookup = functionLookup;
+        }
+
+        @Override
+        <T> T replay(RCodeBuilder<T> builder, TruffleRLanguage language) {
+            return builder.lookup(source, symbol, functionLookup);
+        }
+    }
+
+    private static final class Arg {
+        private final SourceSection source;
+        private final String name;
+        private final Element value;
+
+        Arg(SourceSection source, String name, Element value) {
+            this.source = source;
+            this.name = name;
+            this.value = value;
+        }
+
+        static Arg[] record(List<RCodeBuilder.Argument<Element>> arguments) {
+            Arg[] result = new Arg[arguments.size()];
+            for (int i = 0; i < result.length; i++) {
+                RCodeBuilder.Argument<Element> arg = arguments.get(i);
+                result[i] = new Arg(arg.source, arg.name, arg.value);
+            }
+            return result;
+        }
+
+        static <T> List<RCodeBuilder.Argument<T>> replay(Arg[] args, RCodeBuilder<T> builder, TruffleRLanguage language) {
+            ArrayList<RCodeBuilder.Argument<T>> result = new ArrayList<>(args.length);
+            for (Arg arg : args) {
+                result.add(RCodeBuilder.argument(arg.source, arg.name, arg.value == null ? null : arg.value.replay(builder, language)));
+            }
+            return result;
+        }
+    }
+
+    private static final class Call extends Element {
+        private final Element lhs;
+        private final Arg[] arguments;
+
+        Call(SourceSection source, Element lhs, Arg[] arguments) {
+            super(source);
+            this.lhs = lhs;
+            this.arguments = arguments;
+        }
+
+        @Override
+        <T> T replay(RCodeBuilder<T> builder, TruffleRLanguage language) {
+            T replayedLhs = lhs.replay(builder, language);
+            return builder.call(source, replayedLhs, Arg.replay(arguments, builder, language));
+        }
+    }
+
+    private static final class Function extends Element {
+        private final Arg[] params;
+        private final Element body;
+        private final String assignedTo;
+
+        Function(SourceSection source, Arg[] params, Element body, String assignedTo) {
+            super(source);
+            this.params = params;
+            this.body = body;
+            this.assignedTo = assignedTo;
+        }
+
+        @Override
+        <T> T replay(RCodeBuilder<T> builder, TruffleRLanguage language) {
+            List<RCodeBuilder.Argument<T>> replayedParams = Arg.replay(params, builder, language);
+            return builder.function(language, source, replayedParams, body.replay(builder, language), assignedTo);
+        }
+    }
+
+    /**
+     * The builder handed to the parser while recording. Only the subset of {@link RCodeBuilder} used
+     * by {@link RParserFactory.Parser#script} is supported.
+     */
+    private static final class Recorder implements RCodeBuilder<Element> {
+
+        private CodeBuilderContext context = CodeBuilderContext.DEFAULT;
+
+        @Override
+        public Element call(SourceSection source, Element lhs, List<Argument<Element>> arguments) {
+            return new Call(source, lhs, Arg.record(arguments));
+        }
+
+        @Override
+        public Element constant(SourceSection source, Object value) {
+            return new Constant(source, value);
+        }
+
+        @Override
+        public Element lookup(SourceSection source, String symbol, boolean functionLookup) {
+            return new Lookup(source, symbol, functionLookup);
+        }
+
+        @Override
+        public Element function(TruffleRLanguage language, SourceSection source, List<Argument<Element>> arguments, Element body, Object assignedTo) {
+            // only the name of the assignment target is used to describe the function
+            String name = null;
+            if (assignedTo instanceof String) {
+                name = (String) assignedTo;
+            } else if (assignedTo instanceof Lookup) {
+                name = ((Lookup) assignedTo).symbol;
+            }
+            return new Function(source, Arg.record(arguments), body, name);
+        }
+
+        @Override
+        public RootCallTarget rootFunction(TruffleRLanguage language, SourceSection source, List<Argument<Element>> arguments, Element body, String name) {
+            throw RInternalError.shouldNotReachHere("root functions are not recorded");
+        }
+
+        @Override
+        public List<Argument<RSyntaxNode>> getFunctionExprArgs(Object args) {
+            throw RInternalError.shouldNotReachHere("function expression arguments are not recorded");
+        }
+
+        @Override
+        public void setContext(CodeBuilderContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public CodeBuilderContext getContext() {
+            return context;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ops;
+
+import java.util.stream.IntStream;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+
+/**
+ * Chunked parallel reductions of large double arrays.
+ *
+ * The data is always split into chunks of {@link #CHUNK_SIZE} elements, independently of the
+ * number of threads, and the partial results of the chunks are combined pairwise in a fixed order.
+ * Therefore the result only depends on the data and never on the parallelism. Sums are accumulated
+ * with Neumaier's variant of Kahan summation within a chunk.
+ *
+ * Vectors shorter than {@link FastROptions#ParallelReductionThreshold} are reduced serially by the
+ * callers, as the cost of forking tasks would outweigh the gain.
+ */
+public final class ParallelReduction {
+
+    /**
+     * The number of elements reduced by one task.
+     */
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    public enum Op {
+        SUM,
+        PROD,
+        MIN,
+        MAX;
+
+        private double identity() {
+            switch (this) {
+                case SUM:
+                    return 0;
+                case PROD:
+                    return 1;
+                case MIN:
+                    return Double.POSITIVE_INFINITY;
+                default:
+                    return Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        /**
+         * Same semantics as the corresponding {@link BinaryArithmetic} operation, for non-NA
+         * values.
+         */
+        private double combine(double left, double right) {
+            switch (this) {
+                case SUM:
+                    return left + right;
+                case PROD:
+                    return left * right;
+                case MIN:
+                    if (left != left) {
+                        return left;
+                    } else if (left == 0.0d && right == 0.0d && Double.doubleToRawLongBits(right) == Double.doubleToRawLongBits(-0.0d)) {
+                        return right;
+                    }
+                    return left <= right ? left : right;
+                default:
+                    if (left != left) {
+                        return left;
+                    } else if (left == 0.0d && right == 0.0d && Double.doubleToRawLongBits(left) == Double.doubleToRawLongBits(-0.0d)) {
+                        return right;
+                    }
+                    return left >= right ? left : right;
+            }
+        }
+
+        public static Op forFactory(BinaryArithmeticFactory factory) {
+            if (factory == BinaryArithmetic.ADD) {
+                return SUM;
+            } else if (factory == BinaryArithmetic.MULTIPLY) {
+                return PROD;
+            } else if (factory == BinaryArithmetic.MIN) {
+                return MIN;
+            } else if (factory == BinaryArithmetic.MAX) {
+                return MAX;
+            }
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private ParallelReduction() {
+        // no instances
+    }
+
+    /**
+     * Returns {@code true} if a vector of the given length should be reduced in parallel.
+     */
+    public static boolean isParallel(long length) {
+        int threshold = FastROptions.ParallelReductionThreshold.getNonNegativeIntValue();
+        return threshold != 0 && length >= threshold;
+    }
+
+    /**
+     * Returns {@code true} if {@code vector} should be reduced in parallel. Vectors backed by native
+     * memory (e.g. memory mapped files) are reduced sequentially, since the parallel reduction
+     * would first have to copy them to the Java heap.
+     */
+    public static boolean isParallel(RDoubleVector vector) {
+        return !vector.hasNativeMemoryData() && isParallel(vector.getLength());
+    }
+
+    /**
+     * Runs {@code task} in parallel for consecutive ranges of at most {@code chunkSize} indices that
+     * cover {@code [0, length)}. The tasks must be independent of each other.
+     */
+    @TruffleBoundary
+    public static void forEachRange(int length, int chunkSize, RangeTask task) {
+        int chunks = (int) ((length + (long) chunkSize - 1) / chunkSize);
+        IntStream.range(0, chunks).parallel().forEach(c -> task.run(c * chunkSize, (int) Math.min(length, (long) (c + 1) * chunkSize)));
+    }
+
+    /**
+     * Reduces {@code data} with {@code op}, skipping NA and NaN values if {@code naRm} and
+     * infinite values if {@code finite}. Returns {@link RRuntime#DOUBLE_NA} if there is an NA that
+     * is not removed, or {@code null} if all values were removed (or {@code data} is empty), so that
+     * the caller can report this in its own way.
+     */
+    @TruffleBoundary
+    public static Double reduce(double[] data, Op op, boolean naRm, boolean finite) {
+        int chunks = (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        double[] partial = new double[chunks];
+        // 0: no value, 1: some value, 2: NA
+        byte[] state = new byte[chunks];
+        forEachRange(data.length, CHUNK_SIZE, (from, to) -> {
+            int c = from / CHUNK_SIZE;
+            double result = op.identity();
+            double compensation = 0;
+            byte chunkState = 0;
+            for (int i = from; i < to; i++) {
+                double d = data[i];
+                if (Double.isNaN(d)) {
+                    if (naRm) {
+                        continue;
+                    } else if (RRuntime.isNA(d)) {
+                        chunkState = 2;
+                        break;
+                    }
+                } else if (finite && Double.isInfinite(d)) {
+                    continue;
+                }
+                if (op == Op.SUM) {
+                    double t = result + d;
+                    if (Math.abs(result) >= Math.abs(d)) {
+                        compensation += (result - t) + d;
+                    } else {
+                        compensation += (d - t) + result;
+                    }
+                    result = t;
+                } else {
+                    result = op.combine(result, d);
+                }
+                chunkState = 1;
+            }
+            if (op == Op.SUM && RRuntime.isFinite(result)) {
+                result += compensation;
+            }
+            partial[c] = result;
+            state[c] = chunkState;
+        });
+        boolean any = false;
+        for (int c = 0; c < chunks; c++) {
+            if (state[c] == 2) {
+                return RRuntime.DOUBLE_NA;
+            }
+            any |= state[c] == 1;
+        }
+        if (!any) {
+            return null;
+        }
+        return combinePairwise(partial, 0, chunks, op);
+    }
+
+    private static double combinePairwise(double[] partial, int from, int to, Op op) {
+        if (to - from == 1) {
+            return partial[from];
+        }
+        int mid = (from + to) >>> 1;
+        return op.combine(combinePairwise(partial, from, mid, op), combinePairwise(partial, mid, to, op));
+    }
+
+    /**
+     * Computes the mean of a non-empty array with the semantics of the {@code mean} builtin: the
+     * first NA or NaN value is the result if there is one.
+     */
+    @TruffleBoundary
+    public static double mean(double[] data) {
+        int chunks = (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        double[] partial = new double[chunks];
+        // the first NA/NaN value of each chunk, or 0 if there is none
+        double[] firstNaN = new double[chunks];
+        forEachRange(data.length, CHUNK_SIZE, (from, to) -> {
+            int c = from / CHUNK_SIZE;
+            double sum = 0;
+            double compensation = 0;
+            for (int i = from; i < to; i++) {
+                double d = data[i];
+                if (Double.isNaN(d)) {
+                    firstNaN[c] = d;
+                    return;
+                }
+                double t = sum + d;
+                if (Math.abs(sum) >= Math.abs(d)) {
+                    compensation += (sum - t) + d;
+                } else {
+                    compensation += (d - t) + sum;
+                }
+                sum = t;
+            }
+            partial[c] = RRuntime.isFinite(sum) ? sum + compensation : sum;
+        });
+        for (int c = 0; c < chunks; c++) {
+            if (Double.isNaN(firstNaN[c])) {
+                return firstNaN[c];
+            }
+        }
+        return combinePairwise(partial, 0, chunks, Op.SUM) / data.length;
+    }
+}
@@ -37,6 +37,17 @@ public interface RandomNumberGenerator {
 
     double genrandDouble();
 
+    /**
+     * Fills {@code result[offset .. offset + count)} with the next {@code count} values of
+     * {@link #genrandDouble()}. Generators that produce their numbers in blocks should override
+     * this to copy them in bulk.
+     */
+    default void genrandDoubles(double[] result, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            result[offset + i] = genrandDouble();
+        }
+    }
+
     Kind getKind();
 
     /**
@@ -87,6 +87,10 @@ static const R_CallMethodDef CallEntries[] = {
         CALLDEF(test_isNAString, 1),
         CALLDEF(test_getBytes, 1),
         CALLDEF(test_setStringElt, 2),
+        CALLDEF(test_reverseStrings, 1),
+        CALLDEF(test_numberedStrings, 1),
+        CALLDEF(test_setStringsAndCall, 2),
+        CALLDEF(test_manyStringVectors, 2),
         CALLDEF(test_RfRandomFunctions, 0),
         CALLDEF(test_RfRMultinom, 0),
         CALLDEF(test_RfFunctions, 0),
@@ -366,6 +366,68 @@ SEXP test_setStringElt(SEXP vec, SEXP elt) {
     return vec;
 }
 
+SEXP test_reverseStrings(SEXP vec) {
+    int n = LENGTH(vec);
+    for (int i = 0; i < n / 2; i++) {
+        SEXP tmp = STRING_ELT(vec, i);
+        SET_STRING_ELT(vec, i, STRING_ELT(vec, n - 1 - i));
+        SET_STRING_ELT(vec, n - 1 - i, tmp);
+    }
+    return vec;
+}
+
+SEXP test_numberedStrings(SEXP n) {
+    int len = asInteger(n);
+    char buffer[32];
+    SEXP result;
+    PROTECT(result = allocVector(STRSXP, len));
+    for (int i = 0; i < len; i++) {
+        snprintf(buffer, sizeof(buffer), "s%d", i);
+        SET_STRING_ELT(result, i, mkChar(buffer));
+    }
+    UNPROTECT(1);
+    return result;
+}
+
+SEXP test_setStringsAndCall(SEXP vec, SEXP fun) {
+    char buffer[32];
+    SEXP call, result;
+    for (int i = 0; i < LENGTH(vec); i++) {
+        snprintf(buffer, sizeof(buffer), "n%d", i);
+        SET_STRING_ELT(vec, i, mkChar(buffer));
+    }
+    // the function reads the elements stored above while this call is still active
+    PROTECT(call = lang2(fun, vec));
+    result = eval(call, R_GlobalEnv);
+    UNPROTECT(1);
+    return result;
+}
+
+SEXP test_manyStringVectors(SEXP n, SEXP len) {
+    char buffer[32];
+    SEXP result, vec;
+    int count = asInteger(n);
+    int length = asInteger(len);
+    PROTECT(result = allocVector(VECSXP, count));
+    for (int i = 0; i < count; i++) {
+        vec = allocVector(STRSXP, length);
+        SET_VECTOR_ELT(result, i, vec);
+        for (int j = 0; j < length; j++) {
+            snprintf(buffer, sizeof(buffer), "v%d_%d", i, j);
+            SET_STRING_ELT(vec, j, mkChar(buffer));
+        }
+        // stores of existing elements without any up-call in between
+        if (i > 0) {
+            SEXP prev = VECTOR_ELT(result, i - 1);
+            for (int j = 0; j < length; j++) {
+                SET_STRING_ELT(prev, j, STRING_ELT(vec, length - j - 1));
+            }
+        }
+    }
+    UNPROTECT(1);
+    return result;
+}
+
 SEXP test_isNAString(SEXP vec) {
     if (STRING_ELT(vec, 0) == NA_STRING) {
         return ScalarLogical(1);
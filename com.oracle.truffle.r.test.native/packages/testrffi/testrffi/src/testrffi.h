@@ -115,6 +115,14 @@ extern SEXP test_isNAString(SEXP vec);
 
 extern SEXP test_setStringElt(SEXP vec, SEXP elt);
 
+extern SEXP test_reverseStrings(SEXP vec);
+
+extern SEXP test_numberedStrings(SEXP n);
+
+extern SEXP test_setStringsAndCall(SEXP vec, SEXP fun);
+
+extern SEXP test_manyStringVectors(SEXP n, SEXP len);
+
 extern SEXP test_getBytes(SEXP vec);
 
 extern SEXP test_RfRandomFunctions();
@@ -201,4 +201,14 @@ public class TestS4 extends TestRBase {
     public void testDispatchToS3ForBuiltins() {
         assertEval("{ setClass('TestS4S31', representation(f = 'numeric')); p <- new('TestS4S31', f = 2); `$.TestS4S31` <- function(...) 42; p$field }");
     }
+
+    @Test
+    public void testMegamorphicDispatch() {
+        // more signatures than a call site caches, including inherited and redefined methods
+        assertEval("{ setGeneric('testS4Mega', function(x, y) standardGeneric('testS4Mega')); for (cl in c('A', 'B', 'C', 'D', 'E')) setClass(paste0('TestS4Mega', cl), representation(v = 'numeric')); " +
+                        "setClass('TestS4MegaF', contains = 'TestS4MegaA'); setMethod('testS4Mega', signature('TestS4MegaA', 'numeric'), function(x, y) 'A num'); " +
+                        "setMethod('testS4Mega', signature('ANY', 'ANY'), function(x, y) 'any'); objs <- lapply(c('A', 'B', 'C', 'D', 'E', 'F'), function(cl) new(paste0('TestS4Mega', cl), v = 1)); " +
+                        "f <- function() sapply(objs, function(o) c(testS4Mega(o, 1), testS4Mega(o, 'a'))); r1 <- f(); " +
+                        "setMethod('testS4Mega', signature('TestS4MegaC', 'numeric'), function(x, y) 'C num'); r2 <- f(); removeMethod('testS4Mega', signature('TestS4MegaA', 'numeric')); r3 <- f(); list(r1, r2, r3) }");
+    }
 }
@@ -94,4 +94,11 @@ public class TestBuiltin_grepl extends TestBase {
         // the dot matches the new line in a Perl regexp
         assertEval("{ .Internal(grepl('.+X', 'a\nXb', F, F, T, F, F, F)) }");
     }
+
+    @Test
+    public void testGreplPerlLongVector() {
+        // longer than one batch of native matches
+        assertEval("{ x <- rep(c('ab1', 'cd', NA, 'x22y'), 20000); r <- grepl('[0-9]+', x, perl=TRUE); c(length(r), sum(r), which(r)[c(1:3, 39998:40000)]) }");
+        assertEval("{ x <- rep(c('ab1', 'cd', NA, 'x22y'), 20000); r <- grep('[0-9]+', x, perl=TRUE, value=TRUE); c(length(r), unique(r)) }");
+    }
 }
@@ -77,6 +77,14 @@ public class TestBuiltin_parse extends TestBase {
         assertEval("parse(text='', srcfile=srcfile(system.file('testfile')))");
     }
 
+    @Test
+    public void testRepeatedParse() {
+        assertEval("{ r <- 0; for (i in 1:20) r <- r + eval(parse(text = 'i * 2', keep.source = FALSE)); r }");
+        // modifying a parse result must not affect later parses of the same text
+        assertEval("{ p <- parse(text = 'x + 1', keep.source = FALSE); p[[1]][[3]] <- 2; list(p, parse(text = 'x + 1', keep.source = FALSE)) }");
+        assertEval("{ p <- parse(text = 'f(a)', keep.source = FALSE); attr(p, 'foo') <- 1; attributes(parse(text = 'f(a)', keep.source = FALSE)) }");
+    }
+
     @Test
     public void testParseData() {
         assertEvalFastR("p <- parse(text = 'x = 1', keep.source = TRUE); attr(p, 'srcfile')$parseData",
@@ -127,6 +127,7 @@ public class TestBuiltin_regexpr extends TestBase {
         assertEval("{ x<-c(\"Aaa Bbb Aaa Bbb\", \"Aaa bbb Aaa bbb\"); p<-\"(?<first>[[:upper:]][[:lower:]]+) (?<last>[[:upper:]][[:lower:]]+)\"; regexpr(p, x, perl=TRUE) }");
         assertEval("{ x<-c(\"Aaa bbb Aaa bbb\", \"Aaa Bbb Aaa Bbb\"); p<-\"(?<first>[[:upper:]][[:lower:]]+) (?<last>[[:upper:]][[:lower:]]+)\"; regexpr(p, x, perl=TRUE) }");
         assertEval("{ x<-c(\"Aaa bbb Aaa bbb\", \"Aaa Bbb Aaa Bbb\", \"Aaa bbb Aaa bbb\"); p<-\"(?<first>[[:upper:]][[:lower:]]+) (?<last>[[:upper:]][[:lower:]]+)\"; regexpr(p, x, perl=TRUE) }");
+        assertEval("{ x <- rep(c('a1b22', 'cd', 'e333'), 30000); r <- regexpr('(?<num>[0-9]+)', x, perl=TRUE); c(length(r), r[1:3], attr(r, 'match.length')[89998:90000], attr(r, 'capture.start')[1:3]) }");
 
         assertEval("regexpr(')', 'abc()', fixed = TRUE)");
         assertEval("regexpr('(', 'abc()', fixed = TRUE)");
@@ -74,22 +74,14 @@ public class TestBuiltin_sample extends TestBase {
 
         assertEval("{ set.seed(9567, \"Marsaglia-Multicarry\");x <- c(\"Heads\", \"Tails\") ; prob <- c(.3, .7) ; sample(x, 10, TRUE, prob) ; }");
 
-        // FIXME algorithm difference?? ImplementationError for now
-        // Expected output: [1] 3 5 3 1 5
-        // FastR output: [1] 4 5 4 1 5
-        assertEval(Ignored.ImplementationError, "{ set.seed(9567, \"Marsaglia-Multicarry\");x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, TRUE, prob) ; }");
-        // FIXME algorithm difference?? ImplementationError for now
-        // Expected output: [1] 3 5 2 1 4
-        // FastR output: [1] 4 5 2 1 3
-        assertEval(Ignored.ImplementationError, "{ set.seed(9567, \"Marsaglia-Multicarry\");x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, FALSE, prob) ; }");
-        // FIXME algorithm difference?? ImplementationError for now
-        // Expected output: [1] 4 2 2 3 4
-        // FastR output: [1] 3 2 2 4 3
-        assertEval(Ignored.ImplementationError, "{ set.seed(4357, \"default\"); x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, TRUE, prob) ; }");
-        // FIXME algorithm difference?? ImplementationError for now
-        // Expected output: [1] 4 2 3 5 1
-        // FastR output: [1] 3 2 4 5 1
-        assertEval(Ignored.ImplementationError, "{ set.seed(4357, \"default\"); x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, FALSE, prob) ; }");
+        // Walker's alias method is used for more than 200 reasonably probable values
+        assertEval("{ set.seed(4357, \"default\"); x <- 500 ; prob <- rep(c(1, 2, 3, 4), 125) ; sample(x, 20, TRUE, prob) ; }");
+        assertEval("{ set.seed(9567, \"Marsaglia-Multicarry\"); x <- 1000 ; prob <- 1:1000 ; sample(x, 20, TRUE, prob) ; }");
+
+        assertEval("{ set.seed(9567, \"Marsaglia-Multicarry\");x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, TRUE, prob) ; }");
+        assertEval("{ set.seed(9567, \"Marsaglia-Multicarry\");x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, FALSE, prob) ; }");
+        assertEval("{ set.seed(4357, \"default\"); x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, TRUE, prob) ; }");
+        assertEval("{ set.seed(4357, \"default\"); x <- c(5) ; prob <- c(1, 2, 3, 4, 5) ; sample(x, 5, FALSE, prob) ; }");
 
         // FIXME GnuR's error message maybe more descriptive
         // Expected output: Error in sample.int(x, size, replace, prob) :
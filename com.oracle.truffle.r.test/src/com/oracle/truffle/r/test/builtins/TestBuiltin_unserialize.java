@@ -42,9 +42,22 @@ public class TestBuiltin_unserialize extends TestBase {
     public void testserializeAndUnserializeClosure() {
         // N.B.: FastR does not preserve code formatting like GNU R does
         assertEval(Output.IgnoreWhitespace, "unserialize(serialize(function (x) { x }, NULL))");
+        // the closures are materialized on first call or access
+        assertEval("f <- unserialize(serialize(function(x, y = 2) x + y, NULL)); g <- f; c(f(1), g(1, 3))");
+        assertEval("f <- unserialize(serialize(function(x, y = 2) x + y, NULL)); list(formals(f), body(f))");
+        assertEval("f <- unserialize(serialize(function() x, NULL)); e <- new.env(); e$x <- 42; environment(f) <- e; f()");
         assertEval("f <- function() x; e <- new.env(); e$x <- 123; environment(f) <- e; expr <- substitute({ FUN() }, list(FUN=f)); eval(expr); expr <- unserialize(serialize(expr, NULL)); eval(expr)");
     }
 
+    @Test
+    public void testLongLength() {
+        // the length 3 of the vector written in the long vector encoding: -1, upper and lower bits
+        assertEval("{ x <- serialize(c(1.5, 2.5, 3.5), NULL, version=2); unserialize(c(x[1:18], as.raw(c(255, 255, 255, 255, 0, 0, 0, 0)), x[19:length(x)])) }");
+        assertEval("{ x <- serialize(1:3, NULL, version=2); unserialize(c(x[1:18], as.raw(c(255, 255, 255, 255, 0, 0, 0, 0)), x[19:length(x)])) }");
+        // a length of 2^32 + 3, which has no data following
+        assertEval(Output.IgnoreErrorMessage, "{ x <- serialize(c(1.5, 2.5, 3.5), NULL, version=2); unserialize(c(x[1:18], as.raw(c(255, 255, 255, 255, 0, 0, 0, 1)), x[19:length(x)])) }");
+    }
+
     @Test
     public void testunserialize() {
         assertEval("options(keep.source=FALSE); unserialize(serialize(quote(x), connection=NULL))");
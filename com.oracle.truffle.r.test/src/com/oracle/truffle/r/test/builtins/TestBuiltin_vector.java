@@ -82,6 +82,17 @@ public class TestBuiltin_vector extends TestBase {
         assertEval("{  vector(\"numeric\", c(7, 42)) }");
     }
 
+    @Test
+    public void testVectorLength() {
+        // long vectors are not supported, but such lengths must not be turned into other lengths
+        assertEval("{ x <- tryCatch(vector('numeric', 2^31), error=function(e) NULL); is.null(x) || length(x) == 2^31 }");
+        assertEval(Output.IgnoreErrorMessage, "{ vector('numeric', 2^52) }");
+        assertEval("{ vector('numeric', NA) }");
+        assertEval("{ vector('numeric', NA_real_) }");
+        assertEval("{ vector('numeric', NaN) }");
+        assertEval(Output.IgnoreErrorMessage, "{ vector('numeric', -1) }");
+    }
+
     @Test
     public void testVectorWithPairlist() {
         assertEval("vector('pairlist', 0)");
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.interop.Message;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RObject;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
@@ -68,6 +69,33 @@ public class VectorMRTest extends AbstractMRTest {
         assertEquals("abc", ForeignAccess.sendRead(Message.READ.createNode(), nvi, 0));
     }
 
+    @Test
+    public void testReadInBounds() throws Exception {
+        TruffleObject vi = RDataFactory.createIntVector(new int[]{1, RRuntime.INT_NA, 3}, false);
+        assertEquals(1, ForeignAccess.sendRead(Message.READ.createNode(), vi, 0));
+        assertEquals(RRuntime.INT_NA, ForeignAccess.sendRead(Message.READ.createNode(), vi, 1));
+        assertEquals(3, ForeignAccess.sendRead(Message.READ.createNode(), vi, 2L));
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), vi, -1), UnknownIdentifierException.class);
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), vi, 3), UnknownIdentifierException.class);
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), vi, 3L), UnknownIdentifierException.class);
+
+        TruffleObject vd = RDataFactory.createDoubleVector(new double[]{1.5, RRuntime.DOUBLE_NA, Double.NaN, -0.0}, false);
+        assertEquals(1.5, ForeignAccess.sendRead(Message.READ.createNode(), vd, 0));
+        assertTrue(RRuntime.isNA((double) ForeignAccess.sendRead(Message.READ.createNode(), vd, 1)));
+        Object nan = ForeignAccess.sendRead(Message.READ.createNode(), vd, 2L);
+        assertTrue(Double.isNaN((double) nan) && !RRuntime.isNA((double) nan));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits((double) ForeignAccess.sendRead(Message.READ.createNode(), vd, 3)));
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), vd, -1L), UnknownIdentifierException.class);
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), vd, 4), UnknownIdentifierException.class);
+
+        TruffleObject si = RDataFactory.createIntSequence(5, 2, 4);
+        assertEquals(11, ForeignAccess.sendRead(Message.READ.createNode(), si, 3));
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), si, 4), UnknownIdentifierException.class);
+
+        TruffleObject ed = RDataFactory.createDoubleVector(new double[]{}, true);
+        assertInteropException(() -> ForeignAccess.sendRead(Message.READ.createNode(), ed, 0), UnknownIdentifierException.class);
+    }
+
     @Test
     public void testKeyInfo() throws Exception {
         TruffleObject v = RDataFactory.createLogicalVector(new byte[]{1, 0, 1}, true);
@@ -237,6 +237,24 @@ public class TestFunctions extends TestBase {
         assertEval(Ignored.ImplementationError, "{ bar <- function(x, y) { y; x; 42 }; foo <- function(a) bar(a, cat('side2')); foo(cat('side1')) }");
     }
 
+    @Test
+    public void testPureExpressionPromises() {
+        // arguments that are evaluated eagerly must still look like promises to the callee
+        assertEval("{ g <- function(a) list(substitute(a), missing(a), a); f <- function(x, i) g(x[i] + 1); for (i in 1:3) r <- f(c(1, 2, 3), i); r }");
+        assertEval("{ g <- function(a) sys.call(); f <- function(x) g(length(x) * 2); for (i in 1:3) r <- f(1:i); r }");
+        // non-local modification of a variable before the promise is forced
+        assertEval("{ g <- function(a, b) { b; a }; f <- function(x) { h <- function() { x <<- 10; 1 }; g(x + 1, h()) }; for (i in 1:3) r <- f(i); r }");
+        assertEval("{ g <- function(a, e) { assign('x', 100, envir=e); a }; f <- function(x) g(x * 2, environment()); for (i in 1:3) r <- f(i); r }");
+        // warnings and errors are only raised when the promise is forced
+        assertEval("{ g <- function(a, force) if (force) a else 'unforced'; f <- function(x, force) g(as.integer(x) + 1L, force); list(f('a', FALSE), f('a', TRUE)) }");
+        assertEval("{ g <- function(a, force) if (force) a else 'unforced'; f <- function(x, force) g(x[[5]] + 1, force); f(1:3, FALSE); f(1:3, TRUE) }");
+        // values with a class attribute may dispatch
+        assertEval("{ Ops.foo <- function(e1, e2) 'dispatched'; g <- function(a) a; f <- function(x) g(x + 1); for (i in 1:3) r <- f(structure(i, class='foo')); r }");
+        // reading from an environment may force a promise or run an active binding
+        assertEval("{ delayedAssign('p', cat('forced\\n'), assign.env=globalenv()); g <- function(a) 'unforced'; f <- function() g(globalenv()[['p']]); for (i in 1:3) r <- f(); r }");
+        assertEval("{ makeActiveBinding('p', function() cat('active\\n'), globalenv()); g <- function(a) 'unforced'; f <- function() g(globalenv()$p); for (i in 1:3) r <- f(); r }");
+    }
+
     @Test
     public void testVarArgPromises() {
         assertEval("g <- function(e) get(\"ex\", e);f <- function(e, en) {  exports <- g(e);  unlist(lapply(en, get, envir = exports, inherits = FALSE))}; " +
@@ -154,6 +154,18 @@ public class TestS3Dispatch extends TestRBase {
         assertEval("{ assign('[[.myclass', function(a,b) 42, envir=.__S3MethodsTable__.); x<-1; class(x)<-'myclass'; res <- x[[99]]; rm('[[.myclass', envir=.__S3MethodsTable__.); res; }");
     }
 
+    @Test
+    public void testMegamorphicDispatch() {
+        // more receiver classes than the call site caches, redefinitions must be picked up
+        assertEval("{ f <- function(x) UseMethod('f'); f.default <- function(x) 'default'; for (cl in letters[1:8]) assign(paste0('f.', cl), eval(bquote(function(x) .(cl)))); " +
+                        "g <- function() sapply(letters[1:10], function(cl) f(structure(1, class=cl))); r1 <- g(); f.c <- function(x) 'new c'; f.i <- function(x) 'new i'; r2 <- g(); " +
+                        "rm(f.a); r3 <- g(); list(r1, r2, r3) }");
+        assertEval("{ f <- function(x) UseMethod('f'); f.default <- function(x) 'default'; h <- function(cl) { f.local <- function(x) 'local'; f(structure(1, class=cl)) }; " +
+                        "sapply(c('a', 'b', 'c', 'd', 'e', 'local', 'a', 'local'), h) }");
+        assertEval("{ x <- lapply(1:6, function(i) structure(i, class=paste0('cl', i))); r1 <- sapply(x, format); " +
+                        "format.cl3 <- function(x, ...) 'three'; r2 <- sapply(x, format); registerS3method('format', 'cl4', function(x, ...) 'four', envir=baseenv()); r3 <- sapply(x, format); list(r1, r2, r3) }");
+    }
+
     @Override
     public String getTestDir() {
         return "S3";
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.base;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * Checks that the reductions of large double vectors, which are done in parallel chunks, give the
+ * same results as the sequential ones. The threshold is lowered so that vectors of 200000 elements,
+ * i.e., several chunks, take the parallel path. The data is chosen so that the sums are exact.
+ */
+// Checkstyle: stop line length check
+public class TestParallelReduction extends TestBase {
+
+    private static final int THRESHOLD = 1000;
+
+    private int previousThreshold;
+
+    @Before
+    public void lowerThreshold() {
+        previousThreshold = FastROptions.ParallelReductionThreshold.getNonNegativeIntValue();
+        FastROptions.setValue(FastROptions.ParallelReductionThreshold.name(), THRESHOLD);
+    }
+
+    @After
+    public void restoreThreshold() {
+        FastROptions.setValue(FastROptions.ParallelReductionThreshold.name(), previousThreshold);
+    }
+
+    @Test
+    public void testReductions() {
+        assertEval("{ x <- as.numeric(1:200000); c(sum(x), prod(x), min(x), max(x), mean(x)) }");
+        assertEval("{ x <- rev(as.numeric(1:200000)) / 2; c(sum(x), min(x), max(x), mean(x)) }");
+        assertEval("{ x <- rep(c(2, 0.5), 100000); prod(x) }");
+        assertEval("{ x <- as.numeric(1:200000); range(x) }");
+        // a single chunk
+        assertEval("{ x <- as.numeric(1:5000); c(sum(x), min(x), max(x), mean(x)) }");
+        assertEval("{ x <- as.numeric(1:200000); x[123456] <- -1; c(min(x), which.min(x)) }");
+    }
+
+    @Test
+    public void testNA() {
+        assertEval("{ x <- as.numeric(1:200000); x[150000] <- NA; c(sum(x), prod(x), min(x), max(x), mean(x)) }");
+        assertEval("{ x <- as.numeric(1:200000); x[150000] <- NaN; c(sum(x), prod(x), min(x), max(x), mean(x)) }");
+        // NA takes precedence over NaN in min and max, whatever comes first
+        assertEval("{ x <- as.numeric(1:200000); x[10] <- NaN; x[150000] <- NA; c(is.na(sum(x)), is.na(min(x)), is.nan(min(x)), is.na(max(x)), is.nan(max(x)), is.na(mean(x))) }");
+        assertEval("{ x <- as.numeric(1:200000); x[10] <- NA; x[150000] <- NaN; c(is.na(sum(x)), is.na(min(x)), is.nan(min(x)), is.na(max(x)), is.nan(max(x)), is.na(mean(x))) }");
+        assertEval("{ x <- as.numeric(1:200000); x[c(5, 150000)] <- NA; x[70000] <- NaN; c(sum(x, na.rm=TRUE), prod(x[1:20], na.rm=TRUE), min(x, na.rm=TRUE), max(x, na.rm=TRUE), mean(x, na.rm=TRUE)) }");
+        assertEval("{ x <- as.numeric(1:200000); x[c(1, 200000)] <- NA; range(x, na.rm=TRUE) }");
+        assertEval("{ x <- rep(NA_real_, 200000); sum(x, na.rm=TRUE) }");
+        assertEval("{ x <- rep(NA_real_, 200000); max(x, na.rm=TRUE) }");
+    }
+
+    @Test
+    public void testInfinite() {
+        assertEval("{ x <- as.numeric(1:200000); x[7] <- Inf; c(sum(x), max(x), min(x), mean(x)) }");
+        assertEval("{ x <- as.numeric(1:200000); x[7] <- Inf; x[199999] <- -Inf; c(sum(x), prod(x), max(x), min(x), mean(x)) }");
+        assertEval("{ x <- as.numeric(1:200000); x[7] <- Inf; x[199999] <- -Inf; range(x, finite=TRUE) }");
+    }
+
+    @Test
+    public void testNegativeZero() {
+        assertEval("{ x <- rep(0, 200000); x[1] <- -0; x[150000] <- -0; 1 / min(x) }");
+        assertEval("{ x <- rep(-0, 200000); x[1] <- 0; 1 / max(x) }");
+        assertEval("{ x <- rep(-0, 200000); c(1 / min(x), 1 / max(x)) }");
+    }
+
+    @Test
+    public void testColRowSums() {
+        assertEval("{ m <- matrix(as.numeric(1:200000), 400); cs <- colSums(m); rs <- rowSums(m); list(length(cs), cs[c(1, 250, 500)], length(rs), rs[c(1, 200, 400)], sum(cs) == sum(rs)) }");
+        assertEval("{ m <- matrix(as.numeric(1:200000), 400); list(colMeans(m)[c(1, 500)], rowMeans(m)[c(1, 400)]) }");
+        assertEval("{ m <- matrix(as.numeric(1:200000), 400); m[3, 7] <- NA; m[5, 9] <- NaN; cs <- colSums(m); rs <- rowSums(m); list(which(is.na(cs)), which(is.nan(cs)), which(is.na(rs)), which(is.nan(rs))) }");
+        assertEval("{ m <- matrix(as.numeric(1:200000), 400); m[3, 7] <- NA; m[5, 9] <- NaN; list(sum(colSums(m, na.rm=TRUE)), colSums(m, na.rm=TRUE)[6:10], rowSums(m, na.rm=TRUE)[1:6], rowMeans(m, na.rm=TRUE)[1:6]) }");
+        assertEval("{ m <- matrix(as.numeric(1:200000), 400); m[2, 3] <- Inf; m[2, 4] <- -Inf; list(colSums(m)[2:5], rowSums(m)[1:3]) }");
+        // one long row and one long column
+        assertEval("{ m <- matrix(as.numeric(1:200000), 1); c(sum(colSums(m)), rowSums(m)) }");
+        assertEval("{ m <- matrix(as.numeric(1:200000), ncol=1); c(colSums(m), sum(rowSums(m))) }");
+    }
+}
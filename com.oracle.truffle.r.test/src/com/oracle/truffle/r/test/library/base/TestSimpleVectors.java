@@ -2427,4 +2427,32 @@ public class TestSimpleVectors extends TestBase {
     public void testLargeNames() {
         assertEval("v <- runif(1000); names(v) <- paste0('a', 1:1000); v[paste0('a', 1:1000)] <- 42; length(v); sum(v)");
     }
+
+    @Test
+    public void testGrowInPlace() {
+        // appending element by element
+        assertEval("{ x <- integer(); for (i in 1:100) x[i] <- i; c(length(x), sum(x)) }");
+        assertEval("{ x <- c(); for (i in 1:100) x[length(x) + 1] <- i / 2; c(length(x), sum(x)) }");
+        assertEval("{ x <- logical(); for (i in 1:20) x[[i]] <- i %% 2 == 0; x }");
+        assertEval("{ x <- character(); for (i in 1:20) x[length(x) + 1] <- as.character(i); x }");
+        assertEval("{ l <- list(); for (i in 1:20) l[[i]] <- i; c(length(l), sum(unlist(l))) }");
+        assertEval("{ x <- c(); for (i in 1:20) { x[i] <- i; s <- sum(x) }; list(x, s) }");
+        assertEval("{ x <- 1:2; x[10] <- 10L; x[5] <- 5L; x }");
+        // reading the whole data trims the vector, appending grows it again
+        assertEval("{ x <- c(); for (i in 1:10) x[i] <- i; s <- sum(x); y <- x * 2; x[11] <- 11; for (i in 12:15) x[i] <- i; list(s, y, x, sum(x)) }");
+        assertEval("{ x <- character(); for (i in 1:5) { x[i] <- letters[i]; p <- paste(x, collapse='') }; x[[6]] <- 'f'; list(p, x) }");
+        // names and dimensions of a grown vector
+        assertEval("{ x <- c(a=1, b=2); for (i in 3:6) x[i] <- i; x }");
+        assertEval("{ x <- c(a=1, b=2); x[['d']] <- 4; x[6] <- 6; names(x) }");
+        assertEval("{ x <- 1:2; for (i in 3:6) x[i] <- i; dim(x) <- c(2, 3); x }");
+        assertEval("{ m <- matrix(1:4, 2); m[6] <- 6L; list(m, dim(m)) }");
+        assertEval("{ x <- 1:2; for (i in 3:5) x[i] <- i; names(x) <- letters[1:5]; x[7] <- 7L; x }");
+        // shared or aliased vectors must not be grown in place
+        assertEval("{ x <- c(1, 2); y <- x; y[5] <- 5; list(x, y) }");
+        assertEval("{ x <- c(1, 2); for (i in 3:10) x[i] <- i; y <- x; x[11] <- 11; x[1] <- 100; list(y, x) }");
+        assertEval("{ x <- c(1, 2); for (i in 3:6) x[i] <- i; m <- matrix(x, 2); x[7] <- 7; x[1] <- 100; list(m, x) }");
+        assertEval("{ x <- c(1, 2); for (i in 3:6) x[i] <- i; e <- new.env(); assign('v', x, envir=e); x[7] <- 7; list(get('v', envir=e), x) }");
+        assertEval("{ l <- list(1); f <- function(v) { for (i in 2:4) v[[i]] <- i; v }; r <- f(l); list(l, r) }");
+        assertEval("{ x <- c('a', 'b'); for (i in 3:5) x[i] <- letters[i]; l <- list(x); x[6] <- 'f'; list(l, x) }");
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestGroupReduce extends TestBase {
+
+    private static final String DATA = "x <- c(1.5, 2, NA, 4, -1, 7, NaN, 3); i <- c(3L, 1L, NA, 2L, 5L, 5L, 4L, 1L); l <- c(TRUE, NA, FALSE, TRUE, FALSE, FALSE, TRUE, NA); " +
+                    "g <- factor(c('a', 'b', 'a', 'c', 'b', 'b', 'e', 'a'), levels = c('a', 'b', 'c', 'd', 'e')); h <- c(1, 2, 1, 2, 1, 2, 1, 2); ";
+
+    private static String compare(String x, String fun) {
+        // the anonymous function bypasses the group reduction and yields the reference result
+        return "{ " + DATA + "identical(tapply(" + x + ", g, " + fun + "), tapply(" + x + ", g, function(v) " + fun + "(v))) }";
+    }
+
+    @Test
+    public void testTapply() {
+        for (String x : new String[]{"x", "i", "l"}) {
+            for (String fun : new String[]{"sum", "mean", "min", "max", "length", "var"}) {
+                assertEvalFastR(compare(x, fun), "TRUE");
+            }
+        }
+        assertEvalFastR(compare("l", "any"), "TRUE");
+        assertEvalFastR(compare("l", "all"), "TRUE");
+        assertEvalFastR("{ " + DATA + "identical(tapply(x, list(g, h), sum), tapply(x, list(g, h), function(v) sum(v))) }", "TRUE");
+        assertEvalFastR("{ tapply(c(.Machine$integer.max, 1L), c(1, 1), sum) }", "{ tapply(c(.Machine$integer.max, 1L), c(1, 1), sum) }");
+        assertEvalFastR("{ .fastr.groupReduce(c(1, 2, 3), c(1L, 2L, 1L), 3L, 'sum') }", "c(4, 2, NA)");
+        assertEvalFastR("{ .fastr.groupReduce(c('a', 'b'), c(1L, 2L), 2L, 'sum') }", "NULL");
+    }
+
+    @Test
+    public void testTapplyInexact() {
+        // values that are not exactly representable, where the order of the operations matters
+        String data = "set.seed(42); r <- runif(1000) * 10 - 3; rg <- sample(1:7, 1000, replace = TRUE); ri <- sample(-100000:100000, 1000); ";
+        for (String fun : new String[]{"sum", "mean", "var"}) {
+            assertEvalFastR("{ identical(tapply(c(0.1, 0.2, 0.3), rep(1, 3), " + fun + "), tapply(c(0.1, 0.2, 0.3), rep(1, 3), function(v) " + fun + "(v))) }", "TRUE");
+            assertEvalFastR("{ " + data + "identical(tapply(r, rg, " + fun + "), tapply(r, rg, function(v) " + fun + "(v))) }", "TRUE");
+            assertEvalFastR("{ " + data + "identical(tapply(ri, rg, " + fun + "), tapply(ri, rg, function(v) " + fun + "(v))) }", "TRUE");
+            assertEvalFastR("{ " + data + "r[c(5, 17)] <- c(NA, NaN); identical(tapply(r, rg, " + fun + "), tapply(r, rg, function(v) " + fun + "(v))) }", "TRUE");
+            assertEvalFastR("{ " + data + "r[3] <- Inf; identical(tapply(r, rg, " + fun + "), tapply(r, rg, function(v) " + fun + "(v))) }", "TRUE");
+        }
+        assertEvalFastR("{ tapply(c(0.1, 0.2, 0.3), rep(1, 3), mean)[[1]] == mean(c(0.1, 0.2, 0.3)) }", "TRUE");
+        assertEvalFastR("{ tapply(c(0.1, 0.2, 0.3, 0.7), rep(1, 4), var)[[1]] == var(c(0.1, 0.2, 0.3, 0.7)) }", "TRUE");
+    }
+
+    @Test
+    public void testTapplyLargeGroups() {
+        // groups summed with compensation by sum and mean are left to the general path
+        int previousThreshold = FastROptions.ParallelReductionThreshold.getNonNegativeIntValue();
+        FastROptions.setValue(FastROptions.ParallelReductionThreshold.name(), 1000);
+        try {
+            String data = "x <- 1 / (1:200000); g <- rep(c(1L, 2L, 3L), length.out = 200000); g[1:1500] <- 4L; ";
+            for (String fun : new String[]{"sum", "mean"}) {
+                assertEvalFastR("{ " + data + "identical(tapply(x, g, " + fun + "), tapply(x, g, function(v) " + fun + "(v))) }", "TRUE");
+                assertEvalFastR("{ " + data + ".fastr.groupReduce(x, g, 4L, '" + fun + "') }", "NULL");
+                assertEvalFastR("{ " + data + "is.null(.fastr.groupReduce(x[1:900], g[1:900], 4L, '" + fun + "')) }", "FALSE");
+            }
+        } finally {
+            FastROptions.setValue(FastROptions.ParallelReductionThreshold.name(), previousThreshold);
+        }
+    }
+}
@@ -1139,6 +1139,44 @@ public class TestJavaInterop extends TestBase {
         assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$stringArrayWithNull)", "list('a', NULL, 'c')");
     }
 
+    @Test
+    public void testPrimitiveArrayConversion() throws IllegalArgumentException {
+        // arrays of primitives are copied in bulk, arrays of boxed values element by element
+        for (String type : new String[]{"boolean", "byte", "double", "float", "integer", "long", "short"}) {
+            assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$" + type + "Array), as.vector(ta$" + type + "ObjectArray))", "TRUE");
+            assertEvalFastR(CREATE_TEST_ARRAYS + "identical(.fastr.interop.fromArray(ta$" + type + "Array), .fastr.interop.fromArray(ta$" + type + "ObjectArray))", "TRUE");
+            assertEvalFastR(CREATE_TEST_ARRAYS + "identical(unlist(ta$" + type + "Array), unlist(ta$" + type + "ObjectArray))", "TRUE");
+        }
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$byteArrayBounds), as.vector(ta$byteObjectArrayBounds))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$doubleArraySpecial), as.vector(ta$doubleObjectArraySpecial))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$floatArraySpecial), as.vector(ta$floatObjectArraySpecial))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$integerArrayWithNA), as.vector(ta$integerObjectArrayWithNA))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$longArrayBounds), as.vector(ta$longObjectArrayBounds))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$shortArrayBounds), as.vector(ta$shortObjectArrayBounds))", "TRUE");
+
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$byteArrayBounds)", "c(-128L, 0L, 127L)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "v <- as.vector(ta$doubleArraySpecial); c(is.na(v[[2]]), is.nan(v[[2]]), 1/v[[5]])", "c(TRUE, TRUE, -Inf)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$integerArrayWithNA)", "c(1L, NA, 2147483647L)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "v <- as.vector(ta$integerArrayWithNA); c(anyNA(v), is.na(sum(v)))", "c(TRUE, TRUE)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "v <- as.vector(ta$integerArray); c(anyNA(v), sum(v))", "c(0L, 6L)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$longArrayBounds)[[2]] == 2^53", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$shortArrayBounds)", "c(-32768L, 0L, 32767L)");
+
+        // the vector is a copy of the array
+        assertEvalFastR(CREATE_TEST_ARRAYS + "v <- as.vector(ta$integerArray); ta$integerArray[1] <- 42L; c(v[[1]], ta$integerArray[1])", "c(1L, 42L)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "v <- as.vector(ta$doubleArray); v[1] <- 42; c(v[[1]], ta$doubleArray[1])", "c(42, 1.1)");
+
+        // empty, String and mixed arrays keep going element by element
+        for (String type : new String[]{"boolean", "double", "integer", "string"}) {
+            assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$" + type + "Empty), as.vector(ta$objectEmpty))", "TRUE");
+        }
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$stringArray)", "c('a', 'b', 'c')");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$charArray)", "c('a', 'b', 'c')");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "identical(as.vector(ta$stringArrayWithNull), as.vector(ta$charObjectArrayWithNull))", "TRUE");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$numericObjectArray)", "c(1, 1, 1.1)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + "as.vector(ta$mixedObjectArray)", "list(1L, 'a', '1')");
+    }
+
     @Test
     public void testForeignVectorArithmeticOp() throws NoSuchFieldException,
                     IllegalAccessException {
@@ -2332,6 +2370,24 @@ public class TestJavaInterop extends TestBase {
         public String[][][] stringArray3 = {{{"a", "b", "c"}, {"a", "b", "c"}}, {{"a", "b", "c"}, {"a", "b", "c"}}};
         public String[] stringArrayWithNull = {"a", null, "c"};
 
+        public boolean[] booleanEmpty = new boolean[0];
+        public double[] doubleEmpty = new double[0];
+        public int[] integerEmpty = new int[0];
+        public String[] stringEmpty = new String[0];
+
+        public byte[] byteArrayBounds = {Byte.MIN_VALUE, 0, Byte.MAX_VALUE};
+        public Byte[] byteObjectArrayBounds = {Byte.MIN_VALUE, 0, Byte.MAX_VALUE};
+        public double[] doubleArraySpecial = {1.1, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, Double.MIN_VALUE};
+        public Double[] doubleObjectArraySpecial = {1.1, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, Double.MIN_VALUE};
+        public float[] floatArraySpecial = {1.1f, Float.NaN, Float.MAX_VALUE, -0.0f};
+        public Float[] floatObjectArraySpecial = {1.1f, Float.NaN, Float.MAX_VALUE, -0.0f};
+        public int[] integerArrayWithNA = {1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        public Integer[] integerObjectArrayWithNA = {1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        public long[] longArrayBounds = {Long.MIN_VALUE, (1L << 53) + 1, Long.MAX_VALUE};
+        public Long[] longObjectArrayBounds = {Long.MIN_VALUE, (1L << 53) + 1, Long.MAX_VALUE};
+        public short[] shortArrayBounds = {Short.MIN_VALUE, 0, Short.MAX_VALUE};
+        public Short[] shortObjectArrayBounds = {Short.MIN_VALUE, 0, Short.MAX_VALUE};
+
         public Object[] onlyIntegerObjectArray = {1, 2, 3};
         public Object[] onlyLongObjectArray = {1L, 2L, 3L};
         public Object[] numericObjectArray = {1, 1L, 1.1};
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestMmap extends TestBase {
+
+    private static String roundTrip(String x, String what, String rest) {
+        return "{ f <- tempfile(); x <- " + x + "; writeBin(x, f); y <- .fastr.mmap(f, '" + what + "'" + rest + "); r <- identical(y, x); rm(y); unlink(f); r }";
+    }
+
+    @Test
+    public void testMmap() {
+        assertEvalFastR(roundTrip("c(1.5, NA, -3, 1e10)", "double", ""), "TRUE");
+        assertEvalFastR(roundTrip("c(1L, NA, -3L)", "integer", ""), "TRUE");
+        assertEvalFastR(roundTrip("as.raw(1:255)", "raw", ""), "TRUE");
+        assertEvalFastR(roundTrip("as.double(1:10)", "double", ", n = 10, readonly = FALSE"), "TRUE");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); y <- .fastr.mmap(f, 'double', n = 3, offset = 16); unlink(f); y }", "c(3, 4, 5)");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); y <- .fastr.mmap(f, readonly = FALSE); y[2] <- 42; z <- .fastr.mmap(f); unlink(f); c(y[2], z[2]) }", "c(42, 2)");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); y <- .fastr.mmap(f); sum(y) }", "55");
+        assertEvalFastR("{ f <- tempfile(); writeBin(1:3, f); .fastr.mmap(f, 'complex') }", "stop(\"invalid 'what' argument\")");
+    }
+
+    @Test
+    public void testMmapArguments() {
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); y <- .fastr.mmap(f, n = -1); unlink(f); length(y) }", "10");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); y <- .fastr.mmap(f, n = 0); unlink(f); y }", "numeric(0)");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = -2), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = 2.5), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = Inf), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = NA), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, offset = 1.5), error = function(e) 'error') }", "'error'");
+        // the number of bytes would overflow
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = 2^61), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = 2^62), error = function(e) 'error') }", "'error'");
+        assertEvalFastR("{ f <- tempfile(); writeBin(as.double(1:10), f); tryCatch(.fastr.mmap(f, n = 11), error = function(e) 'error') }", "'error'");
+    }
+}
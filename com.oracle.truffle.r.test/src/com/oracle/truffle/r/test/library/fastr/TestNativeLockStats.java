@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestNativeLockStats extends TestBase {
+
+    @Test
+    public void testLockStats() {
+        assertEvalFastR("{ x <- .fastr.nativeLockStats(); is.list(x) && length(x) == 5L }", "TRUE");
+        assertEvalFastR("{ x <- .fastr.nativeLockStats(); x$library[[1]] }", "'<global>'");
+        assertEvalFastR("{ x <- .fastr.nativeLockStats(); all(x$calls >= x$contended) }", "TRUE");
+    }
+
+    @Test
+    public void testPerLibraryLockStats() {
+        boolean previousSynchronize = FastROptions.SynchronizeNativeCode.getBooleanValue();
+        boolean previousPerLibrary = FastROptions.SynchronizeNativeCodePerLibrary.getBooleanValue();
+        String previousThreadSafe = FastROptions.ThreadSafeNativeLibraries.getStringValue();
+        FastROptions.setValue(FastROptions.SynchronizeNativeCode.name(), true);
+        FastROptions.setValue(FastROptions.SynchronizeNativeCodePerLibrary.name(), true);
+        FastROptions.setValue(FastROptions.ThreadSafeNativeLibraries.name(), "grDevices");
+        try {
+            // C_rfilter of stats and C_RGB2hsv of grDevices are down-calls into the package libraries
+            String calls = "calls <- function(lib) { x <- .fastr.nativeLockStats(); i <- match(lib, x$library); if (is.na(i)) 0 else x$calls[[i]] }; ";
+            String row = "row <- function(lib) { x <- .fastr.nativeLockStats(); i <- match(lib, x$library); c(x$threadSafe[[i]], x$contended[[i]] == 0) }; ";
+            assertEvalFastR("{ " + calls + "n <- calls('stats'); filter(1:10, 0.5, method = 'recursive'); calls('stats') > n }", "TRUE");
+            assertEvalFastR("{ " + calls + "n <- calls('grDevices'); rgb2hsv(255, 0, 0); calls('grDevices') > n }", "TRUE");
+            assertEvalFastR("{ " + row + "filter(1:10, 0.5, method = 'recursive'); row('stats') }", "c(FALSE, TRUE)");
+            assertEvalFastR("{ " + row + "rgb2hsv(255, 0, 0); row('grDevices') }", "c(TRUE, TRUE)");
+        } finally {
+            FastROptions.setValue(FastROptions.SynchronizeNativeCode.name(), previousSynchronize);
+            FastROptions.setValue(FastROptions.SynchronizeNativeCodePerLibrary.name(), previousPerLibrary);
+            FastROptions.setValue(FastROptions.ThreadSafeNativeLibraries.name(), previousThreadSafe);
+        }
+    }
+}
@@ -59,6 +59,15 @@ public class TestRandGenerationFunctions extends TestBase {
         assertEval("runif(-1, 1, 2)");
     }
 
+    @Test
+    public void testConstantParameters() {
+        // constant parameters take the bulk path, recycled ones generate the values one by one
+        assertEval("{ set.seed(5); a <- runif(3000, -2, 7); set.seed(5); b <- runif(3000, c(-2, -2), c(7, 7)); identical(a, b) }");
+        assertEval("{ RNGkind(NULL, 'Inversion'); set.seed(6); a <- rnorm(9000, 3, 2); set.seed(6); b <- rnorm(9000, c(3, 3), c(2, 2)); identical(a, b) }");
+        assertEval("{ RNGkind(NULL, 'Box-Muller'); set.seed(6); a <- rnorm(100, 3, 2); set.seed(6); b <- rnorm(100, c(3, 3), c(2, 2)); identical(a, b) }");
+        assertEval("{ set.seed(7); x <- rnorm(5000); y <- runif(700); set.seed(7); identical(c(x, y), c(sapply(1:5000, function(i) rnorm(1)), sapply(1:700, function(i) runif(1)))) }");
+    }
+
     private static final String[] FUNCTION1_NAMES = {"rchisq", "rexp", "rgeom", "rpois", "rt"};
 
     @Test
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tukaani.xz.FinishableWrapperOutputStream;
+import org.tukaani.xz.LZMA2Options;
+
+import com.oracle.truffle.r.runtime.FastROptions;
+import com.oracle.truffle.r.runtime.LazyDBCache;
+import com.oracle.truffle.r.runtime.RCompression;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * Checks the background decompression of the lazy-load database entries listed in a profile and
+ * the context independent decompression it is based on. The databases are written in the format
+ * of {@code makeLazyLoadDB}, i.e., each entry is the length of the uncompressed data followed by
+ * the compressed data, with a compression type character for compression 2 and 3.
+ */
+public class TestLazyDBCache extends TestBase {
+
+    private String previousProfileDir;
+    private Path dir;
+
+    @Before
+    public void setProfileDir() throws IOException {
+        previousProfileDir = FastROptions.LazyLoadProfileDir.getStringValue();
+        dir = Files.createTempDirectory("fastr-lazyload");
+        FastROptions.setValue(FastROptions.LazyLoadProfileDir.name(), dir.resolve("profiles").toString());
+    }
+
+    @After
+    public void restoreProfileDir() throws IOException {
+        FastROptions.setValue(FastROptions.LazyLoadProfileDir.name(), previousProfileDir);
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testUncompressDetachedZlib() {
+        byte[] data = createData(100000, 1);
+        byte[] cdata = zlib(data);
+        byte[] udata = new byte[data.length];
+        Assert.assertTrue(RCompression.uncompressDetached(RCompression.Type.GZIP, udata, cdata));
+        Assert.assertArrayEquals(data, udata);
+
+        // the uncompressed length does not match
+        Assert.assertFalse(RCompression.uncompressDetached(RCompression.Type.GZIP, new byte[data.length + 1], cdata));
+        // truncated and corrupted data
+        Assert.assertFalse(RCompression.uncompressDetached(RCompression.Type.GZIP, new byte[data.length], Arrays.copyOf(cdata, cdata.length / 2)));
+        byte[] corrupted = cdata.clone();
+        corrupted[0] = 0;
+        Assert.assertFalse(RCompression.uncompressDetached(RCompression.Type.GZIP, new byte[data.length], corrupted));
+    }
+
+    @Test
+    public void testUncompressDetachedXZ() {
+        byte[] data = createData(100000, 2);
+        byte[] cdata = lzma2(data);
+        byte[] udata = new byte[data.length];
+        Assert.assertTrue(RCompression.uncompressDetached(RCompression.Type.XZ, udata, cdata));
+        Assert.assertArrayEquals(data, udata);
+        byte[] direct = new byte[data.length];
+        Assert.assertTrue(RCompression.uncompress(RCompression.Type.XZ, direct, cdata));
+        Assert.assertArrayEquals(direct, udata);
+
+        Assert.assertFalse(RCompression.uncompressDetached(RCompression.Type.XZ, new byte[data.length + 1], cdata));
+        Assert.assertFalse(RCompression.uncompressDetached(RCompression.Type.XZ, new byte[data.length], Arrays.copyOf(cdata, cdata.length / 2)));
+    }
+
+    @Test
+    public void testUncompressDetachedNone() {
+        byte[] data = createData(1000, 3);
+        byte[] udata = new byte[data.length];
+        Assert.assertTrue(RCompression.uncompressDetached(RCompression.Type.NONE, udata, data));
+        Assert.assertArrayEquals(data, udata);
+    }
+
+    @Test
+    public void testPrefetchZlib() throws IOException {
+        testPrefetch(1);
+    }
+
+    @Test
+    public void testPrefetchXZ() throws IOException {
+        testPrefetch(3);
+    }
+
+    @Test
+    public void testPrefetchUncompressed() throws IOException {
+        testPrefetch(0);
+    }
+
+    private void testPrefetch(int compression) throws IOException {
+        TestDB db = new TestDB(dir.resolve("prefetch.rdb"), compression);
+        db.add("a", createData(5000, 1));
+        db.add("b", createData(7000, 2));
+        db.add("c", createData(9000, 3));
+        db.write();
+
+        // no profile yet, the entries are fetched directly and recorded
+        LazyDBCache.ContextStateImpl first = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(first);
+        Assert.assertNull(first.takePrefetched(db.path, db.offset("a")));
+        Assert.assertNull(first.takePrefetched(db.path, db.offset("c")));
+        first.beforeDispose(null);
+
+        // the profiled entries are prefetched and equal to the data that was written
+        LazyDBCache.ContextStateImpl second = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(second);
+        Assert.assertArrayEquals(db.data("a"), second.takePrefetched(db.path, db.offset("a")));
+        Assert.assertArrayEquals(db.data("c"), second.takePrefetched(db.path, db.offset("c")));
+        Assert.assertNull(second.takePrefetched(db.path, db.offset("b")));
+        // each prefetched entry is handed out only once
+        Assert.assertNull(second.takePrefetched(db.path, db.offset("a")));
+        second.beforeDispose(null);
+
+        // the profile is rewritten with the entries fetched in the last run, i.e., all of them
+        LazyDBCache.ContextStateImpl third = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(third);
+        Assert.assertArrayEquals(db.data("b"), third.takePrefetched(db.path, db.offset("b")));
+        third.beforeDispose(null);
+    }
+
+    @Test
+    public void testStaleProfile() throws IOException {
+        Path path = dir.resolve("stale.rdb");
+        TestDB db = new TestDB(path, 1);
+        db.add("a", createData(5000, 1));
+        db.add("b", createData(7000, 2));
+        db.add("c", createData(9000, 3));
+        db.write();
+
+        LazyDBCache.ContextStateImpl first = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(first);
+        first.takePrefetched(db.path, db.offset("a"));
+        first.takePrefetched(db.path, db.offset("c"));
+        first.beforeDispose(null);
+
+        // the database is rebuilt: "a" is gone and "c" has moved and changed
+        TestDB rebuilt = new TestDB(path, 1);
+        rebuilt.add("c", createData(3000, 4));
+        rebuilt.add("b", createData(7000, 2));
+        rebuilt.add("d", createData(4000, 5));
+        rebuilt.write();
+        Assert.assertNotEquals(db.offset("c"), rebuilt.offset("c"));
+
+        LazyDBCache.ContextStateImpl second = LazyDBCache.ContextStateImpl.newContextState();
+        rebuilt.register(second);
+        Assert.assertNull(second.takePrefetched(rebuilt.path, db.offset("c")));
+        Assert.assertArrayEquals(rebuilt.data("c"), second.takePrefetched(rebuilt.path, rebuilt.offset("c")));
+        Assert.assertNull(second.takePrefetched(rebuilt.path, rebuilt.offset("d")));
+        second.beforeDispose(null);
+    }
+
+    @Test
+    public void testCorruptedEntry() throws IOException {
+        TestDB db = new TestDB(dir.resolve("corrupted.rdb"), 1);
+        db.add("a", createData(5000, 1));
+        db.write();
+
+        LazyDBCache.ContextStateImpl first = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(first);
+        first.takePrefetched(db.path, db.offset("a"));
+        first.beforeDispose(null);
+
+        // the lazyLoadDBfetch falls back to the regular path, which reports the error
+        db.corrupt("a");
+        LazyDBCache.ContextStateImpl second = LazyDBCache.ContextStateImpl.newContextState();
+        db.register(second);
+        Assert.assertNull(second.takePrefetched(db.path, db.offset("a")));
+        second.beforeDispose(null);
+    }
+
+    /**
+     * A lazy-load database with the keys as created by {@code makeLazyLoadDB}, i.e., the offset and
+     * length of each entry.
+     */
+    private static final class TestDB {
+        private final String path;
+        private final int compression;
+        private final List<String> names = new ArrayList<>();
+        private final List<byte[]> data = new ArrayList<>();
+        private final List<int[]> keys = new ArrayList<>();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        TestDB(Path path, int compression) {
+            this.path = path.toString();
+            this.compression = compression;
+        }
+
+        void add(String name, byte[] entryData) {
+            byte[] entry = encode(entryData, compression);
+            names.add(name);
+            data.add(entryData);
+            keys.add(new int[]{content.size(), entry.length});
+            content.write(entry, 0, entry.length);
+        }
+
+        void write() throws IOException {
+            Files.write(Paths.get(path), content.toByteArray());
+        }
+
+        void corrupt(String name) throws IOException {
+            byte[] bytes = content.toByteArray();
+            int[] key = keys.get(names.indexOf(name));
+            // keeps the length header, but breaks the zlib header
+            Arrays.fill(bytes, key[0] + 4, key[0] + 6, (byte) 0);
+            Files.write(Paths.get(path), bytes);
+        }
+
+        void register(LazyDBCache.ContextStateImpl state) {
+            Object[] keyVectors = new Object[keys.size()];
+            for (int i = 0; i < keyVectors.length; i++) {
+                keyVectors[i] = RDataFactory.createIntVector(keys.get(i), true);
+            }
+            state.registerEntries(path, compression, RDataFactory.createStringVector(names.toArray(new String[names.size()]), true), RDataFactory.createList(keyVectors));
+        }
+
+        int offset(String name) {
+            return keys.get(names.indexOf(name))[0];
+        }
+
+        byte[] data(String name) {
+            return data.get(names.indexOf(name));
+        }
+    }
+
+    private static byte[] encode(byte[] data, int compression) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (compression == 0) {
+            out.write(data, 0, data.length);
+            return out.toByteArray();
+        }
+        out.write(ByteBuffer.allocate(4).putInt(data.length).array(), 0, 4);
+        byte[] cdata;
+        if (compression == 3) {
+            out.write('Z');
+            cdata = lzma2(data);
+        } else {
+            cdata = zlib(data);
+        }
+        out.write(cdata, 0, cdata.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Creates compressible data that differs for different seeds.
+     */
+    private static byte[] createData(int length, int seed) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < length; i++) {
+            sb.append("entry ").append(seed).append(' ').append(i % (seed * 7)).append('\n');
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.US_ASCII), length);
+    }
+
+    private static byte[] zlib(byte[] data) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] lzma2(byte[] data) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (OutputStream lzma = new LZMA2Options().getOutputStream(new FinishableWrapperOutputStream(out))) {
+                lzma.write(data);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
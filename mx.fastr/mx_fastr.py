@@ -260,6 +260,23 @@ def rembedtest(args, nonZeroIsFatal=False, extraVmArgs=None):
     tests_script = join(_fastr_suite.dir, 'com.oracle.truffle.r.test.native/embedded/test.sh')
     return mx.run([tests_script], env=env, nonZeroIsFatal=nonZeroIsFatal)
 
+def rjmh(args):
+    '''
+    Runs the JMH micro benchmarks from com.oracle.truffle.r.benchmark, the arguments are passed to JMH
+    (e.g. a regexp selecting the benchmarks). Unless a result format is given, the results are written
+    in JSON format to jmh-result.json so that they can be compared across versions.
+    '''
+    env = os.environ.copy()
+    setREnvironment(env)
+    jdk = get_default_jdk()
+    vmArgs = mx.get_runtime_jvm_args(['FASTR_BENCHMARKS'], jdk=jdk)
+    vmArgs += set_graal_options()
+    vmArgs = _sanitize_vmArgs(jdk, vmArgs)
+    jmhArgs = list(args)
+    if '-rf' not in jmhArgs:
+        jmhArgs += ['-rf', 'json', '-rff', 'jmh-result.json']
+    return mx.run_java(vmArgs + ['org.openjdk.jmh.Main'] + jmhArgs, jdk=jdk, env=env)
+
 def _fastr_gate_runner(args, tasks):
     '''
     The specific additional gates tasks provided by FastR:
@@ -604,6 +621,7 @@ _commands = {
     'rrepl' : [rrepl, '[options]'],
     'rembed' : [rembed, '[options]'],
     'rembedtest' : [rembedtest, '[options]'],
+    'rjmh' : [rjmh, '[JMH options]'],
     'r-cp' : [r_classpath, '[options]'],
     'pkgtest' : [mx_fastr_pkgs.pkgtest, ['options']],
     'pkgtest-cmp' : [mx_fastr_pkgs.pkgtest_cmp, ['gnur_path fastr_path']],
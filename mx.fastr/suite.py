@@ -154,6 +154,21 @@ suite = {
       "jacoco" : "include",
     },
 
+    "com.oracle.truffle.r.benchmark" : {
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.r.engine",
+        "mx:JMH_1_18",
+      ],
+      "annotationProcessors" : [
+        "mx:JMH_1_18",
+      ],
+      "checkstyle" : "com.oracle.truffle.r.runtime",
+      "javaCompliance" : "1.8",
+      "workingSets" : "FastR,Test",
+      "jacoco" : "exclude",
+    },
+
     "com.oracle.truffle.r.test.native" : {
       "native" : True,
       "sourceDirs" : [],
@@ -404,6 +419,21 @@ suite = {
 
     },
 
+    "FASTR_BENCHMARKS" : {
+      "description" : "JMH micro benchmarks",
+      "dependencies" : [
+        "com.oracle.truffle.r.benchmark",
+      ],
+      "exclude" : [
+        "mx:JMH_1_18",
+      ],
+      "distDependencies" : [
+        "FASTR",
+        "truffle:TRUFFLE_API",
+      ],
+      "maven" : False
+    },
+
     "FASTR_UNIT_TESTS_NATIVE" : {
       "description" : "unit tests support (from test.native project)",
        "native" : True,